@@ -1,8 +1,10 @@
 package com.entry_level_jobs.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -14,4 +16,17 @@ public class HttpClientConfig {
         factory.setReadTimeout(10_000); // 10 seconds
         return new RestTemplate(factory);
     }
+
+    // Runs provider HTTP calls; rate-limit waits and retry backoff are timer-scheduled
+    // so no worker sits idle while waiting
+    @Bean
+    public ThreadPoolTaskExecutor providerFetchExecutor(
+            @Value("${external.fetch.worker-threads:4}") int workerThreads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workerThreads);
+        executor.setMaxPoolSize(workerThreads);
+        executor.setThreadNamePrefix("provider-fetch-");
+        executor.initialize();
+        return executor;
+    }
 }
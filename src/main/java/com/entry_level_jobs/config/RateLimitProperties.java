@@ -0,0 +1,28 @@
+package com.entry_level_jobs.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-host request limits for external job providers. Hosts without an entry
+ * under {@code hosts} use the default rate and burst, e.g.
+ * {@code external.rate-limit.hosts[remotive.com].requests-per-second=0.5}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "external.rate-limit")
+public class RateLimitProperties {
+    private double requestsPerSecond = 1.0;
+    private int burst = 2;
+    private Map<String, HostLimit> hosts = new HashMap<>();
+
+    @Data
+    public static class HostLimit {
+        private Double requestsPerSecond;
+        private Integer burst;
+    }
+}
@@ -0,0 +1,67 @@
+package com.entry_level_jobs.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Periodically measures how far the replica is behind the primary. The
+ * replica is only used while the last check succeeded and the lag was within
+ * the tolerance; until the first check, and whenever the replica cannot be
+ * reached, reads go to the primary.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    private final JdbcTemplate replica;
+    private final String lagQuery;
+    private final Duration maxLag;
+    private volatile boolean usable;
+    private volatile Long lastLagMs;
+
+    public ReplicaLagMonitor(JdbcTemplate replica, String lagQuery, Duration maxLag) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    @Scheduled(fixedDelayString = "${jobs.datasource.replica.lag-check-ms:5000}")
+    public void check() {
+        boolean nowUsable;
+        try {
+            Number lag = replica.queryForObject(lagQuery, Number.class);
+            // No replay timestamp means the server is not replaying anything, so nothing to wait for
+            lastLagMs = lag == null ? 0L : lag.longValue();
+            nowUsable = lastLagMs <= maxLag.toMillis();
+            if (!nowUsable && usable) {
+                log.warn("Replica is {} ms behind (tolerance {} ms); reading from the primary",
+                        lastLagMs, maxLag.toMillis());
+            }
+        } catch (Exception e) {
+            lastLagMs = null;
+            nowUsable = false;
+            if (usable) {
+                log.warn("Replica lag check failed; reading from the primary: {}", e.getMessage());
+            }
+        }
+        if (nowUsable && !usable) {
+            log.info("Replica is {} ms behind; routing read-only transactions to it", lastLagMs);
+        }
+        usable = nowUsable;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("usable", usable);
+        snapshot.put("lag_ms", lastLagMs);
+        snapshot.put("max_lag_ms", maxLag.toMillis());
+        return snapshot;
+    }
+}
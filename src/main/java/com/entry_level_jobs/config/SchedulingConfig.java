@@ -0,0 +1,21 @@
+package com.entry_level_jobs.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+@Configuration
+public class SchedulingConfig {
+    // Shared pool for per-source ingest runs and other @Scheduled housekeeping: one thread per source
+    // (three) plus room for the retention sweep, partition maintenance and the short refresh jobs.
+    // Lease renewals have their own thread in JobSchedulerService.
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${jobs.fetch.pool-size:6}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("job-ingest-");
+        scheduler.setWaitForTasksToCompleteOnShutdown(false);
+        return scheduler;
+    }
+}
@@ -35,7 +35,9 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/api/jobs/stats").hasRole("ADMIN")
                         .requestMatchers(HttpMethod.POST, "/api/jobs/**").hasRole("ADMIN")
                         .requestMatchers("/api/saved-jobs/**").authenticated()
-                        .requestMatchers(HttpMethod.GET, "/api/jobs", "/api/jobs/").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/api/jobs", "/api/jobs/", "/api/jobs/{id:\\d+}",
+                                "/api/jobs/suggest")
+                        .permitAll()
                         .anyRequest().authenticated())
                 .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
         return http.build();
@@ -1,27 +1,63 @@
 package com.entry_level_jobs.controller;
 
+import com.entry_level_jobs.dto.JobSummaryDTO;
 import com.entry_level_jobs.dto.JobWithClassificationDTO;
 import com.entry_level_jobs.dto.LocationOption;
 import com.entry_level_jobs.dto.LocationSearchResponse;
 import com.entry_level_jobs.dto.PaginatedResponse;
+import com.entry_level_jobs.dto.PaginationDTO;
+import com.entry_level_jobs.dto.TitleSuggestResponse;
+import com.entry_level_jobs.language.JobLanguage;
+import com.entry_level_jobs.location.WorkMode;
+import com.entry_level_jobs.fetch.CircuitBreakerRegistry;
+import com.entry_level_jobs.fetch.ConditionalRequestCache;
+import com.entry_level_jobs.fetch.HostRateLimiter;
 import com.entry_level_jobs.model.Job;
 import com.entry_level_jobs.repository.JobRepository;
+import com.entry_level_jobs.search.JobFilter;
+import com.entry_level_jobs.search.JobSnapshot;
+import com.entry_level_jobs.search.TitleSuggester;
+import com.entry_level_jobs.service.CountMode;
+import com.entry_level_jobs.service.IngestResult;
+import com.entry_level_jobs.service.JobCountCache;
 import com.entry_level_jobs.service.JobFetchService;
 import com.entry_level_jobs.service.JobFilterService;
+import com.entry_level_jobs.service.JobIngestService;
+import com.entry_level_jobs.service.JobListingService;
+import com.entry_level_jobs.service.JobReadModelService;
+import com.entry_level_jobs.service.JobResponseCache;
+import com.entry_level_jobs.service.JobRetentionService;
+import com.entry_level_jobs.service.LocationFacetService;
+import com.entry_level_jobs.service.LocationIndexService;
 import com.entry_level_jobs.service.PaginationService;
+import com.entry_level_jobs.service.SortMode;
+import com.entry_level_jobs.service.SourceCadenceService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -41,14 +77,46 @@ public class JobController {
     private final JobRepository jobRepository;
     private final JobFetchService jobFetchService;
     private final JobFilterService jobFilterService;
+    private final JobIngestService jobIngestService;
     private final PaginationService paginationService;
+    private final ConditionalRequestCache conditionalRequestCache;
+    private final HostRateLimiter hostRateLimiter;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final SourceCadenceService sourceCadenceService;
+    private final JobRetentionService jobRetentionService;
+    private final LocationFacetService locationFacetService;
+    private final LocationIndexService locationIndexService;
+    private final JobCountCache jobCountCache;
+    private final JobListingService jobListingService;
+    private final JobReadModelService jobReadModelService;
+    private final JobResponseCache jobResponseCache;
+    private final ObjectMapper objectMapper;
 
     public JobController(JobRepository jobRepository, JobFetchService jobFetchService,
-            JobFilterService jobFilterService, PaginationService paginationService) {
+            JobFilterService jobFilterService, JobIngestService jobIngestService, PaginationService paginationService,
+            ConditionalRequestCache conditionalRequestCache, HostRateLimiter hostRateLimiter,
+            CircuitBreakerRegistry circuitBreakerRegistry, SourceCadenceService sourceCadenceService,
+            JobRetentionService jobRetentionService, LocationFacetService locationFacetService,
+            LocationIndexService locationIndexService, JobCountCache jobCountCache,
+            JobListingService jobListingService, JobReadModelService jobReadModelService,
+            JobResponseCache jobResponseCache, ObjectMapper objectMapper) {
         this.jobRepository = jobRepository;
         this.jobFetchService = jobFetchService;
         this.jobFilterService = jobFilterService;
+        this.jobIngestService = jobIngestService;
         this.paginationService = paginationService;
+        this.conditionalRequestCache = conditionalRequestCache;
+        this.hostRateLimiter = hostRateLimiter;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.sourceCadenceService = sourceCadenceService;
+        this.jobRetentionService = jobRetentionService;
+        this.locationFacetService = locationFacetService;
+        this.locationIndexService = locationIndexService;
+        this.jobCountCache = jobCountCache;
+        this.jobListingService = jobListingService;
+        this.jobReadModelService = jobReadModelService;
+        this.jobResponseCache = jobResponseCache;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -56,93 +124,197 @@ public class JobController {
      * GET /api/jobs?page=0&size=10
      * GET /api/jobs?keyword=java&page=0&size=10
      * GET /api/jobs?location=Remote&page=0&size=10
+     * GET /api/jobs?page=3&size=10&count=none
+     * GET /api/jobs?keyword=java&sort=relevance&highlight=true
+     * GET /api/jobs?source=Arbeitnow,Remotive&lang=DE&remote=true&postedWithinDays=7&facets=true
+     * GET /api/jobs?country=DE&city=Berlin,Munich&workMode=hybrid,onsite
      * 
-     * @param keyword  Optional keyword filter for job title
+     * @param keyword  Optional keyword filter for job title, matched at the
+     *                 start of title words ("dev" finds "Developer", "ava"
+     *                 does not find "Java")
      * @param location Optional location filter
      * @param page     Page number (0-indexed), default 0
      * @param size     Page size, default 10, max 100
-     * @return PaginatedResponse with jobs and pagination metadata
+     * @param count    How totals are reported: cached (default), exact, or
+     *                 none to skip counting and only report hasNextPage
+     * @param sort     newest (default) or relevance, which ranks keyword
+     *                 matches by BM25 with a recency decay
+     * @param source   Sources to include, any of them matches
+     * @param lang     Languages to include (EN, DE, ...), any of them matches
+     * @param locations Exact locations to include, any of them matches
+     * @param remote   Shorthand for workMode=remote when true, hybrid and
+     *                 onsite when false
+     * @param workMode Work modes to include (remote, hybrid, onsite)
+     * @param country  Countries to include, as ISO codes or names
+     * @param city     Cities to include
+     * @param postedWithinDays Only jobs posted in the last this many days
+     * @param facets   Whether to add facet counts of the result set; only
+     *                 available while the in-memory read model is ready
+     * @param highlight Whether to add the offsets of the title and snippet
+     *                 words the keyword matched; also only from the read model
+     * @return PaginatedResponse with job summaries (snippet instead of the full
+     *         description) and pagination metadata; for anonymous requests
+     *         possibly its cached JSON
      */
     @GetMapping
-    public ResponseEntity<PaginatedResponse<JobWithClassificationDTO>> getAllJobs(
+    public ResponseEntity<?> getAllJobs(
             @RequestParam(required = false) String keyword,
             @RequestParam(required = false) String location,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String count,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) List<String> source,
+            @RequestParam(required = false) List<String> lang,
+            @RequestParam(required = false) List<String> locations,
+            @RequestParam(required = false) Boolean remote,
+            @RequestParam(required = false) List<String> workMode,
+            @RequestParam(required = false) List<String> country,
+            @RequestParam(required = false) List<String> city,
+            @RequestParam(required = false) Integer postedWithinDays,
+            @RequestParam(defaultValue = "false") boolean facets,
+            @RequestParam(defaultValue = "false") boolean highlight) {
         String keywordFilter = normalizeFilterValue(keyword);
         String locationFilter = normalizeFilterValue(location);
-        boolean filterByKeyword = keywordFilter != null;
-        boolean filterByLocation = locationFilter != null;
 
-        log.info("Retrieving jobs with pagination: keyword={}, location={}, page={}, size={}",
-                keywordFilter, locationFilter, page, size);
+        log.info("Retrieving jobs with pagination: keyword={}, location={}, source={}, lang={}, locations={}, " +
+                "remote={}, workMode={}, country={}, city={}, postedWithinDays={}, page={}, size={}",
+                keywordFilter, locationFilter, source, lang, locations, remote, workMode, country, city,
+                postedWithinDays, page, size);
 
         try {
             // Validate and sanitize pagination parameters
             if (!paginationService.validatePaginationParams(page, size)) {
                 log.warn("Invalid pagination parameters: page={}, size={}", page, size);
                 return ResponseEntity.badRequest().body(
-                        PaginatedResponse.<JobWithClassificationDTO>error("Invalid pagination parameters",
+                        PaginatedResponse.<JobSummaryDTO>error("Invalid pagination parameters",
                                 "Page must be >= 0 and size must be between 1 and 100"));
             }
-
-            size = paginationService.sanitizePageSize(size);
-            Sort sort = Sort.by(Sort.Direction.DESC, "postedAt", "createdAt", "id");
-            PageRequest pageRequest = PageRequest.of(page, size, sort);
-            Page<Job> jobsPage;
-
-            // Fetch based on filters
-            if (filterByKeyword && filterByLocation) {
-                log.debug("Filtering jobs by keyword={} and location={}", keywordFilter, locationFilter);
-                jobsPage = jobRepository.findByTitleAndLocationKeyword(keywordFilter, locationFilter, pageRequest);
-            } else if (filterByKeyword) {
-                log.debug("Filtering jobs by keyword: {}", keywordFilter);
-                jobsPage = jobRepository.findByTitleKeyword(keywordFilter, pageRequest);
-            } else if (filterByLocation) {
-                log.debug("Filtering jobs by location: {}", locationFilter);
-                jobsPage = jobRepository.findByLocationKeyword(locationFilter, pageRequest);
-            } else {
-                log.debug("Retrieving all jobs");
-                jobsPage = jobRepository.findAll(pageRequest);
+            CountMode countMode = CountMode.parse(count);
+            if (countMode == null) {
+                return ResponseEntity.badRequest().body(
+                        PaginatedResponse.<JobSummaryDTO>error("Invalid count mode",
+                                "count must be one of: none, cached, exact"));
             }
-
-            log.info("Found {} jobs on page {} (total: {})",
-                    jobsPage.getNumberOfElements(), page, jobsPage.getTotalElements());
-
-            // Convert to paginated response using service
-            List<JobWithClassificationDTO> jobDtos = jobsPage.getContent().stream()
-                    .map(job -> JobWithClassificationDTO.from(job, jobFilterService.classifyJob(job)))
-                    .collect(Collectors.toList());
-
-            PaginatedResponse<JobWithClassificationDTO> response = PaginatedResponse.success(
-                    jobDtos,
-                    paginationService.toPaginationDTO(jobsPage));
-
-            if (filterByLocation) {
-                if (jobsPage.getTotalElements() > 0) {
-                    response.setMessage(buildLocationResultsMessage(locationFilter,
-                            filterByKeyword ? keywordFilter : null));
-                } else {
-                    response.setMessage(buildNoLocationResultsMessage(locationFilter));
-                }
+            SortMode sortMode = SortMode.parse(sort);
+            if (sortMode == null) {
+                return ResponseEntity.badRequest().body(
+                        PaginatedResponse.<JobSummaryDTO>error("Invalid sort",
+                                "sort must be one of: newest, relevance"));
+            }
+            Set<JobLanguage> languages = parseEnums(lang, JobLanguage.class);
+            if (languages == null) {
+                return ResponseEntity.badRequest().body(
+                        PaginatedResponse.<JobSummaryDTO>error("Invalid language",
+                                "lang must be any of: " + Arrays.toString(JobLanguage.values())));
+            }
+            Set<WorkMode> workModes = parseEnums(workMode, WorkMode.class);
+            if (workModes == null) {
+                return ResponseEntity.badRequest().body(
+                        PaginatedResponse.<JobSummaryDTO>error("Invalid work mode",
+                                "workMode must be any of: " + Arrays.toString(WorkMode.values())));
+            }
+            if (remote != null && workModes.isEmpty()) {
+                // Shorthand kept for clients of the remote flag
+                workModes = remote ? EnumSet.of(WorkMode.REMOTE) : EnumSet.of(WorkMode.HYBRID, WorkMode.ONSITE);
+            }
+            if (postedWithinDays != null && postedWithinDays < 1) {
+                return ResponseEntity.badRequest().body(
+                        PaginatedResponse.<JobSummaryDTO>error("Invalid postedWithinDays",
+                                "postedWithinDays must be at least 1"));
             }
+            JobFilter filter = new JobFilter(keywordFilter, locationFilter, toSet(source), languages,
+                    toSet(locations), workModes, toSet(country), toSet(city), postedWithinDays);
 
-            return ResponseEntity.ok(response);
+            size = paginationService.sanitizePageSize(size);
+            JobResponseCache.Key request = new JobResponseCache.Key(filter, keywordFilter, locationFilter, page,
+                    size, countMode, sortMode, facets, highlight);
+            if (isAnonymous()) {
+                // Only anonymous responses are shared, so nothing personal can reach another user
+                byte[] body = jobResponseCache.getOrLoad(request, () -> {
+                    ListingPage listed = listPage(request);
+                    try {
+                        return new JobResponseCache.Body(objectMapper.writeValueAsBytes(listed.response()),
+                                listed.complete());
+                    } catch (JsonProcessingException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+            }
+            return ResponseEntity.ok(listPage(request).response());
 
         } catch (Exception e) {
             log.error("Error retrieving jobs", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
-                    PaginatedResponse.<JobWithClassificationDTO>error(
+                    PaginatedResponse.<JobSummaryDTO>error(
                             "Error retrieving jobs",
                             e.getMessage()));
         }
     }
 
+    /**
+     * One page of the listing for already validated and normalized request
+     * values, with whether it has everything the request asked for.
+     */
+    private ListingPage listPage(JobResponseCache.Key request) {
+        Sort newestFirst = Sort.by(Sort.Direction.DESC, "postedAt", "createdAt", "id");
+        PageRequest pageRequest = PageRequest.of(request.page(), request.size(), newestFirst);
+        JobListingService.JobListing listing = jobListingService.list(request.filter(), pageRequest,
+                request.countMode(), request.sortMode(), request.facets(), request.highlight());
+        Slice<JobSummaryDTO> jobsSlice = listing.slice();
+        PaginationDTO pagination = paginationService.toPaginationDTO(jobsSlice, listing.total());
+
+        log.info("Found {} jobs on page {} (total: {}, count={}, in-memory={})",
+                jobsSlice.getNumberOfElements(), request.page(), pagination.getTotalElements(), request.countMode(),
+                listing.fromReadModel());
+
+        PaginatedResponse<JobSummaryDTO> response = PaginatedResponse.success(
+                jobsSlice.getContent(), pagination);
+        response.setFacets(listing.facets());
+        response.setCorrectedKeyword(listing.correctedKeyword());
+
+        if (request.location() != null) {
+            boolean anyMatches = pagination.getTotalElements() != null
+                    ? pagination.getTotalElements() > 0
+                    : jobsSlice.hasContent() || jobsSlice.hasPrevious();
+            if (anyMatches) {
+                response.setMessage(buildLocationResultsMessage(request.location(), request.keyword()));
+            } else {
+                response.setMessage(buildNoLocationResultsMessage(request.location()));
+            }
+        }
+
+        // A database fallback drops facets, highlights and relevance order; don't keep it past warm-up
+        boolean complete = listing.fromReadModel()
+                || !(request.facets() || request.highlight() || request.sortMode() == SortMode.RELEVANCE);
+        return new ListingPage(response, complete);
+    }
+
+    private record ListingPage(PaginatedResponse<JobSummaryDTO> response, boolean complete) {
+    }
+
+    /**
+     * Get one job with its full description and classification details.
+     * GET /api/jobs/123
+     */
+    @GetMapping("/{id:\\d+}")
+    @Transactional(readOnly = true)
+    public ResponseEntity<JobWithClassificationDTO> getJob(@PathVariable Long id) {
+        return jobRepository.findById(id)
+                .filter(Job::isActive)
+                .map(job -> ResponseEntity.ok(JobWithClassificationDTO.from(job, jobFilterService.classifyJob(job))))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
     /**
      * Provide a lightweight list of distinct locations for search/autocomplete.
+     * Answered from the in-memory prefix index when it is ready, otherwise
+     * from the incrementally maintained location facets.
      * GET /api/jobs/locations?query=lagos&limit=5
      */
     @GetMapping("/locations")
+    @Transactional(readOnly = true)
     public ResponseEntity<LocationSearchResponse> searchLocations(
             @RequestParam(required = false) String query,
             @RequestParam(defaultValue = "10") int limit) {
@@ -150,7 +322,8 @@ public class JobController {
         String normalizedQuery = normalizeFilterValue(query);
         PageRequest pageRequest = PageRequest.of(0, sanitizedLimit);
 
-        Page<LocationOption> locations = jobRepository.searchLocations(normalizedQuery, pageRequest);
+        Page<LocationOption> locations = locationIndexService.search(normalizedQuery, sanitizedLimit)
+                .orElseGet(() -> locationFacetService.search(normalizedQuery, pageRequest));
 
         if (locations.isEmpty()) {
             return ResponseEntity.ok(LocationSearchResponse.empty(normalizedQuery));
@@ -173,6 +346,33 @@ public class JobController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Suggest job-title phrases for the keyword input, frequent and recent
+     * titles first. Answered from the in-memory read model only; while it is
+     * warming up the list is empty rather than hitting the database on every
+     * keystroke.
+     * GET /api/jobs/suggest?q=java%20dev&limit=5
+     */
+    @GetMapping("/suggest")
+    public ResponseEntity<TitleSuggestResponse> suggestTitles(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        int sanitizedLimit = Math.max(1, Math.min(limit, JobSnapshot.SUGGEST_TOP_K));
+        String normalizedQuery = normalizeFilterValue(q);
+        JobSnapshot snapshot = jobReadModelService.current();
+        TitleSuggester.Matches matches = snapshot == null || normalizedQuery == null
+                ? new TitleSuggester.Matches(List.of(), 0)
+                : snapshot.suggestTitles(normalizedQuery, sanitizedLimit);
+
+        return ResponseEntity.ok(TitleSuggestResponse.builder()
+                .success(true)
+                .query(normalizedQuery)
+                .suggestions(matches.suggestions())
+                .returned(matches.suggestions().size())
+                .totalMatches(matches.totalMatches())
+                .build());
+    }
+
     /**
      * Fetch jobs from external APIs and save entry-level jobs to database.
      * POST /api/jobs/fetch
@@ -192,29 +392,22 @@ public class JobController {
             List<Job> entryLevelJobs = jobFilterService.filterEntryLevelJobs(fetchedJobs);
             log.info("Filtered down to {} entry-level jobs", entryLevelJobs.size());
 
-            // Save jobs that don't already exist
-            int saved = 0;
-            int duplicates = 0;
-            for (Job job : entryLevelJobs) {
-                if (jobRepository.findByUrl(job.getUrl()).isEmpty()) {
-                    jobRepository.save(job);
-                    log.info("Saved job: {} from {}", job.getTitle(), job.getSource());
-                    saved++;
-                } else {
-                    log.debug("Skipped duplicate job: {}", job.getTitle());
-                    duplicates++;
-                }
-            }
+            // Insert new jobs, update edited ones, mark unchanged ones as seen
+            IngestResult result = jobIngestService.ingest(entryLevelJobs);
+            int duplicates = result.changed() + result.unchanged();
 
             response.put("success", true);
-            response.put("message",
-                    String.format("Process completed: %d new jobs saved, %d duplicates skipped", saved, duplicates));
-            response.put("saved", saved);
+            response.put("message", String.format("Process completed: %d new jobs saved, %d updated, %d unchanged",
+                    result.newJobs(), result.changed(), result.unchanged()));
+            response.put("saved", result.newJobs());
+            response.put("updated", result.changed());
+            response.put("unchanged", result.unchanged());
             response.put("duplicates", duplicates);
             response.put("total_filtered", entryLevelJobs.size());
             response.put("total_fetched", fetchedJobs.size());
 
-            log.info("Job fetch process completed successfully: saved={}, duplicates={}", saved, duplicates);
+            log.info("Job fetch process completed successfully: saved={}, updated={}, unchanged={}",
+                    result.newJobs(), result.changed(), result.unchanged());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
             log.error("Error during job fetch process", e);
@@ -245,7 +438,9 @@ public class JobController {
                     .postedAt(LocalDateTime.now())
                     .build();
 
-            Job savedJob = jobRepository.save(testJob);
+            // Same write path as real ingest, so the description lands in the side table
+            jobIngestService.ingest(List.of(testJob));
+            Job savedJob = testJob;
             log.info("Test job saved successfully with ID: {}", savedJob.getId());
 
             response.put("success", true);
@@ -274,6 +469,16 @@ public class JobController {
             long totalJobs = jobRepository.count();
             response.put("success", true);
             response.put("total_jobs", totalJobs);
+            response.put("active_jobs", jobRepository.countByActiveTrue());
+            response.put("retention", jobRetentionService.snapshot());
+            response.put("conditional_get", conditionalRequestCache.snapshot());
+            response.put("rate_limits", hostRateLimiter.snapshot());
+            response.put("circuit_breakers", circuitBreakerRegistry.snapshot());
+            response.put("source_cadence", sourceCadenceService.snapshot());
+            response.put("location_index", locationIndexService.snapshot());
+            response.put("count_cache", jobCountCache.snapshot());
+            response.put("response_cache", jobResponseCache.snapshot());
+            response.put("read_model", jobReadModelService.snapshot());
             response.put("timestamp", LocalDateTime.now());
             return ResponseEntity.ok(response);
         } catch (Exception e) {
@@ -284,6 +489,39 @@ public class JobController {
         }
     }
 
+    /**
+     * Constants named by a list parameter, case-insensitively, or null when
+     * one names no constant.
+     */
+    private <E extends Enum<E>> Set<E> parseEnums(List<String> values, Class<E> type) {
+        Set<E> parsed = EnumSet.noneOf(type);
+        if (values == null) {
+            return parsed;
+        }
+        for (String value : values) {
+            String name = normalizeFilterValue(value);
+            if (name == null) {
+                continue;
+            }
+            try {
+                parsed.add(Enum.valueOf(type, name.toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+        return parsed;
+    }
+
+    private static boolean isAnonymous() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated();
+    }
+
+    private static Set<String> toSet(List<String> values) {
+        return values == null ? null : Set.copyOf(values);
+    }
+
     private String normalizeFilterValue(String value) {
         if (value == null) {
             return null;
@@ -0,0 +1,22 @@
+package com.entry_level_jobs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of jobs in a result set that have one value of a facet, such as
+ * source "Arbeitnow" or language "DE". The value can be sent back as the
+ * matching filter parameter.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCount {
+    @JsonProperty("value")
+    private String value;
+
+    @JsonProperty("count")
+    private long count;
+}
@@ -0,0 +1,94 @@
+package com.entry_level_jobs.dto;
+
+import com.entry_level_jobs.language.JobLanguage;
+import com.entry_level_jobs.location.WorkMode;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * List-view shape of a job. Selected straight from the columns the feed
+ * needs, so the TEXT description is never read for list pages; the stored
+ * snippet and ingest-time classification stand in for it. The full posting
+ * is served by {@code GET /api/jobs/{id}}. Highlights are filled in by the
+ * read model, not selected.
+ */
+@Data
+@NoArgsConstructor
+public class JobSummaryDTO {
+    @JsonProperty("id")
+    private Long id;
+
+    @JsonProperty("title")
+    private String title;
+
+    @JsonProperty("company")
+    private String company;
+
+    @JsonProperty("location")
+    private String location;
+
+    @JsonProperty("url")
+    private String url;
+
+    @JsonProperty("snippet")
+    private String snippet;
+
+    @JsonProperty("source")
+    private String source;
+
+    @JsonProperty("postedAt")
+    private LocalDateTime postedAt;
+
+    @JsonProperty("createdAt")
+    private LocalDateTime createdAt;
+
+    @JsonProperty("language")
+    private JobLanguage language;
+
+    @JsonProperty("score")
+    private Integer score;
+
+    @JsonProperty("workMode")
+    private WorkMode workMode;
+
+    @JsonProperty("countryCode")
+    private String countryCode;
+
+    @JsonProperty("city")
+    private String city;
+
+    /**
+     * Matched keyword words in {@link #title} as flat start/end pairs of
+     * character offsets, end exclusive. Only set when highlighting.
+     */
+    @JsonProperty("titleHighlights")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private int[] titleHighlights;
+
+    @JsonProperty("snippetHighlights")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private int[] snippetHighlights;
+
+    public JobSummaryDTO(Long id, String title, String company, String location, String url, String snippet,
+            String source, LocalDateTime postedAt, LocalDateTime createdAt, JobLanguage language, Integer score,
+            WorkMode workMode, String countryCode, String city) {
+        this.id = id;
+        this.title = title;
+        this.company = company;
+        this.location = location;
+        this.url = url;
+        this.snippet = snippet;
+        this.source = source;
+        this.postedAt = postedAt;
+        this.createdAt = createdAt;
+        this.language = language;
+        this.score = score;
+        this.workMode = workMode;
+        this.countryCode = countryCode;
+        this.city = city;
+    }
+}
@@ -1,6 +1,7 @@
 package com.entry_level_jobs.dto;
 
 import com.entry_level_jobs.dto.classification.JobClassificationScore;
+import com.entry_level_jobs.location.WorkMode;
 import com.entry_level_jobs.model.Job;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
@@ -40,6 +41,15 @@ public class JobWithClassificationDTO {
     @JsonProperty("source")
     private String source;
 
+    @JsonProperty("workMode")
+    private WorkMode workMode;
+
+    @JsonProperty("countryCode")
+    private String countryCode;
+
+    @JsonProperty("city")
+    private String city;
+
     @JsonProperty("postedAt")
     private LocalDateTime postedAt;
 
@@ -58,6 +68,9 @@ public class JobWithClassificationDTO {
                 .url(job.getUrl())
                 .description(job.getDescription())
                 .source(job.getSource())
+                .workMode(job.getWorkMode())
+                .countryCode(job.getCountryCode())
+                .city(job.getCity())
                 .postedAt(job.getPostedAt())
                 .createdAt(job.getCreatedAt())
                 .classification(classification)
@@ -1,5 +1,6 @@
 package com.entry_level_jobs.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,6 +8,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Generic paginated response wrapper.
@@ -43,6 +45,21 @@ public class PaginatedResponse<T> {
     @JsonProperty("pagination")
     private PaginationDTO pagination;
 
+    /**
+     * Facet counts of the whole result set by facet name, when requested
+     */
+    @JsonProperty("facets")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<String, List<FacetCount>> facets;
+
+    /**
+     * Keyword the results are for when the requested one looked misspelled
+     * and was corrected, e.g. "internship" for "intership"
+     */
+    @JsonProperty("correctedKeyword")
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String correctedKeyword;
+
     /**
      * Error message (if any)
      */
@@ -26,14 +26,15 @@ public class PaginationDTO {
     private int pageSize;
 
     /**
-     * Total number of elements across all pages
+     * Total number of elements across all pages; null when the request asked
+     * for no count
      */
-    private long totalElements;
+    private Long totalElements;
 
     /**
-     * Total number of pages
+     * Total number of pages; null when the request asked for no count
      */
-    private int totalPages;
+    private Integer totalPages;
 
     /**
      * Whether this is the first page
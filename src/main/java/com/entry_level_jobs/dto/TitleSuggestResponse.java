@@ -0,0 +1,31 @@
+package com.entry_level_jobs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Response wrapper for the /api/jobs/suggest endpoint, shaped like
+ * {@link LocationSearchResponse} so both autocomplete inputs bind the same
+ * way.
+ */
+@Data
+@Builder
+public class TitleSuggestResponse {
+    @JsonProperty("success")
+    private boolean success;
+
+    @JsonProperty("query")
+    private String query;
+
+    @JsonProperty("suggestions")
+    private List<TitleSuggestion> suggestions;
+
+    @JsonProperty("returned")
+    private int returned;
+
+    @JsonProperty("total_matches")
+    private long totalMatches;
+}
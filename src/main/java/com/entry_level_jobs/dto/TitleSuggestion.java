@@ -0,0 +1,21 @@
+package com.entry_level_jobs.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Job-title phrase suggested while typing a keyword, with the number of
+ * active jobs carrying that title.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TitleSuggestion {
+    @JsonProperty("value")
+    private String value;
+
+    @JsonProperty("job_count")
+    private int jobCount;
+}
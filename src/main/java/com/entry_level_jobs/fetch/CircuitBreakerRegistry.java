@@ -0,0 +1,41 @@
+package com.entry_level_jobs.fetch;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Holds one {@link SourceCircuitBreaker} per job source (Arbeitnow, Remotive,
+ * TheMuse, ...), created lazily with the shared configuration.
+ */
+@Component
+public class CircuitBreakerRegistry {
+    private final ConcurrentMap<String, SourceCircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final int windowSize;
+    private final int failureThreshold;
+    private final long openDurationMs;
+
+    public CircuitBreakerRegistry(
+            @Value("${external.circuit-breaker.window-size:10}") int windowSize,
+            @Value("${external.circuit-breaker.failure-threshold:3}") int failureThreshold,
+            @Value("${external.circuit-breaker.open-duration-ms:900000}") long openDurationMs) {
+        this.windowSize = windowSize;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+    }
+
+    public SourceCircuitBreaker forSource(String source) {
+        return breakers.computeIfAbsent(source, name -> new SourceCircuitBreaker(name, windowSize,
+                failureThreshold, openDurationMs, System::currentTimeMillis));
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        breakers.forEach((source, breaker) -> stats.put(source, breaker.snapshot()));
+        return stats;
+    }
+}
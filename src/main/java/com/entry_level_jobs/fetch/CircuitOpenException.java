@@ -0,0 +1,12 @@
+package com.entry_level_jobs.fetch;
+
+import org.springframework.web.client.RestClientException;
+
+/**
+ * Thrown instead of calling a provider whose circuit breaker is open.
+ */
+public class CircuitOpenException extends RestClientException {
+    public CircuitOpenException(String source) {
+        super("Circuit breaker open for source " + source + "; skipping request");
+    }
+}
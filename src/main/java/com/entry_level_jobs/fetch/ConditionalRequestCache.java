@@ -0,0 +1,106 @@
+package com.entry_level_jobs.fetch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Remembers the {@code ETag}/{@code Last-Modified} validators returned for
+ * each provider URL (including its page parameter) so the next run can issue
+ * a conditional GET. Also tracks how much traffic the 304 answers saved.
+ * <p>
+ * Jobs are only marked as seen when their page is downloaded, so a page that
+ * keeps answering 304 would let its jobs expire. Validators are therefore
+ * dropped after half the retention TTL, forcing a full fetch that pushes the
+ * expiry of everything still listed.
+ */
+@Component
+@Slf4j
+public class ConditionalRequestCache {
+    private final Map<String, Validators> validatorsByUrl = new ConcurrentHashMap<>();
+    private final LongAdder pagesSkipped = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+    private final LongAdder pagesFetched = new LongAdder();
+    private final Duration maxValidatorAge;
+
+    public ConditionalRequestCache(@Value("${jobs.retention.ttl-days:30}") long ttlDays) {
+        this.maxValidatorAge = Duration.ofDays(ttlDays).dividedBy(2);
+    }
+
+    /**
+     * Add {@code If-None-Match}/{@code If-Modified-Since} headers when
+     * validators are known for the URL and were received recently enough.
+     */
+    public void applyValidators(String url, HttpHeaders headers) {
+        Validators validators = validatorsByUrl.get(url);
+        if (validators == null) {
+            return;
+        }
+        if (!validators.fetchedAt().plus(maxValidatorAge).isAfter(Instant.now())) {
+            log.debug("Validators for {} are older than {}; fetching the full page", url, maxValidatorAge);
+            return;
+        }
+        if (StringUtils.hasText(validators.etag())) {
+            headers.set(HttpHeaders.IF_NONE_MATCH, validators.etag());
+        }
+        if (StringUtils.hasText(validators.lastModified())) {
+            headers.set(HttpHeaders.IF_MODIFIED_SINCE, validators.lastModified());
+        }
+    }
+
+    /**
+     * Store validators from a successful (200) response. Responses without any
+     * validator clear the previous entry so we never send stale ones.
+     */
+    public void recordFetched(String url, HttpHeaders headers, long bodyBytes) {
+        pagesFetched.increment();
+        String etag = headers.getETag();
+        String lastModified = headers.getFirst(HttpHeaders.LAST_MODIFIED);
+        if (!StringUtils.hasText(etag) && !StringUtils.hasText(lastModified)) {
+            validatorsByUrl.remove(url);
+            return;
+        }
+        validatorsByUrl.put(url, new Validators(etag, lastModified, bodyBytes, Instant.now()));
+    }
+
+    /**
+     * Account for a 304 answer using the size of the last full body we received.
+     */
+    public void recordNotModified(String url) {
+        pagesSkipped.increment();
+        Validators validators = validatorsByUrl.get(url);
+        if (validators != null) {
+            bytesSaved.add(validators.bodyBytes());
+        }
+        log.debug("Provider page unchanged since last fetch, skipping: {}", url);
+    }
+
+    public long getPagesSkipped() {
+        return pagesSkipped.sum();
+    }
+
+    public long getBytesSaved() {
+        return bytesSaved.sum();
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pages_fetched", pagesFetched.sum());
+        stats.put("pages_skipped", pagesSkipped.sum());
+        stats.put("bytes_saved", bytesSaved.sum());
+        stats.put("tracked_urls", validatorsByUrl.size());
+        return stats;
+    }
+
+    private record Validators(String etag, String lastModified, long bodyBytes, Instant fetchedAt) {
+    }
+}
@@ -0,0 +1,240 @@
+package com.entry_level_jobs.fetch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Thin wrapper around {@link RestTemplate} used by every provider fetch
+ * service. Issues conditional GETs based on previously seen validators and
+ * short-circuits on {@code 304 Not Modified} before any parsing happens.
+ * <p>
+ * Every request first reserves a slot from the per-host
+ * {@link HostRateLimiter}. Transient failures (429, 5xx, I/O) are retried with
+ * jittered exponential backoff, or after the provider's {@code Retry-After}
+ * capped at {@code external.fetch.retry-after.max-ms}; the waits are scheduled
+ * on a timer instead of sleeping a pool thread. Sources call {@link #get} and
+ * block until then on purpose: their pages are fetched in order on the
+ * source's own scheduler thread, so the cap bounds how long one request can
+ * hold a run.
+ * <p>
+ * Calls are guarded by the source's {@link SourceCircuitBreaker}: while it is
+ * open requests fail fast with {@link CircuitOpenException}, and the half-open
+ * probe is sent without retries.
+ */
+@Component
+@Slf4j
+public class ExternalApiClient {
+    private final RestTemplate restTemplate;
+    private final ConditionalRequestCache conditionalRequestCache;
+    private final HostRateLimiter rateLimiter;
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final Executor fetchExecutor;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final long maxRetryAfterMs;
+    // Same defaults as RestTemplate's Jackson converter (unknown properties ignored)
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    public ExternalApiClient(RestTemplate restTemplate,
+            ConditionalRequestCache conditionalRequestCache,
+            HostRateLimiter rateLimiter,
+            CircuitBreakerRegistry circuitBreakers,
+            @Qualifier("providerFetchExecutor") Executor fetchExecutor,
+            @Value("${external.fetch.max-retries:3}") int maxRetries,
+            @Value("${external.fetch.backoff.initial-ms:1000}") long initialBackoffMs,
+            @Value("${external.fetch.backoff.max-ms:60000}") long maxBackoffMs,
+            @Value("${external.fetch.retry-after.max-ms:120000}") long maxRetryAfterMs) {
+        this.restTemplate = restTemplate;
+        this.conditionalRequestCache = conditionalRequestCache;
+        this.rateLimiter = rateLimiter;
+        this.circuitBreakers = circuitBreakers;
+        this.fetchExecutor = fetchExecutor;
+        this.maxAttempts = Math.max(1, maxRetries);
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.maxRetryAfterMs = maxRetryAfterMs;
+    }
+
+    /**
+     * GET the URL and deserialize the JSON body, blocking until the request
+     * (including any retries) completes.
+     *
+     * @param source job source the URL belongs to, used for circuit breaking
+     * @throws CircuitOpenException when the source's circuit breaker is open
+     * @throws RestClientException  on transport, HTTP error or parse failures
+     *                              once retries are exhausted
+     */
+    public <T> ProviderResponse<T> get(String source, String url, Class<T> responseType) {
+        try {
+            return getAsync(source, url, responseType).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new RestClientException("Request to " + url + " failed", e.getCause());
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #get(String, String, Class)}.
+     */
+    public <T> CompletableFuture<ProviderResponse<T>> getAsync(String source, String url, Class<T> responseType) {
+        SourceCircuitBreaker breaker = circuitBreakers.forSource(source);
+        SourceCircuitBreaker.Permission permission = breaker.tryAcquirePermission();
+        if (permission == SourceCircuitBreaker.Permission.DENIED) {
+            return CompletableFuture.failedFuture(new CircuitOpenException(source));
+        }
+        int attempts = permission == SourceCircuitBreaker.Permission.PROBE ? 1 : maxAttempts;
+        return attempt(url, responseType, 0, attempts)
+                .whenComplete((response, error) -> {
+                    if (error == null) {
+                        breaker.recordSuccess();
+                    } else {
+                        breaker.recordFailure();
+                    }
+                });
+    }
+
+    private <T> CompletableFuture<ProviderResponse<T>> attempt(String url, Class<T> responseType, int attempt,
+            int maxAttempts) {
+        String host = hostOf(url);
+        long waitNanos = rateLimiter.reserve(host);
+        Executor executor = waitNanos > 0
+                ? CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS, fetchExecutor)
+                : fetchExecutor;
+
+        return CompletableFuture.supplyAsync(() -> execute(url, responseType), executor)
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause()
+                            : error;
+                    if (attempt + 1 >= maxAttempts || !isRetryable(cause)) {
+                        return CompletableFuture.<ProviderResponse<T>>failedFuture(cause);
+                    }
+                    long backoffMs = backoffMillis(host, cause, attempt);
+                    log.warn("Request to {} failed (attempt {}), retrying in {} ms: {}",
+                            url, attempt + 1, backoffMs, cause.getMessage());
+                    return CompletableFuture
+                            .runAsync(() -> {
+                            }, CompletableFuture.delayedExecutor(backoffMs, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> attempt(url, responseType, attempt + 1, maxAttempts));
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private <T> ProviderResponse<T> execute(String url, Class<T> responseType) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        conditionalRequestCache.applyValidators(url, headers);
+
+        ResponseEntity<byte[]> response = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers),
+                byte[].class);
+        if (response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            conditionalRequestCache.recordNotModified(url);
+            return ProviderResponse.unchanged();
+        }
+
+        byte[] body = response.getBody();
+        if (body == null || body.length == 0) {
+            return ProviderResponse.of(null);
+        }
+        T parsed;
+        try {
+            parsed = objectMapper.readValue(body, responseType);
+        } catch (IOException e) {
+            throw new RestClientException("Failed to parse response from " + url, e);
+        }
+        // Only remember validators once the body parsed, so a broken page is re-fetched
+        conditionalRequestCache.recordFetched(url, response.getHeaders(), body.length);
+        return ProviderResponse.of(parsed);
+    }
+
+    private boolean isRetryable(Throwable error) {
+        return error instanceof HttpClientErrorException.TooManyRequests
+                || error instanceof HttpServerErrorException
+                || error instanceof ResourceAccessException;
+    }
+
+    private long backoffMillis(String host, Throwable error, int attempt) {
+        Long retryAfterMs = retryAfterMillis(error);
+        if (retryAfterMs != null) {
+            long delay = Math.min(retryAfterMs, maxRetryAfterMs);
+            if (delay < retryAfterMs) {
+                log.warn("{} asked to retry after {} ms; waiting only {} ms", host, retryAfterMs, delay);
+            }
+            // Pause the whole host so concurrent requests respect it too; the next
+            // reservation then carries the wait
+            rateLimiter.pause(host, Duration.ofMillis(delay));
+            return 0;
+        }
+        long exponential = Math.min(maxBackoffMs, initialBackoffMs * (1L << Math.min(attempt, 20)));
+        long half = exponential / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    private Long retryAfterMillis(Throwable error) {
+        if (!(error instanceof HttpStatusCodeException statusError) || statusError.getResponseHeaders() == null) {
+            return null;
+        }
+        String retryAfter = statusError.getResponseHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return null;
+        }
+        String value = retryAfter.trim();
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(value)));
+        } catch (NumberFormatException ignored) {
+            // not delta-seconds, try HTTP-date
+        }
+        try {
+            ZonedDateTime at = ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+        } catch (DateTimeParseException e) {
+            log.debug("Ignoring unparseable Retry-After header: {}", value);
+            return null;
+        }
+    }
+
+    private String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "" : host;
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.entry_level_jobs.fetch;
+
+import com.entry_level_jobs.config.RateLimitProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket per provider host, shared by every fetch service.
+ * Callers reserve a slot and get back how long to wait before sending; they
+ * are expected to schedule the request after that delay rather than sleep.
+ */
+@Component
+@Slf4j
+public class HostRateLimiter {
+    private final RateLimitProperties properties;
+    private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, SourceRateLimit> declaredLimits = new ConcurrentHashMap<>();
+
+    public HostRateLimiter(RateLimitProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Register the limits a job source declares for its host. Used when no
+     * explicit per-host configuration exists; must happen before the first
+     * request to that host.
+     */
+    public void declare(SourceRateLimit limit) {
+        declaredLimits.put(limit.host().toLowerCase(), limit);
+    }
+
+    /**
+     * Reserve one request against the host's bucket.
+     *
+     * @return nanoseconds to wait before issuing the request (0 when a token is
+     *         available now)
+     */
+    public long reserve(String host) {
+        return reserve(host, System.nanoTime());
+    }
+
+    long reserve(String host, long nowNanos) {
+        return bucketFor(host, nowNanos).reserve(nowNanos);
+    }
+
+    /**
+     * Hold back every request to the host until the given delay has passed,
+     * typically because it answered with {@code Retry-After}.
+     */
+    public void pause(String host, Duration delay) {
+        pause(host, delay, System.nanoTime());
+    }
+
+    void pause(String host, Duration delay, long nowNanos) {
+        bucketFor(host, nowNanos).pauseUntil(nowNanos + delay.toNanos());
+        log.info("Pausing requests to {} for {} ms", host, delay.toMillis());
+    }
+
+    public Map<String, Object> snapshot() {
+        long now = System.nanoTime();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        buckets.forEach((host, bucket) -> {
+            Map<String, Object> hostStats = new LinkedHashMap<>();
+            hostStats.put("requests_per_second", bucket.requestsPerSecond);
+            hostStats.put("burst", bucket.burst);
+            hostStats.put("paused_ms", TimeUnit.NANOSECONDS.toMillis(Math.max(0, bucket.pausedUntil.get() - now)));
+            stats.put(host, hostStats);
+        });
+        return stats;
+    }
+
+    private TokenBucket bucketFor(String host, long nowNanos) {
+        return buckets.computeIfAbsent(host == null ? "" : host.toLowerCase(), key -> {
+            RateLimitProperties.HostLimit limit = properties.getHosts().get(key);
+            SourceRateLimit declared = declaredLimits.get(key);
+            double rate = properties.getRequestsPerSecond();
+            int burst = properties.getBurst();
+            if (declared != null) {
+                rate = declared.requestsPerSecond();
+                burst = declared.burst();
+            }
+            if (limit != null && limit.getRequestsPerSecond() != null) {
+                rate = limit.getRequestsPerSecond();
+            }
+            if (limit != null && limit.getBurst() != null) {
+                burst = limit.getBurst();
+            }
+            return new TokenBucket(rate, burst, nowNanos);
+        });
+    }
+
+    /**
+     * Token bucket expressed as a generic cell rate algorithm: a single
+     * theoretical-arrival timestamp is advanced by CAS, so reservations never
+     * block and need no lock.
+     */
+    static final class TokenBucket {
+        private final double requestsPerSecond;
+        private final int burst;
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+        private final AtomicLong theoreticalArrival;
+        private final AtomicLong pausedUntil = new AtomicLong(Long.MIN_VALUE);
+
+        TokenBucket(double requestsPerSecond, int burst, long nowNanos) {
+            this.requestsPerSecond = requestsPerSecond > 0 ? requestsPerSecond : 1.0;
+            this.burst = Math.max(1, burst);
+            this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / this.requestsPerSecond);
+            this.burstToleranceNanos = emissionIntervalNanos * (this.burst - 1);
+            this.theoreticalArrival = new AtomicLong(nowNanos);
+        }
+
+        long reserve(long nowNanos) {
+            long earliest = Math.max(nowNanos, pausedUntil.get());
+            while (true) {
+                long tat = theoreticalArrival.get();
+                long sendAt = Math.max(earliest, tat - burstToleranceNanos);
+                long nextTat = Math.max(tat, sendAt) + emissionIntervalNanos;
+                if (theoreticalArrival.compareAndSet(tat, nextTat)) {
+                    return Math.max(0, sendAt - nowNanos);
+                }
+            }
+        }
+
+        void pauseUntil(long untilNanos) {
+            pausedUntil.accumulateAndGet(untilNanos, Math::max);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.entry_level_jobs.fetch;
+
+import com.entry_level_jobs.model.Job;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * A provider of job postings. Implementations are Spring beans; every
+ * registered source is fetched by {@code JobFetchService} and scheduled
+ * independently by {@code JobSchedulerService}, so adding a board only means
+ * adding a bean.
+ *
+ * @param <T> provider-specific posting type returned by {@link #fetchPage}
+ */
+public interface JobSource<T> {
+
+    /**
+     * Source name, also stored as {@link Job#getSource()}.
+     */
+    String getName();
+
+    /**
+     * Upper bound of pages fetched per run (1 for single-feed APIs).
+     */
+    int getMaxPages();
+
+    /**
+     * Fetch one page of raw postings (1-based). Implementations handle their own
+     * errors and return {@link SourcePage#end()} when nothing more can be read.
+     */
+    SourcePage<T> fetchPage(int page);
+
+    /**
+     * Convert a raw posting to the internal entity.
+     */
+    Job toJob(T posting);
+
+    /**
+     * How often the source would like to be polled.
+     */
+    Duration getPreferredInterval();
+
+    /**
+     * Default request limits for the source's host; explicit
+     * {@code external.rate-limit.hosts[...]} settings take precedence.
+     */
+    default Optional<SourceRateLimit> getRateLimit() {
+        return Optional.empty();
+    }
+}
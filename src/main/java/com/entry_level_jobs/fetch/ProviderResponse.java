@@ -0,0 +1,19 @@
+package com.entry_level_jobs.fetch;
+
+/**
+ * Result of a provider call. A {@code notModified} response carries no body and
+ * signals that the page is unchanged since the last successful fetch.
+ *
+ * @param body        parsed payload, or {@code null} when not modified/empty
+ * @param notModified whether the provider answered {@code 304 Not Modified}
+ */
+public record ProviderResponse<T>(T body, boolean notModified) {
+
+    public static <T> ProviderResponse<T> of(T body) {
+        return new ProviderResponse<>(body, false);
+    }
+
+    public static <T> ProviderResponse<T> unchanged() {
+        return new ProviderResponse<>(null, true);
+    }
+}
@@ -0,0 +1,131 @@
+package com.entry_level_jobs.fetch;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Circuit breaker for a single job source. Outcomes of the last
+ * {@code windowSize} calls are kept in a ring buffer; once
+ * {@code failureThreshold} of them failed the breaker opens and every call is
+ * rejected until {@code openDurationMs} has passed. Then a single probe call
+ * is let through (half-open): success closes the breaker, failure re-opens it.
+ */
+public class SourceCircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    public enum Permission {
+        /** Breaker is open (or a probe is already in flight); do not call. */
+        DENIED,
+        /** Normal call. */
+        ALLOWED,
+        /** Single half-open probe; callers should not retry it. */
+        PROBE
+    }
+
+    private final String source;
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final LongSupplier clock;
+    private final boolean[] failures;
+    private int position;
+    private int recorded;
+    private int failureCount;
+    private State state = State.CLOSED;
+    private long openedAt;
+
+    public SourceCircuitBreaker(String source, int windowSize, int failureThreshold, long openDurationMs,
+            LongSupplier clock) {
+        this.source = source;
+        this.failures = new boolean[Math.max(1, windowSize)];
+        this.failureThreshold = Math.max(1, Math.min(failureThreshold, failures.length));
+        this.openDurationMs = openDurationMs;
+        this.clock = clock;
+    }
+
+    public synchronized Permission tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return Permission.ALLOWED;
+            case OPEN:
+                if (clock.getAsLong() - openedAt >= openDurationMs) {
+                    state = State.HALF_OPEN;
+                    return Permission.PROBE;
+                }
+                return Permission.DENIED;
+            default:
+                // a probe is already in flight
+                return Permission.DENIED;
+        }
+    }
+
+    public synchronized void recordSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void recordFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && failureCount >= failureThreshold) {
+            open();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state);
+        stats.put("failures_in_window", failureCount);
+        stats.put("calls_in_window", recorded);
+        if (state != State.CLOSED) {
+            stats.put("retry_in_ms", Math.max(0, openedAt + openDurationMs - clock.getAsLong()));
+        }
+        return stats;
+    }
+
+    private void record(boolean failed) {
+        if (recorded == failures.length) {
+            if (failures[position]) {
+                failureCount--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[position] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        position = (position + 1) % failures.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        Arrays.fill(failures, false);
+        position = 0;
+        recorded = 0;
+        failureCount = 0;
+    }
+}
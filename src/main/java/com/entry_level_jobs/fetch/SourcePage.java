@@ -0,0 +1,25 @@
+package com.entry_level_jobs.fetch;
+
+import java.util.List;
+
+/**
+ * One page of raw postings returned by a {@link JobSource}.
+ *
+ * @param items       postings on the page (empty when unchanged or failed)
+ * @param notModified the provider answered 304 for this page
+ * @param hasMore     whether the next page is worth requesting
+ */
+public record SourcePage<T>(List<T> items, boolean notModified, boolean hasMore) {
+
+    public static <T> SourcePage<T> of(List<T> items, boolean hasMore) {
+        return new SourcePage<>(items, false, hasMore);
+    }
+
+    public static <T> SourcePage<T> unchanged(boolean hasMore) {
+        return new SourcePage<>(List.of(), true, hasMore);
+    }
+
+    public static <T> SourcePage<T> end() {
+        return new SourcePage<>(List.of(), false, false);
+    }
+}
@@ -0,0 +1,7 @@
+package com.entry_level_jobs.fetch;
+
+/**
+ * Request limits a {@link JobSource} declares for its host.
+ */
+public record SourceRateLimit(String host, double requestsPerSecond, int burst) {
+}
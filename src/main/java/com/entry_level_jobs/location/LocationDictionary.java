@@ -0,0 +1,229 @@
+package com.entry_level_jobs.location;
+
+import com.entry_level_jobs.search.TextNormalizer;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Hardcoded place names and work-mode phrases for the location extractor.
+ * Keys are folded (lower case, no accents, single spaces) so they can be
+ * looked up directly with phrases built from {@link TextNormalizer#tokenize}
+ * tokens.
+ */
+public final class LocationDictionary {
+    private LocationDictionary() {
+    }
+
+    /**
+     * Longest phrase, in tokens, of any key below.
+     */
+    public static final int MAX_PHRASE_TOKENS = 4;
+
+    public static final Set<String> HYBRID_PHRASES = Set.of(
+            "hybrid", "hybride", "hibrido", "hibrida", "hybrydowa", "hybrydowo", "hybrydowy",
+            "partially remote", "teilweise remote");
+
+    public static final Set<String> REMOTE_PHRASES = Set.of(
+            "remote", "fully remote", "anywhere", "worldwide", "work from home", "wfh", "home office",
+            "homeoffice", "remoto", "remota", "teletrabajo", "teletravail", "zdalna", "zdalnie", "zdalny");
+
+    public static final Set<String> ONSITE_PHRASES = Set.of(
+            "onsite", "on site", "in office", "office based", "vor ort", "presencial", "stacjonarna",
+            "stacjonarnie", "sur site");
+
+    /**
+     * Country names, native names and common abbreviations to ISO 3166-1
+     * alpha-2 codes. Bare two-letter codes are left out on purpose: in
+     * "Austin, TX" or "Toronto, ON" they are states and provinces.
+     */
+    public static final Map<String, String> COUNTRIES = Map.ofEntries(
+            Map.entry("germany", "DE"), Map.entry("deutschland", "DE"),
+            Map.entry("austria", "AT"), Map.entry("osterreich", "AT"),
+            Map.entry("switzerland", "CH"), Map.entry("schweiz", "CH"), Map.entry("suisse", "CH"),
+            Map.entry("poland", "PL"), Map.entry("polska", "PL"),
+            Map.entry("spain", "ES"), Map.entry("espana", "ES"),
+            Map.entry("france", "FR"),
+            Map.entry("united kingdom", "GB"), Map.entry("uk", "GB"), Map.entry("great britain", "GB"),
+            Map.entry("england", "GB"), Map.entry("scotland", "GB"), Map.entry("wales", "GB"),
+            Map.entry("ireland", "IE"),
+            Map.entry("netherlands", "NL"), Map.entry("the netherlands", "NL"), Map.entry("nederland", "NL"),
+            Map.entry("holland", "NL"),
+            Map.entry("belgium", "BE"), Map.entry("belgique", "BE"), Map.entry("belgie", "BE"),
+            Map.entry("luxembourg", "LU"),
+            Map.entry("italy", "IT"), Map.entry("italia", "IT"),
+            Map.entry("portugal", "PT"),
+            Map.entry("sweden", "SE"), Map.entry("sverige", "SE"),
+            Map.entry("denmark", "DK"), Map.entry("danmark", "DK"),
+            Map.entry("norway", "NO"), Map.entry("norge", "NO"),
+            Map.entry("finland", "FI"), Map.entry("suomi", "FI"),
+            Map.entry("czech republic", "CZ"), Map.entry("czechia", "CZ"),
+            Map.entry("slovakia", "SK"), Map.entry("hungary", "HU"), Map.entry("romania", "RO"),
+            Map.entry("bulgaria", "BG"), Map.entry("greece", "GR"), Map.entry("croatia", "HR"),
+            Map.entry("slovenia", "SI"), Map.entry("serbia", "RS"), Map.entry("ukraine", "UA"),
+            Map.entry("estonia", "EE"), Map.entry("latvia", "LV"), Map.entry("lithuania", "LT"),
+            Map.entry("turkey", "TR"), Map.entry("turkiye", "TR"), Map.entry("israel", "IL"),
+            Map.entry("united states", "US"), Map.entry("united states of america", "US"),
+            Map.entry("usa", "US"), Map.entry("us", "US"),
+            Map.entry("canada", "CA"), Map.entry("mexico", "MX"), Map.entry("brazil", "BR"),
+            Map.entry("brasil", "BR"), Map.entry("argentina", "AR"), Map.entry("colombia", "CO"),
+            Map.entry("chile", "CL"),
+            Map.entry("nigeria", "NG"), Map.entry("ghana", "GH"), Map.entry("kenya", "KE"),
+            Map.entry("south africa", "ZA"), Map.entry("egypt", "EG"),
+            Map.entry("united arab emirates", "AE"), Map.entry("uae", "AE"),
+            Map.entry("india", "IN"), Map.entry("singapore", "SG"), Map.entry("philippines", "PH"),
+            Map.entry("japan", "JP"), Map.entry("china", "CN"),
+            Map.entry("australia", "AU"), Map.entry("new zealand", "NZ"));
+
+    /**
+     * City names and local spellings to the canonical name and country.
+     */
+    public static final Map<String, City> CITIES = cities(
+            new City("Berlin", "DE", "berlin"),
+            new City("Munich", "DE", "munich", "munchen", "muenchen"),
+            new City("Hamburg", "DE", "hamburg"),
+            new City("Frankfurt", "DE", "frankfurt", "frankfurt am main"),
+            new City("Cologne", "DE", "cologne", "koln", "koeln"),
+            new City("Stuttgart", "DE", "stuttgart"),
+            new City("Düsseldorf", "DE", "dusseldorf", "duesseldorf"),
+            new City("Leipzig", "DE", "leipzig"),
+            new City("Dresden", "DE", "dresden"),
+            new City("Nuremberg", "DE", "nuremberg", "nurnberg", "nuernberg"),
+            new City("Hanover", "DE", "hanover", "hannover"),
+            new City("Bremen", "DE", "bremen"),
+            new City("Essen", "DE", "essen"),
+            new City("Dortmund", "DE", "dortmund"),
+            new City("Karlsruhe", "DE", "karlsruhe"),
+            new City("Mannheim", "DE", "mannheim"),
+            new City("Bonn", "DE", "bonn"),
+            new City("Vienna", "AT", "vienna", "wien"),
+            new City("Graz", "AT", "graz"),
+            new City("Zurich", "CH", "zurich"),
+            new City("Geneva", "CH", "geneva", "geneve", "genf"),
+            new City("Basel", "CH", "basel"),
+            new City("Bern", "CH", "bern"),
+            new City("Warsaw", "PL", "warsaw", "warszawa"),
+            new City("Kraków", "PL", "krakow", "cracow"),
+            new City("Wrocław", "PL", "wroclaw"),
+            new City("Gdańsk", "PL", "gdansk"),
+            new City("Poznań", "PL", "poznan"),
+            new City("Łódź", "PL", "lodz"),
+            new City("Katowice", "PL", "katowice"),
+            new City("Madrid", "ES", "madrid"),
+            new City("Barcelona", "ES", "barcelona"),
+            new City("Valencia", "ES", "valencia"),
+            new City("Seville", "ES", "seville", "sevilla"),
+            new City("Málaga", "ES", "malaga"),
+            new City("Bilbao", "ES", "bilbao"),
+            new City("Paris", "FR", "paris"),
+            new City("Lyon", "FR", "lyon"),
+            new City("Marseille", "FR", "marseille"),
+            new City("Toulouse", "FR", "toulouse"),
+            new City("Lille", "FR", "lille"),
+            new City("Nantes", "FR", "nantes"),
+            new City("Bordeaux", "FR", "bordeaux"),
+            new City("London", "GB", "london"),
+            new City("Manchester", "GB", "manchester"),
+            new City("Edinburgh", "GB", "edinburgh"),
+            new City("Birmingham", "GB", "birmingham"),
+            new City("Bristol", "GB", "bristol"),
+            new City("Dublin", "IE", "dublin"),
+            new City("Amsterdam", "NL", "amsterdam"),
+            new City("Rotterdam", "NL", "rotterdam"),
+            new City("The Hague", "NL", "the hague", "den haag"),
+            new City("Utrecht", "NL", "utrecht"),
+            new City("Eindhoven", "NL", "eindhoven"),
+            new City("Brussels", "BE", "brussels", "bruxelles", "brussel"),
+            new City("Antwerp", "BE", "antwerp", "antwerpen"),
+            new City("Milan", "IT", "milan", "milano"),
+            new City("Rome", "IT", "rome", "roma"),
+            new City("Lisbon", "PT", "lisbon", "lisboa"),
+            new City("Porto", "PT", "porto"),
+            new City("Stockholm", "SE", "stockholm"),
+            new City("Copenhagen", "DK", "copenhagen", "kobenhavn"),
+            new City("Oslo", "NO", "oslo"),
+            new City("Helsinki", "FI", "helsinki"),
+            new City("Prague", "CZ", "prague", "praha"),
+            new City("Budapest", "HU", "budapest"),
+            new City("Bucharest", "RO", "bucharest", "bucuresti"),
+            new City("Athens", "GR", "athens"),
+            new City("Kyiv", "UA", "kyiv", "kiev"),
+            new City("Tallinn", "EE", "tallinn"),
+            new City("Riga", "LV", "riga"),
+            new City("Vilnius", "LT", "vilnius"),
+            new City("Istanbul", "TR", "istanbul"),
+            new City("Tel Aviv", "IL", "tel aviv"),
+            new City("New York", "US", "new york", "new york city", "nyc"),
+            new City("San Francisco", "US", "san francisco"),
+            new City("Los Angeles", "US", "los angeles"),
+            new City("Seattle", "US", "seattle"),
+            new City("Austin", "US", "austin"),
+            new City("Boston", "US", "boston"),
+            new City("Chicago", "US", "chicago"),
+            new City("Toronto", "CA", "toronto"),
+            new City("Vancouver", "CA", "vancouver"),
+            new City("Montreal", "CA", "montreal"),
+            new City("Mexico City", "MX", "mexico city", "ciudad de mexico"),
+            new City("São Paulo", "BR", "sao paulo"),
+            new City("Lagos", "NG", "lagos"),
+            new City("Abuja", "NG", "abuja"),
+            new City("Accra", "GH", "accra"),
+            new City("Nairobi", "KE", "nairobi"),
+            new City("Cape Town", "ZA", "cape town"),
+            new City("Johannesburg", "ZA", "johannesburg"),
+            new City("Cairo", "EG", "cairo"),
+            new City("Dubai", "AE", "dubai"),
+            new City("Bangalore", "IN", "bangalore", "bengaluru"),
+            new City("Singapore", "SG", "singapore"),
+            new City("Tokyo", "JP", "tokyo"),
+            new City("Sydney", "AU", "sydney"),
+            new City("Melbourne", "AU", "melbourne"));
+
+    /**
+     * Country code for a filter value: a two-letter code as is, otherwise a
+     * known country name. Null when neither.
+     */
+    public static String countryCode(String value) {
+        String folded = TextNormalizer.fold(value);
+        if (folded == null) {
+            return null;
+        }
+        if (folded.length() == 2 && Character.isLetter(folded.charAt(0)) && Character.isLetter(folded.charAt(1))) {
+            return folded.toUpperCase(Locale.ROOT);
+        }
+        return COUNTRIES.get(folded);
+    }
+
+    /**
+     * Canonical name for a filter value naming a known city, otherwise the
+     * trimmed value. Null when blank.
+     */
+    public static String cityName(String value) {
+        String folded = TextNormalizer.fold(value);
+        if (folded == null) {
+            return null;
+        }
+        City city = CITIES.get(folded);
+        return city == null ? value.trim() : city.name();
+    }
+
+    private static Map<String, City> cities(City... cities) {
+        Map<String, City> byAlias = new HashMap<>();
+        for (City city : cities) {
+            for (String alias : city.aliases()) {
+                byAlias.put(alias, city);
+            }
+        }
+        return Map.copyOf(byAlias);
+    }
+
+    /**
+     * @param name        canonical name stored on jobs
+     * @param countryCode ISO 3166-1 alpha-2 code
+     * @param aliases     folded spellings that refer to the city
+     */
+    public record City(String name, String countryCode, String... aliases) {
+    }
+}
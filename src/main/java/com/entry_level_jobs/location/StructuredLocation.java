@@ -0,0 +1,11 @@
+package com.entry_level_jobs.location;
+
+/**
+ * Structured fields extracted from a free-text job location.
+ *
+ * @param workMode    never null; {@link WorkMode#ONSITE} when nothing says otherwise
+ * @param countryCode ISO 3166-1 alpha-2 code, or null when not recognized
+ * @param city        canonical English city name, or null when not recognized
+ */
+public record StructuredLocation(WorkMode workMode, String countryCode, String city) {
+}
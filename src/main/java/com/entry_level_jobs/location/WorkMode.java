@@ -0,0 +1,10 @@
+package com.entry_level_jobs.location;
+
+/**
+ * Where a job is done, as extracted from its location and title at ingest.
+ */
+public enum WorkMode {
+    REMOTE,
+    HYBRID,
+    ONSITE
+}
@@ -1,12 +1,17 @@
 package com.entry_level_jobs.model;
 
+import com.entry_level_jobs.language.JobLanguage;
+import com.entry_level_jobs.location.WorkMode;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 
@@ -41,17 +46,107 @@ public class Job {
     @Column(unique = true, nullable = false, length = 2000)
     private String url;
 
-    @Column(columnDefinition = "TEXT")
+    /**
+     * Description text. Not a column: it is read from {@link #descriptionBody}
+     * (compressed, shared between identical postings) on first access, or
+     * from the legacy inline column for rows not migrated yet.
+     */
+    @Transient
     private String description;
 
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "description_hash")
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private JobDescription descriptionBody;
+
+    /**
+     * Inline description of rows saved before descriptions moved to
+     * {@code job_descriptions}; cleared once the sweeper has moved it.
+     */
+    @Column(name = "description", columnDefinition = "TEXT")
+    @JsonIgnore
+    @ToString.Exclude
+    private String legacyDescription;
+
     @Column(length = 255)
     private String source;
 
+    /**
+     * Plain-text opening of the description, filled at ingest for list views.
+     */
+    @Column(length = 320)
+    private String snippet;
+
+    /**
+     * Language and entry-level score computed by the classifier at ingest.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 8)
+    private JobLanguage language;
+
+    @Column(name = "classification_score")
+    private Integer classificationScore;
+
+    /**
+     * Structured location extracted from the free-text location at ingest.
+     * Null only on rows ingested before extraction existed.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(name = "work_mode", length = 8)
+    private WorkMode workMode;
+
+    @Column(name = "country_code", length = 2)
+    private String countryCode;
+
+    @Column(length = 100)
+    private String city;
+
     @NotNull(message = "Posted date is required")
     private LocalDateTime postedAt;
 
     private LocalDateTime createdAt;
 
+    /**
+     * SHA-256 of the ingested content (title, company, location, description,
+     * posted date when the provider gave one); a different hash on re-ingest
+     * means the posting was edited.
+     */
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    /**
+     * Last time an ingest run saw this posting at its source.
+     */
+    @Column(name = "last_seen_at")
+    private LocalDateTime lastSeenAt;
+
+    /**
+     * When the posting is considered stale unless an ingest run sees it again.
+     */
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    /**
+     * Only active jobs are listed; the retention sweeper clears this for
+     * expired postings and later deletes them.
+     */
+    @Builder.Default
+    @Column(nullable = false)
+    private boolean active = true;
+
+    public String getDescription() {
+        if (description == null) {
+            if (descriptionBody != null) {
+                description = descriptionBody.getText();
+            } else {
+                description = legacyDescription;
+            }
+        }
+        return description;
+    }
+
     @PrePersist
     protected void onCreate() {
         if (createdAt == null) {
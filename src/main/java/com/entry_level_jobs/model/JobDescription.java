@@ -0,0 +1,110 @@
+package com.entry_level_jobs.model;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A job description stored once per distinct text, keyed by its SHA-256 and
+ * kept deflate-compressed. Postings syndicated across sources with the same
+ * boilerplate share one row. The text is only inflated when someone reads it.
+ */
+@Entity
+@Table(name = "job_descriptions")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class JobDescription {
+    @Id
+    @Column(length = 64)
+    private String hash;
+
+    @Column(nullable = false, columnDefinition = "bytea")
+    private byte[] content;
+
+    @Column(name = "original_length", nullable = false)
+    private int originalLength;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Transient
+    @Getter(AccessLevel.NONE)
+    private String text;
+
+    public static JobDescription of(String text) {
+        JobDescription description = new JobDescription();
+        description.hash = hashOf(text);
+        description.content = deflate(text.getBytes(StandardCharsets.UTF_8));
+        description.originalLength = text.length();
+        description.createdAt = LocalDateTime.now();
+        description.text = text;
+        return description;
+    }
+
+    public static String hashOf(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Decompressed description text, inflated on first access.
+     */
+    public String getText() {
+        if (text == null) {
+            text = new String(inflate(content), StandardCharsets.UTF_8);
+        }
+        return text;
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 3));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] compressed) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(compressed.length * 3);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated job description content");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt job description content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
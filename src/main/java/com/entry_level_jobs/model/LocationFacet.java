@@ -0,0 +1,35 @@
+package com.entry_level_jobs.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of active jobs per location, kept up to date by ingest and expiry so
+ * location autocomplete never has to aggregate the jobs table.
+ */
+@Entity
+@Table(name = "location_facets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LocationFacet {
+    /**
+     * Lower-cased, trimmed location; spelling variants share one facet.
+     */
+    @Id
+    @Column(name = "normalized_location", length = 255)
+    private String normalizedLocation;
+
+    /**
+     * Display form, as first seen at ingest.
+     */
+    @Column(nullable = false, length = 255)
+    private String location;
+
+    @Column(name = "job_count", nullable = false)
+    private long jobCount;
+}
@@ -0,0 +1,38 @@
+package com.entry_level_jobs.repository;
+
+import com.entry_level_jobs.model.JobDescription;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository for content-addressed, compressed job descriptions.
+ */
+@Repository
+public interface JobDescriptionRepository extends JpaRepository<JobDescription, String> {
+    /**
+     * Hashes of descriptions no job refers to any more, created before the
+     * given time so rows written by an in-flight ingest are left alone
+     */
+    @Query("SELECT d.hash FROM JobDescription d WHERE d.createdAt < :createdBefore " +
+            "AND NOT EXISTS (SELECT 1 FROM Job j WHERE j.descriptionBody = d)")
+    List<String> findOrphanHashes(@Param("createdBefore") LocalDateTime createdBefore, Pageable pageable);
+
+    /**
+     * Insert a description unless a row with its hash exists, including one
+     * a concurrent transaction is inserting right now.
+     *
+     * @return 1 when inserted, 0 when the row already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO job_descriptions (hash, content, original_length, created_at) " +
+            "VALUES (:hash, :content, :originalLength, :createdAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("hash") String hash, @Param("content") byte[] content,
+            @Param("originalLength") int originalLength, @Param("createdAt") LocalDateTime createdAt);
+}
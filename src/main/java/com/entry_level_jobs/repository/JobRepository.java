@@ -1,14 +1,24 @@
 package com.entry_level_jobs.repository;
 
+import com.entry_level_jobs.dto.JobSummaryDTO;
 import com.entry_level_jobs.dto.LocationOption;
+import com.entry_level_jobs.language.JobLanguage;
+import com.entry_level_jobs.location.WorkMode;
 import com.entry_level_jobs.model.Job;
-import org.springframework.data.domain.Page;
+import com.entry_level_jobs.search.JobFilter;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -17,36 +27,190 @@ import java.util.Optional;
  */
 @Repository
 public interface JobRepository extends JpaRepository<Job, Long> {
+    String SUMMARY_FILTER = "WHERE j.active = true AND j.postedAt >= :postedSince " +
+            "AND (:keyword IS NULL OR LOWER(j.title) LIKE CONCAT(:keyword, '%') " +
+            "OR LOWER(j.title) LIKE CONCAT('% ', :keyword, '%') OR LOWER(j.title) LIKE CONCAT('%-', :keyword, '%') " +
+            "OR LOWER(j.title) LIKE CONCAT('%/', :keyword, '%')) " +
+            "AND (:location IS NULL OR LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%'))) " +
+            "AND (:anySource = false OR LOWER(TRIM(j.source)) IN :sources) " +
+            "AND (:anyLanguage = false OR j.language IN :languages) " +
+            "AND (:anyLocation = false OR LOWER(TRIM(j.location)) IN :locations) " +
+            "AND (:anyWorkMode = false OR j.workMode IN :workModes) " +
+            "AND (:anyCountry = false OR j.countryCode IN :countries) " +
+            "AND (:anyCity = false OR j.city IN :cities)";
+
     /**
      * Find a job by its URL
      */
     Optional<Job> findByUrl(String url);
 
     /**
-     * Find jobs by title keyword (case-insensitive)
+     * Find all jobs whose URL is in the given batch
      */
-    @Query("SELECT j FROM Job j WHERE LOWER(j.title) LIKE LOWER(CONCAT('%', :keyword, '%'))")
-    Page<Job> findByTitleKeyword(@Param("keyword") String keyword, Pageable pageable);
+    List<Job> findByUrlIn(Collection<String> urls);
+
+    /**
+     * Mark unchanged jobs as seen without loading or rewriting them; pushes
+     * their expiry out and reactivates them if they had expired
+     */
+    @Modifying
+    @Query("UPDATE Job j SET j.lastSeenAt = :seenAt, j.expiresAt = :expiresAt, j.active = true WHERE j.id IN :ids")
+    int touchLastSeen(@Param("ids") Collection<Long> ids, @Param("seenAt") LocalDateTime seenAt,
+            @Param("expiresAt") LocalDateTime expiresAt);
+
+    long countByActiveTrue();
 
     /**
-     * Find jobs by location (case-insensitive)
+     * Ids of active jobs past their expiry. Rows from before expiry tracking
+     * count as expired once they were last seen (or created) before
+     * {@code staleBefore}.
      */
-    @Query("SELECT j FROM Job j WHERE LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%'))")
-    Page<Job> findByLocationKeyword(@Param("location") String location, Pageable pageable);
+    @Query("SELECT j.id FROM Job j WHERE j.active = true AND (j.expiresAt < :now " +
+            "OR (j.expiresAt IS NULL AND COALESCE(j.lastSeenAt, j.createdAt) < :staleBefore))")
+    List<Long> findExpiredActiveIds(@Param("now") LocalDateTime now,
+            @Param("staleBefore") LocalDateTime staleBefore, Pageable pageable);
+
+    /**
+     * Active jobs per location among the given ids, for facet bookkeeping
+     */
+    @Query("SELECT new com.entry_level_jobs.dto.LocationOption(j.location, COUNT(j)) FROM Job j " +
+            "WHERE j.id IN :ids AND j.active = true AND j.location IS NOT NULL GROUP BY j.location")
+    List<LocationOption> countActiveByLocation(@Param("ids") Collection<Long> ids);
 
     /**
-     * Search distinct job locations for autocomplete/dropdown support.
+     * Active jobs per raw location, in location order. Facets are recounted
+     * from this so one normalization, {@code LocationFacetService.normalize},
+     * decides which spellings share a facet.
      */
     @Query("SELECT new com.entry_level_jobs.dto.LocationOption(j.location, COUNT(j)) FROM Job j " +
-            "WHERE j.location IS NOT NULL AND (:query IS NULL OR :query = '' OR LOWER(j.location) LIKE LOWER(CONCAT('%', :query, '%'))) "
-            +
-            "GROUP BY j.location " +
-            "ORDER BY COUNT(j) DESC, LOWER(j.location)")
-    Page<LocationOption> searchLocations(@Param("query") String query, Pageable pageable);
-
-    @Query("SELECT j FROM Job j WHERE LOWER(j.title) LIKE LOWER(CONCAT('%', :keyword, '%')) " +
-            "AND LOWER(j.location) LIKE LOWER(CONCAT('%', :location, '%'))")
-    Page<Job> findByTitleAndLocationKeyword(@Param("keyword") String keyword,
+            "WHERE j.active = true AND j.location IS NOT NULL GROUP BY j.location ORDER BY j.location")
+    List<LocationOption> countActiveLocations();
+
+    @Modifying
+    @Query("UPDATE Job j SET j.active = false WHERE j.id IN :ids AND j.active = true")
+    int deactivate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Jobs whose description still sits in the legacy inline column
+     */
+    @Query("SELECT j FROM Job j WHERE j.legacyDescription IS NOT NULL AND j.descriptionBody IS NULL")
+    List<Job> findWithInlineDescription(Pageable pageable);
+
+    /**
+     * Ids of inactive jobs expired before {@code expiredBefore} that no user has saved
+     */
+    @Query("SELECT j.id FROM Job j WHERE j.active = false " +
+            "AND COALESCE(j.expiresAt, j.lastSeenAt, j.createdAt) < :expiredBefore " +
+            "AND NOT EXISTS (SELECT 1 FROM SavedJob s WHERE s.job = j)")
+    List<Long> findPurgeableIds(@Param("expiredBefore") LocalDateTime expiredBefore, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Job j WHERE j.id IN :ids AND j.active = false")
+    int deleteInactive(@Param("ids") Collection<Long> ids);
+
+    /**
+     * List-view page of active jobs posted since the given time matching the
+     * filter: the keyword must start a title word, the location is a
+     * substring (both case-insensitive; {@link JobFilter} lower-cases them),
+     * the other filters match any of their values (equality on the extracted
+     * work mode, country and city columns), and all filters must match.
+     * Selects summary columns only, never the description. Returns a slice
+     * (one extra row tells whether a next page exists) so no count query
+     * runs; totals come from {@link #countSummaries} when a caller needs them.
+     */
+    default Slice<JobSummaryDTO> findSummaries(JobFilter filter, LocalDateTime postedSince, Pageable pageable) {
+        return findSummaries(filter.keyword(), filter.location(), postedSince,
+                orPlaceholder(filter.sources()), !filter.sources().isEmpty(),
+                filter.languages().isEmpty() ? EnumSet.allOf(JobLanguage.class) : filter.languages(),
+                !filter.languages().isEmpty(),
+                orPlaceholder(filter.locations()), !filter.locations().isEmpty(),
+                filter.workModes().isEmpty() ? EnumSet.allOf(WorkMode.class) : filter.workModes(),
+                !filter.workModes().isEmpty(),
+                orPlaceholder(filter.countries()), !filter.countries().isEmpty(),
+                orPlaceholder(filter.cities()), !filter.cities().isEmpty(), pageable);
+    }
+
+    default long countSummaries(JobFilter filter, LocalDateTime postedSince) {
+        return countSummaries(filter.keyword(), filter.location(), postedSince,
+                orPlaceholder(filter.sources()), !filter.sources().isEmpty(),
+                filter.languages().isEmpty() ? EnumSet.allOf(JobLanguage.class) : filter.languages(),
+                !filter.languages().isEmpty(),
+                orPlaceholder(filter.locations()), !filter.locations().isEmpty(),
+                filter.workModes().isEmpty() ? EnumSet.allOf(WorkMode.class) : filter.workModes(),
+                !filter.workModes().isEmpty(),
+                orPlaceholder(filter.countries()), !filter.countries().isEmpty(),
+                orPlaceholder(filter.cities()), !filter.cities().isEmpty());
+    }
+
+    /**
+     * Unused IN lists still need a value to bind; the matching flag keeps
+     * them from filtering.
+     */
+    private static Collection<String> orPlaceholder(Collection<String> values) {
+        return values.isEmpty() ? List.of("") : values;
+    }
+
+    @Query("SELECT new com.entry_level_jobs.dto.JobSummaryDTO(j.id, j.title, j.company, j.location, j.url, " +
+            "j.snippet, j.source, j.postedAt, j.createdAt, j.language, j.classificationScore, j.workMode, j.countryCode, j.city) FROM Job j " +
+            SUMMARY_FILTER)
+    Slice<JobSummaryDTO> findSummaries(@Param("keyword") String keyword,
             @Param("location") String location,
+            @Param("postedSince") LocalDateTime postedSince,
+            @Param("sources") Collection<String> sources,
+            @Param("anySource") boolean anySource,
+            @Param("languages") Collection<JobLanguage> languages,
+            @Param("anyLanguage") boolean anyLanguage,
+            @Param("locations") Collection<String> locations,
+            @Param("anyLocation") boolean anyLocation,
+            @Param("workModes") Collection<WorkMode> workModes,
+            @Param("anyWorkMode") boolean anyWorkMode,
+            @Param("countries") Collection<String> countries,
+            @Param("anyCountry") boolean anyCountry,
+            @Param("cities") Collection<String> cities,
+            @Param("anyCity") boolean anyCity,
             Pageable pageable);
+
+    /**
+     * Summaries of every active job posted since the given time, unordered.
+     * Source of the in-memory read model.
+     */
+    @Query("SELECT new com.entry_level_jobs.dto.JobSummaryDTO(j.id, j.title, j.company, j.location, j.url, " +
+            "j.snippet, j.source, j.postedAt, j.createdAt, j.language, j.classificationScore, j.workMode, j.countryCode, j.city) FROM Job j " +
+            "WHERE j.active = true AND j.postedAt >= :postedSince")
+    List<JobSummaryDTO> findActiveSummaries(@Param("postedSince") LocalDateTime postedSince);
+
+    /**
+     * Aggregate over the rows {@link #findActiveSummaries} would return, cheap
+     * enough to poll: inserts, expiry and reactivation move the count or the
+     * highest id, and changed or re-seen rows move the latest last-seen time.
+     */
+    @Query("SELECT COUNT(j) AS count, MAX(j.id) AS maxId, MAX(j.lastSeenAt) AS lastSeenAt FROM Job j " +
+            "WHERE j.active = true AND j.postedAt >= :postedSince")
+    ActiveJobsState findActiveState(@Param("postedSince") LocalDateTime postedSince);
+
+    @Query("SELECT COUNT(j) FROM Job j " + SUMMARY_FILTER)
+    long countSummaries(@Param("keyword") String keyword,
+            @Param("location") String location,
+            @Param("postedSince") LocalDateTime postedSince,
+            @Param("sources") Collection<String> sources,
+            @Param("anySource") boolean anySource,
+            @Param("languages") Collection<JobLanguage> languages,
+            @Param("anyLanguage") boolean anyLanguage,
+            @Param("locations") Collection<String> locations,
+            @Param("anyLocation") boolean anyLocation,
+            @Param("workModes") Collection<WorkMode> workModes,
+            @Param("anyWorkMode") boolean anyWorkMode,
+            @Param("countries") Collection<String> countries,
+            @Param("anyCountry") boolean anyCountry,
+            @Param("cities") Collection<String> cities,
+            @Param("anyCity") boolean anyCity);
+
+    interface ActiveJobsState {
+        long getCount();
+
+        Long getMaxId();
+
+        LocalDateTime getLastSeenAt();
+    }
 }
@@ -0,0 +1,59 @@
+package com.entry_level_jobs.repository;
+
+import com.entry_level_jobs.dto.LocationOption;
+import com.entry_level_jobs.model.LocationFacet;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Repository for per-location active job counts.
+ */
+@Repository
+public interface LocationFacetRepository extends JpaRepository<LocationFacet, String> {
+    /**
+     * Locations with active jobs matching the (already normalized) query,
+     * most common first. Reads only the facet table.
+     */
+    @Query(value = "SELECT new com.entry_level_jobs.dto.LocationOption(f.location, f.jobCount) FROM LocationFacet f " +
+            "WHERE f.jobCount > 0 AND (:query IS NULL OR f.normalizedLocation LIKE CONCAT('%', :query, '%')) " +
+            "ORDER BY f.jobCount DESC, f.normalizedLocation",
+            countQuery = "SELECT COUNT(f) FROM LocationFacet f " +
+                    "WHERE f.jobCount > 0 AND (:query IS NULL OR f.normalizedLocation LIKE CONCAT('%', :query, '%'))")
+    Page<LocationOption> search(@Param("query") String query, Pageable pageable);
+
+    /**
+     * Every location with active jobs, most common first. Feeds the in-memory
+     * autocomplete index.
+     */
+    @Query("SELECT new com.entry_level_jobs.dto.LocationOption(f.location, f.jobCount) FROM LocationFacet f " +
+            "WHERE f.jobCount > 0 ORDER BY f.jobCount DESC, f.normalizedLocation")
+    List<LocationOption> findActiveOptions();
+
+    @Modifying
+    @Query("UPDATE LocationFacet f SET f.jobCount = f.jobCount + :delta WHERE f.normalizedLocation = :normalized")
+    int adjust(@Param("normalized") String normalized, @Param("delta") long delta);
+
+    /**
+     * Create a facet unless it exists, waiting for a concurrent transaction
+     * creating the same one to finish.
+     *
+     * @return 1 when created, 0 when the facet already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO location_facets (normalized_location, location, job_count) " +
+            "VALUES (:normalized, :location, :jobCount) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int createIfAbsent(@Param("normalized") String normalized, @Param("location") String location,
+            @Param("jobCount") long jobCount);
+
+    // Bulk delete: clear the context so a rebuild inserts instead of updating deleted rows
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM LocationFacet f")
+    void deleteAllFacets();
+}
@@ -0,0 +1,47 @@
+package com.entry_level_jobs.repository;
+
+import com.entry_level_jobs.model.SchedulerLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Repository for scheduler leases. Updates are single conditional statements
+ * so that concurrent nodes cannot both win the same lease.
+ */
+@Repository
+public interface SchedulerLeaseRepository extends JpaRepository<SchedulerLease, String> {
+    /**
+     * Take over or renew a lease that is either ours or expired.
+     *
+     * @return 1 when the lease now belongs to {@code owner}, 0 otherwise
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.owner = :owner, l.leaseUntil = :leaseUntil " +
+            "WHERE l.name = :name AND (l.owner = :owner OR l.leaseUntil < :now)")
+    int acquire(@Param("name") String name, @Param("owner") String owner,
+            @Param("leaseUntil") Instant leaseUntil, @Param("now") Instant now);
+
+    /**
+     * Create a lease row; fails with a constraint violation if it already exists.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO scheduler_leases (name, owner, lease_until) VALUES (:name, :owner, :leaseUntil)",
+            nativeQuery = true)
+    void create(@Param("name") String name, @Param("owner") String owner, @Param("leaseUntil") Instant leaseUntil);
+
+    /**
+     * Move the expiry of a lease we own; does nothing if another node took it over.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE SchedulerLease l SET l.leaseUntil = :leaseUntil WHERE l.name = :name AND l.owner = :owner")
+    int extend(@Param("name") String name, @Param("owner") String owner, @Param("leaseUntil") Instant leaseUntil);
+}
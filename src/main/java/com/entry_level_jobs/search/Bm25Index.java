@@ -0,0 +1,204 @@
+package com.entry_level_jobs.search;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable term-statistics index for BM25F relevance scoring over two
+ * fields, title and body. Each term keeps the ordinals of the rows
+ * containing it with the term's frequency in each field; each row keeps its
+ * length normalization per field, so scoring a query only walks the
+ * postings of its terms. Query tokens match as word prefixes like
+ * {@link InvertedIndex}; the exact term scores fully and longer terms
+ * sharing the prefix at a discount and never above the exact term's
+ * weight, so "java" ranks "Java" above "JavaScript".
+ */
+public final class Bm25Index {
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final double PREFIX_WEIGHT = 0.5;
+    // A short prefix like "d" would otherwise expand to most of the vocabulary
+    private static final int MAX_PREFIX_EXPANSIONS = 32;
+    private static final int MAX_FREQUENCY = 0xFFFF;
+
+    private final String[] terms;
+    private final int[][] postings;
+    // Per posting: title frequency in the high 16 bits, body frequency in the low 16
+    private final int[][] frequencies;
+    private final float[] titleNorms;
+    private final float[] bodyNorms;
+
+    private Bm25Index(String[] terms, int[][] postings, int[][] frequencies, float[] titleNorms,
+            float[] bodyNorms) {
+        this.terms = terms;
+        this.postings = postings;
+        this.frequencies = frequencies;
+        this.titleNorms = titleNorms;
+        this.bodyNorms = bodyNorms;
+    }
+
+    public static Bm25Index build(String[] titles, String[] bodies) {
+        int size = titles.length;
+        Map<String, Postings> byTerm = new HashMap<>();
+        int[] titleLengths = new int[size];
+        int[] bodyLengths = new int[size];
+        long titleTotal = 0;
+        long bodyTotal = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            List<String> titleTokens = TextNormalizer.tokenize(titles[ordinal]);
+            List<String> bodyTokens = TextNormalizer.tokenize(bodies[ordinal]);
+            for (String token : titleTokens) {
+                byTerm.computeIfAbsent(token, t -> new Postings()).add(ordinal, 1 << 16);
+            }
+            for (String token : bodyTokens) {
+                byTerm.computeIfAbsent(token, t -> new Postings()).add(ordinal, 1);
+            }
+            titleLengths[ordinal] = titleTokens.size();
+            bodyLengths[ordinal] = bodyTokens.size();
+            titleTotal += titleTokens.size();
+            bodyTotal += bodyTokens.size();
+        }
+
+        String[] terms = byTerm.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[][] postings = new int[terms.length][];
+        int[][] frequencies = new int[terms.length][];
+        for (int i = 0; i < terms.length; i++) {
+            Postings list = byTerm.get(terms[i]);
+            postings[i] = Arrays.copyOf(list.ordinals, list.length);
+            frequencies[i] = Arrays.copyOf(list.frequencies, list.length);
+        }
+        return new Bm25Index(terms, postings, frequencies, norms(titleLengths, titleTotal),
+                norms(bodyLengths, bodyTotal));
+    }
+
+    /**
+     * Add the BM25F score of {@code query} to {@code scores[ordinal]} for
+     * every row in {@code within}; other rows are left alone.
+     *
+     * @param titleBoost weight of a title occurrence relative to a body one
+     */
+    public void score(String query, double titleBoost, BitSet within, float[] scores) {
+        double size = titleNorms.length;
+        for (String token : TextNormalizer.tokenize(query)) {
+            int from = lowerBound(token);
+            int to = from;
+            while (to < terms.length && to - from < MAX_PREFIX_EXPANSIONS && terms[to].startsWith(token)) {
+                to++;
+            }
+            boolean exact = from < to && terms[from].length() == token.length();
+            // A rarer expansion must not outscore the word actually typed
+            double exactIdf = exact ? idf(size, postings[from].length) : Double.MAX_VALUE;
+            for (int t = from; t < to; t++) {
+                int[] ordinals = postings[t];
+                int[] termFrequencies = frequencies[t];
+                double weight = exact && t == from ? exactIdf
+                        : Math.min(idf(size, ordinals.length), exactIdf) * PREFIX_WEIGHT;
+                for (int p = 0; p < ordinals.length; p++) {
+                    int ordinal = ordinals[p];
+                    if (!within.get(ordinal)) {
+                        continue;
+                    }
+                    int packed = termFrequencies[p];
+                    double tf = titleBoost * (packed >>> 16) / titleNorms[ordinal]
+                            + (packed & MAX_FREQUENCY) / bodyNorms[ordinal];
+                    scores[ordinal] += (float) (weight * tf * (K1 + 1) / (tf + K1));
+                }
+            }
+        }
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    /**
+     * Position of {@code term} in the sorted dictionary, or -1.
+     */
+    int termId(String term) {
+        int position = lowerBound(term);
+        return position < terms.length && terms[position].equals(term) ? position : -1;
+    }
+
+    /**
+     * Dictionary positions matched by the tokens of {@code query}, as start
+     * and end (exclusive) pairs: every term a token is a prefix of sorts
+     * into one run.
+     */
+    int[] termRanges(String query) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        int[] ranges = new int[tokens.size() * 2];
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            int from = lowerBound(token);
+            int to = from;
+            while (to < terms.length && terms[to].startsWith(token)) {
+                to++;
+            }
+            ranges[2 * i] = from;
+            ranges[2 * i + 1] = to;
+        }
+        return ranges;
+    }
+
+    private static double idf(double size, double df) {
+        return Math.log(1 + (size - df + 0.5) / (df + 0.5));
+    }
+
+    /**
+     * BM25 length normalization {@code 1 - b + b * length / average} per row.
+     */
+    private static float[] norms(int[] lengths, long total) {
+        double average = lengths.length == 0 || total == 0 ? 1 : (double) total / lengths.length;
+        float[] norms = new float[lengths.length];
+        for (int i = 0; i < lengths.length; i++) {
+            norms[i] = (float) (1 - B + B * lengths[i] / average);
+        }
+        return norms;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Growing posting list; rows are added in ordinal order, so repeats of a
+     * term within a row only bump the last entry's frequency.
+     */
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int length;
+
+        void add(int ordinal, int increment) {
+            if (length > 0 && ordinals[length - 1] == ordinal) {
+                int packed = frequencies[length - 1];
+                boolean title = increment > MAX_FREQUENCY;
+                int current = title ? packed >>> 16 : packed & MAX_FREQUENCY;
+                if (current < MAX_FREQUENCY) {
+                    frequencies[length - 1] = packed + increment;
+                }
+                return;
+            }
+            if (length == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, length * 2);
+                frequencies = Arrays.copyOf(frequencies, length * 2);
+            }
+            ordinals[length] = ordinal;
+            frequencies[length++] = increment;
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.entry_level_jobs.search;
+
+import java.util.Arrays;
+
+/**
+ * Where each dictionary term occurs in every title and body, recorded when
+ * the snapshot is built so highlighting a page only compares term ids. Each
+ * row keeps one flat array per field of (term id, start, end) triples;
+ * offsets are in UTF-16 units of the original text, which is how browsers
+ * index strings, and cover accented letters whole.
+ */
+final class HighlightIndex {
+    private static final int[] NONE = new int[0];
+
+    private final int[][] titleOccurrences;
+    private final int[][] bodyOccurrences;
+
+    private HighlightIndex(int[][] titleOccurrences, int[][] bodyOccurrences) {
+        this.titleOccurrences = titleOccurrences;
+        this.bodyOccurrences = bodyOccurrences;
+    }
+
+    static HighlightIndex build(String[] titles, String[] bodies, Bm25Index dictionary) {
+        int[][] titleOccurrences = new int[titles.length][];
+        int[][] bodyOccurrences = new int[bodies.length][];
+        for (int ordinal = 0; ordinal < titles.length; ordinal++) {
+            titleOccurrences[ordinal] = occurrences(titles[ordinal], dictionary);
+            bodyOccurrences[ordinal] = occurrences(bodies[ordinal], dictionary);
+        }
+        return new HighlightIndex(titleOccurrences, bodyOccurrences);
+    }
+
+    /**
+     * Start and end pairs of the title words matched by {@code termRanges}
+     * (see {@link Bm25Index#termRanges}), in text order.
+     */
+    int[] title(int ordinal, int[] termRanges) {
+        return matches(titleOccurrences[ordinal], termRanges);
+    }
+
+    int[] body(int ordinal, int[] termRanges) {
+        return matches(bodyOccurrences[ordinal], termRanges);
+    }
+
+    private static int[] occurrences(String text, Bm25Index dictionary) {
+        int[] spans = TextNormalizer.tokenSpans(text);
+        int[] occurrences = new int[spans.length / 2 * 3];
+        int count = 0;
+        for (int s = 0; s < spans.length; s += 2) {
+            String token = TextNormalizer.fold(text.substring(spans[s], spans[s + 1]));
+            int termId = token == null ? -1 : dictionary.termId(token);
+            if (termId >= 0) {
+                occurrences[count++] = termId;
+                occurrences[count++] = spans[s];
+                occurrences[count++] = spans[s + 1];
+            }
+        }
+        return count == 0 ? NONE : Arrays.copyOf(occurrences, count);
+    }
+
+    private static int[] matches(int[] occurrences, int[] termRanges) {
+        int[] spans = new int[occurrences.length / 3 * 2];
+        int count = 0;
+        for (int o = 0; o < occurrences.length; o += 3) {
+            int termId = occurrences[o];
+            for (int r = 0; r < termRanges.length; r += 2) {
+                if (termId >= termRanges[r] && termId < termRanges[r + 1]) {
+                    spans[count++] = occurrences[o + 1];
+                    spans[count++] = occurrences[o + 2];
+                    break;
+                }
+            }
+        }
+        return Arrays.copyOf(spans, count);
+    }
+}
@@ -0,0 +1,340 @@
+package com.entry_level_jobs.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable token index over a column of texts. Each term maps to a sorted
+ * array of the ordinals (row positions) of the texts containing it. Query
+ * terms match as word prefixes, so "dev" finds "Developer" the way the SQL
+ * substring filter would. Matches for several terms are intersected by
+ * galloping through the longer lists from the shortest one.
+ *
+ * <p>Terms are also indexed by their trigrams, so a misspelled query word
+ * can be corrected to the closest term of the dictionary: trigrams shared
+ * with the word pick a few candidates and only those are compared by edit
+ * distance.
+ */
+public final class InvertedIndex {
+    private static final int[] NONE = new int[0];
+    // Terms with enough shared trigrams still compared by edit distance per word
+    private static final int MAX_FUZZY_CANDIDATES = 64;
+
+    private final String[] terms;
+    private final int[][] postings;
+    private final int size;
+    private final String[] trigrams;
+    private final int[][] trigramTerms;
+
+    private InvertedIndex(String[] terms, int[][] postings, int size, String[] trigrams, int[][] trigramTerms) {
+        this.terms = terms;
+        this.postings = postings;
+        this.size = size;
+        this.trigrams = trigrams;
+        this.trigramTerms = trigramTerms;
+    }
+
+    public static InvertedIndex build(String[] texts) {
+        Map<String, IntList> byTerm = new HashMap<>();
+        for (int ordinal = 0; ordinal < texts.length; ordinal++) {
+            for (String token : TextNormalizer.tokenize(texts[ordinal])) {
+                byTerm.computeIfAbsent(token, t -> new IntList()).addOnce(ordinal);
+            }
+        }
+        String[] terms = byTerm.keySet().toArray(new String[0]);
+        Arrays.sort(terms);
+        int[][] postings = new int[terms.length][];
+        Map<String, IntList> byTrigram = new HashMap<>();
+        for (int i = 0; i < terms.length; i++) {
+            postings[i] = byTerm.get(terms[i]).toArray();
+            for (String trigram : trigrams(terms[i])) {
+                byTrigram.computeIfAbsent(trigram, t -> new IntList()).addOnce(i);
+            }
+        }
+        String[] trigrams = byTrigram.keySet().toArray(new String[0]);
+        Arrays.sort(trigrams);
+        int[][] trigramTerms = new int[trigrams.length][];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigramTerms[i] = byTrigram.get(trigrams[i]).toArray();
+        }
+        return new InvertedIndex(terms, postings, texts.length, trigrams, trigramTerms);
+    }
+
+    /**
+     * Ordinals of the texts in which every token of {@code query} starts a
+     * word, ascending. Null when the query has no tokens.
+     */
+    public int[] search(String query) {
+        List<String> tokens = TextNormalizer.tokenize(query);
+        if (tokens.isEmpty()) {
+            return null;
+        }
+        List<int[]> lists = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            int[] matches = prefixMatches(token);
+            if (matches.length == 0) {
+                return NONE;
+            }
+            lists.add(matches);
+        }
+        lists.sort(Comparator.comparingInt(list -> list.length));
+        int[] result = lists.get(0);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = intersect(result, lists.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * {@code query} with each word that starts no term replaced by the
+     * closest term within {@link #maxEdits} edits, fewest edits first and
+     * then the most frequent term. Candidates must start with the same
+     * letter: typos there are rare, and it keeps "senior" from becoming
+     * "junior". Null when every word already matches or some word has no
+     * close term, since correcting it would not help.
+     */
+    public String correct(String query) {
+        List<String> tokens = new ArrayList<>(TextNormalizer.tokenize(query));
+        boolean corrected = false;
+        for (int i = 0; i < tokens.size(); i++) {
+            String token = tokens.get(i);
+            if (hasPrefix(token)) {
+                continue;
+            }
+            String closest = closestTerm(token);
+            if (closest == null) {
+                return null;
+            }
+            tokens.set(i, closest);
+            corrected = true;
+        }
+        return corrected ? String.join(" ", tokens) : null;
+    }
+
+    public int termCount() {
+        return terms.length;
+    }
+
+    /**
+     * Typos tolerated in a word: none up to four letters, where one edit
+     * makes most words into other words, one up to eight and two beyond.
+     */
+    static int maxEdits(int length) {
+        return length <= 4 ? 0 : length <= 8 ? 1 : 2;
+    }
+
+    private boolean hasPrefix(String prefix) {
+        int from = lowerBound(prefix);
+        return from < terms.length && terms[from].startsWith(prefix);
+    }
+
+    private String closestTerm(String token) {
+        int maxEdits = maxEdits(token.length());
+        if (maxEdits == 0) {
+            return null;
+        }
+        // One edit changes at most four trigrams (a swap), so closer terms share at least this many
+        List<String> tokenTrigrams = trigrams(token);
+        int minShared = tokenTrigrams.size() - 4 * maxEdits;
+        Map<Integer, Integer> shared = new HashMap<>();
+        for (String trigram : tokenTrigrams) {
+            int position = Arrays.binarySearch(trigrams, trigram);
+            if (position < 0) {
+                continue;
+            }
+            for (int term : trigramTerms[position]) {
+                String candidate = terms[term];
+                if (candidate.charAt(0) == token.charAt(0)
+                        && Math.abs(candidate.length() - token.length()) <= maxEdits) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+        }
+
+        List<Map.Entry<Integer, Integer>> candidates = new ArrayList<>();
+        for (Map.Entry<Integer, Integer> entry : shared.entrySet()) {
+            if (entry.getValue() >= Math.max(minShared, 1)) {
+                candidates.add(entry);
+            }
+        }
+        candidates.sort(Map.Entry.<Integer, Integer>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+
+        String best = null;
+        int bestDistance = maxEdits + 1;
+        int bestFrequency = 0;
+        for (int c = 0; c < Math.min(candidates.size(), MAX_FUZZY_CANDIDATES); c++) {
+            int term = candidates.get(c).getKey();
+            int distance = editDistance(token, terms[term], maxEdits);
+            if (distance > maxEdits) {
+                continue;
+            }
+            if (distance < bestDistance || (distance == bestDistance && postings[term].length > bestFrequency)) {
+                best = terms[term];
+                bestDistance = distance;
+                bestFrequency = postings[term].length;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Distinct trigrams of {@code term} padded with a boundary marker, so
+     * first and last letters weigh as much as inner ones.
+     */
+    private static List<String> trigrams(String term) {
+        String padded = "$" + term + "$";
+        List<String> result = new ArrayList<>(padded.length());
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            String trigram = padded.substring(i, i + 3);
+            if (!result.contains(trigram)) {
+                result.add(trigram);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Edits (insertions, deletions, substitutions and swaps of neighbouring
+     * letters) turning {@code a} into {@code b}, or {@code max + 1} as soon
+     * as it is known to exceed {@code max}.
+     */
+    static int editDistance(String a, String b, int max) {
+        int[] beforePrevious = new int[b.length() + 1];
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                int value = Math.min(Math.min(previous[j] + 1, current[j - 1] + 1), previous[j - 1] + cost);
+                if (i > 1 && j > 1 && a.charAt(i - 1) == b.charAt(j - 2) && a.charAt(i - 2) == b.charAt(j - 1)) {
+                    value = Math.min(value, beforePrevious[j - 2] + 1);
+                }
+                current[j] = value;
+                rowMin = Math.min(rowMin, value);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] recycled = beforePrevious;
+            beforePrevious = previous;
+            previous = current;
+            current = recycled;
+        }
+        return Math.min(previous[b.length()], max + 1);
+    }
+
+    /**
+     * Union of the postings of every term starting with {@code prefix}.
+     */
+    private int[] prefixMatches(String prefix) {
+        int from = lowerBound(prefix);
+        int to = from;
+        while (to < terms.length && terms[to].startsWith(prefix)) {
+            to++;
+        }
+        if (to - from == 0) {
+            return NONE;
+        }
+        if (to - from == 1) {
+            return postings[from];
+        }
+        BitSet union = new BitSet(size);
+        for (int t = from; t < to; t++) {
+            for (int ordinal : postings[t]) {
+                union.set(ordinal);
+            }
+        }
+        return union.stream().toArray();
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = terms.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (terms[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Intersection of two ascending arrays. Walks the shorter one and
+     * gallops (exponential then binary search) through the longer, so
+     * a rare term against a common one costs O(small * log(large)).
+     */
+    static int[] intersect(int[] a, int[] b) {
+        int[] small = a.length <= b.length ? a : b;
+        int[] large = small == a ? b : a;
+        int[] out = new int[small.length];
+        int count = 0;
+        int position = 0;
+        for (int value : small) {
+            position = gallop(large, position, value);
+            if (position == large.length) {
+                break;
+            }
+            if (large[position] == value) {
+                out[count++] = value;
+            }
+        }
+        return count == out.length ? out : Arrays.copyOf(out, count);
+    }
+
+    /**
+     * First index at or after {@code from} whose value is {@code >= target}.
+     */
+    private static int gallop(int[] values, int from, int target) {
+        int step = 1;
+        int high = from;
+        while (high < values.length && values[high] < target) {
+            from = high + 1;
+            high += step;
+            step <<= 1;
+        }
+        int low = from;
+        high = Math.min(high, values.length);
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (values[mid] < target) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static final class IntList {
+        private int[] values = new int[4];
+        private int length;
+
+        void addOnce(int value) {
+            if (length > 0 && values[length - 1] == value) {
+                return;
+            }
+            if (length == values.length) {
+                values = Arrays.copyOf(values, length * 2);
+            }
+            values[length++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, length);
+        }
+    }
+}
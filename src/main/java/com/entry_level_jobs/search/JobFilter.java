@@ -0,0 +1,86 @@
+package com.entry_level_jobs.search;
+
+import com.entry_level_jobs.language.JobLanguage;
+import com.entry_level_jobs.location.LocationDictionary;
+import com.entry_level_jobs.location.WorkMode;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Filters of a feed query. {@code keyword} matches at the start of title
+ * words and {@code location} is a substring, both case-insensitive; the
+ * facet filters match any of their values (OR) and different filters must
+ * all match (AND). Empty sets and nulls mean "no filter". Values are
+ * normalized on construction, so equal filters make equal cache keys:
+ * sources and locations are trimmed and lower-cased, countries become ISO
+ * codes and cities their canonical name.
+ *
+ * @param postedWithinDays only jobs posted in the last this many days, on top
+ *                         of the listing window
+ */
+public record JobFilter(String keyword, String location, Set<String> sources, Set<JobLanguage> languages,
+        Set<String> locations, Set<WorkMode> workModes, Set<String> countries, Set<String> cities,
+        Integer postedWithinDays) {
+
+    public JobFilter {
+        keyword = lower(keyword);
+        location = lower(location);
+        sources = normalize(sources, JobFilter::facetKey);
+        languages = languages == null ? Set.of() : Set.copyOf(languages);
+        locations = normalize(locations, JobFilter::facetKey);
+        workModes = workModes == null ? Set.of() : Set.copyOf(workModes);
+        // Unknown names are kept so they match nothing rather than widening the filter
+        countries = normalize(countries, value -> Objects.requireNonNullElse(
+                LocationDictionary.countryCode(value), value.trim().toUpperCase(Locale.ROOT)));
+        cities = normalize(cities, LocationDictionary::cityName);
+    }
+
+    public static JobFilter of(String keyword, String location) {
+        return new JobFilter(keyword, location, null, null, null, null, null, null, null);
+    }
+
+    /**
+     * Start of the time range to list: the later of the listing window start
+     * and {@code postedWithinDays} before {@code now}.
+     */
+    public LocalDateTime postedSince(LocalDateTime windowStart, LocalDateTime now) {
+        if (postedWithinDays == null) {
+            return windowStart;
+        }
+        LocalDateTime withinDays = now.minusDays(postedWithinDays);
+        return withinDays.isAfter(windowStart) ? withinDays : windowStart;
+    }
+
+    /**
+     * Key a source or location value is matched by: trimmed and lower-cased,
+     * or null when blank.
+     */
+    public static String facetKey(String value) {
+        if (value == null) {
+            return null;
+        }
+        String trimmed = value.trim();
+        return trimmed.isEmpty() ? null : trimmed.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> normalize(Collection<String> values, Function<String, String> normalizer) {
+        if (values == null) {
+            return Set.of();
+        }
+        return values.stream()
+                .filter(value -> value != null && !value.isBlank())
+                .map(normalizer)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+}
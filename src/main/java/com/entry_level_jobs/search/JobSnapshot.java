@@ -0,0 +1,504 @@
+package com.entry_level_jobs.search;
+
+import com.entry_level_jobs.dto.FacetCount;
+import com.entry_level_jobs.dto.JobSummaryDTO;
+import com.entry_level_jobs.language.JobLanguage;
+import com.entry_level_jobs.location.WorkMode;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable, column-oriented copy of the active job summaries, sorted the
+ * way the feed lists them (newest {@code postedAt}, then {@code createdAt},
+ * then id). Timestamps and ids live in primitive arrays and repeated values
+ * such as company, location and source share one String instance, so a
+ * snapshot of tens of thousands of jobs stays compact. Instances are never
+ * modified after {@link #build}, so any number of threads can query one
+ * without locking.
+ *
+ * <p>Source, language, location, work mode, country and city are facets: each value keeps a
+ * bitmap of the rows that have it, so filters combine with a few word-wide
+ * ANDs and ORs instead of a scan, and the facet counts of a result set come
+ * from one pass over its bits.
+ */
+public final class JobSnapshot {
+    public static final String SOURCE = "source";
+    public static final String LANGUAGE = "language";
+    public static final String LOCATION = "location";
+    public static final String WORK_MODE = "workMode";
+    public static final String COUNTRY = "country";
+    public static final String CITY = "city";
+    public static final int SUGGEST_TOP_K = 10;
+
+    private static final long NO_TIME = Long.MIN_VALUE;
+    private static final int NO_SCORE = Integer.MIN_VALUE;
+    private static final double MICROS_PER_DAY = 86_400_000_000d;
+    // Locations and cities are open-ended; the sidebar only shows the most frequent
+    private static final int MAX_PLACE_FACETS = 20;
+    private static final double SUGGEST_HALF_LIFE_DAYS = 14;
+    private static final String WORD_SEPARATORS = " -/";
+    // Per-thread BM25 accumulator, grown to the largest snapshot and reused across queries
+    private static final ThreadLocal<float[]> SCORE_BUFFER = ThreadLocal.withInitial(() -> new float[0]);
+
+    private final long[] ids;
+    private final long[] postedAt;
+    private final long[] createdAt;
+    private final String[] titles;
+    private final String[] companies;
+    private final String[] locations;
+    private final String[] urls;
+    private final String[] snippets;
+    private final String[] sources;
+    private final JobLanguage[] languages;
+    private final int[] scores;
+    private final WorkMode[] workModes;
+    private final String[] countryCodes;
+    private final String[] cities;
+    // Lower-cased titles for keywords the index cannot answer
+    private final String[] titleKeys;
+    private final InvertedIndex titleIndex;
+    private final Bm25Index relevanceIndex;
+    private final HighlightIndex highlightIndex;
+    private final TitleSuggester titleSuggester;
+    private final FacetColumn sourceFacet;
+    private final FacetColumn languageFacet;
+    private final FacetColumn locationFacet;
+    private final FacetColumn workModeFacet;
+    private final FacetColumn countryFacet;
+    private final FacetColumn cityFacet;
+
+    private JobSnapshot(List<JobSummaryDTO> sorted) {
+        int size = sorted.size();
+        ids = new long[size];
+        postedAt = new long[size];
+        createdAt = new long[size];
+        titles = new String[size];
+        companies = new String[size];
+        locations = new String[size];
+        urls = new String[size];
+        snippets = new String[size];
+        sources = new String[size];
+        languages = new JobLanguage[size];
+        scores = new int[size];
+        workModes = new WorkMode[size];
+        countryCodes = new String[size];
+        cities = new String[size];
+        titleKeys = new String[size];
+        sourceFacet = new FacetColumn(SOURCE, size);
+        languageFacet = new FacetColumn(LANGUAGE, size);
+        locationFacet = new FacetColumn(LOCATION, size);
+        workModeFacet = new FacetColumn(WORK_MODE, size);
+        countryFacet = new FacetColumn(COUNTRY, size);
+        cityFacet = new FacetColumn(CITY, size);
+
+        Map<String, String> pool = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            JobSummaryDTO job = sorted.get(i);
+            ids[i] = job.getId() == null ? 0 : job.getId();
+            postedAt[i] = micros(job.getPostedAt());
+            createdAt[i] = micros(job.getCreatedAt());
+            titles[i] = job.getTitle();
+            companies[i] = share(pool, job.getCompany());
+            locations[i] = share(pool, job.getLocation());
+            urls[i] = job.getUrl();
+            snippets[i] = job.getSnippet();
+            sources[i] = share(pool, job.getSource());
+            languages[i] = job.getLanguage();
+            scores[i] = job.getScore() == null ? NO_SCORE : job.getScore();
+            workModes[i] = job.getWorkMode();
+            countryCodes[i] = share(pool, job.getCountryCode());
+            cities[i] = share(pool, job.getCity());
+            titleKeys[i] = lower(job.getTitle());
+
+            sourceFacet.add(i, JobFilter.facetKey(sources[i]), trim(sources[i]));
+            String language = languages[i] == null ? null : languages[i].name();
+            languageFacet.add(i, language, language);
+            locationFacet.add(i, JobFilter.facetKey(locations[i]), trim(locations[i]));
+            String workMode = workModes[i] == null ? null : workModes[i].name();
+            workModeFacet.add(i, workMode, workMode);
+            countryFacet.add(i, countryCodes[i], countryCodes[i]);
+            cityFacet.add(i, cities[i], cities[i]);
+        }
+        // Ordinals follow feed order, so matches come out of the index already sorted by recency
+        titleIndex = InvertedIndex.build(titles);
+        relevanceIndex = Bm25Index.build(titles, snippets);
+        highlightIndex = HighlightIndex.build(titles, snippets, relevanceIndex);
+        // Phrase order only depends on age differences, so ages count from the newest job
+        double[] ageDays = new double[size];
+        for (int i = 0; i < size; i++) {
+            ageDays[i] = postedAt[i] == NO_TIME ? Double.MAX_VALUE : (postedAt[0] - postedAt[i]) / MICROS_PER_DAY;
+        }
+        titleSuggester = TitleSuggester.build(titles, ageDays, SUGGEST_TOP_K, SUGGEST_HALF_LIFE_DAYS);
+    }
+
+    public static JobSnapshot build(List<JobSummaryDTO> jobs) {
+        List<JobSummaryDTO> sorted = new ArrayList<>(jobs);
+        sorted.sort(Comparator.comparingLong((JobSummaryDTO job) -> micros(job.getPostedAt()))
+                .thenComparingLong(job -> micros(job.getCreatedAt()))
+                .thenComparingLong(job -> job.getId() == null ? Long.MIN_VALUE : job.getId())
+                .reversed());
+        return new JobSnapshot(sorted);
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Title phrases for keyword autocomplete, at most {@link #SUGGEST_TOP_K};
+     * see {@link TitleSuggester}.
+     */
+    public TitleSuggester.Matches suggestTitles(String query, int limit) {
+        return titleSuggester.suggest(query, limit);
+    }
+
+    /**
+     * {@link #query(JobFilter, LocalDateTime, int, int, boolean, Ranking, boolean)}
+     * in feed order and without highlights.
+     */
+    public Result query(JobFilter filter, LocalDateTime postedSince, long offset, int limit, boolean withFacets) {
+        return query(filter, postedSince, offset, limit, withFacets, null, false);
+    }
+
+    /**
+     * One page of jobs posted since {@code postedSince} matching the filter,
+     * in feed order, with the total number of matches. A keyword made of
+     * plain words is answered from the title index: every word must start a
+     * word of the title, accents and case ignored. A word that starts no
+     * title word is taken as a typo and replaced by the closest title word
+     * when there is one, so "intership" finds internships. Other keywords,
+     * such as "c++", must appear case-insensitively where the title or a
+     * word after a space, hyphen or slash starts, the rule the repository's
+     * summary query uses for every keyword until the first snapshot is built
+     * (as one phrase, without accent folding or typo correction). The
+     * location filter is a case-insensitive substring match.
+     *
+     * <p>With a {@link Ranking} and a keyword, the page holds the best
+     * matches instead: every match is scored with BM25F over title and
+     * snippet times a recency factor, and only the top
+     * {@code offset + limit + 1} are kept in a bounded heap, never more than
+     * there are matches. Without a keyword there is nothing to rank and the
+     * feed order is kept. An offset past the last match gives an empty page
+     * without touching the rows.
+     *
+     * <p>With {@code withHighlights} and a plain-word keyword, each job on
+     * the page carries the offsets of the title and snippet words the
+     * keyword matched, looked up from the occurrences recorded at build.
+     *
+     * <p>Facet counts, when asked for, are computed the way filter sidebars
+     * expect: the counts of a facet apply every filter except that facet's
+     * own, so the other values of a facet already filtered on still show how
+     * many jobs selecting them as well would add.
+     */
+    public Result query(JobFilter filter, LocalDateTime postedSince, long offset, int limit, boolean withFacets,
+            Ranking ranking, boolean withHighlights) {
+        String keyword = filter.keyword();
+        String corrected = keyword != null && TextNormalizer.isPlainWords(keyword)
+                ? titleIndex.correct(keyword)
+                : null;
+        if (corrected != null) {
+            keyword = corrected;
+        }
+        BitSet base = new BitSet(ids.length);
+        base.set(0, windowEnd(micros(postedSince)));
+        if (keyword != null) {
+            matchKeyword(base, keyword);
+        }
+        if (filter.location() != null) {
+            base.and(locationFacet.selectContaining(filter.location()));
+        }
+
+        FacetColumn[] columns = { sourceFacet, languageFacet, locationFacet, workModeFacet, countryFacet,
+                cityFacet };
+        BitSet[] selections = {
+                sourceFacet.select(filter.sources()),
+                languageFacet.select(names(filter.languages())),
+                locationFacet.select(filter.locations()),
+                workModeFacet.select(names(filter.workModes())),
+                countryFacet.select(filter.countries()),
+                cityFacet.select(filter.cities()) };
+        BitSet matches = restrict(base, selections, -1);
+        int total = matches.cardinality();
+
+        int[] highlightTerms = withHighlights && keyword != null && TextNormalizer.isPlainWords(keyword)
+                ? relevanceIndex.termRanges(keyword)
+                : null;
+        List<JobSummaryDTO> content = new ArrayList<>(Math.min(limit, 100));
+        boolean hasNext;
+        if (offset >= total) {
+            hasNext = false;
+        } else if (ranking != null && keyword != null) {
+            // offset < total, so the narrowing below is safe
+            int[] ranked = rank(matches, keyword, ranking, (int) Math.min(offset + limit + 1, total));
+            for (int r = (int) offset; r < ranked.length && content.size() < limit; r++) {
+                content.add(summary(ranked[r], highlightTerms));
+            }
+            hasNext = offset + limit < total;
+        } else {
+            int i = matches.nextSetBit(0);
+            for (int skipped = 0; i >= 0 && skipped < offset; skipped++) {
+                i = matches.nextSetBit(i + 1);
+            }
+            for (; i >= 0 && content.size() < limit; i = matches.nextSetBit(i + 1)) {
+                content.add(summary(i, highlightTerms));
+            }
+            hasNext = i >= 0;
+        }
+
+        Map<String, List<FacetCount>> facets = null;
+        if (withFacets) {
+            facets = new LinkedHashMap<>();
+            for (int c = 0; c < columns.length; c++) {
+                int max = columns[c] == locationFacet || columns[c] == cityFacet ? MAX_PLACE_FACETS
+                        : Integer.MAX_VALUE;
+                facets.put(columns[c].name, columns[c].count(restrict(base, selections, c), max));
+            }
+        }
+        return new Result(content, hasNext, total, facets, corrected);
+    }
+
+    /**
+     * The {@code k} best of {@code matches} for {@code keyword}, best first.
+     */
+    private int[] rank(BitSet matches, String keyword, Ranking ranking, int k) {
+        float[] scores = SCORE_BUFFER.get();
+        if (scores.length < ids.length) {
+            scores = new float[ids.length];
+            SCORE_BUFFER.set(scores);
+        }
+        long now = micros(ranking.now());
+        TopK top = new TopK(k);
+        try {
+            relevanceIndex.score(keyword, ranking.titleBoost(), matches, scores);
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                double ageDays = postedAt[i] == NO_TIME ? Double.MAX_VALUE : (now - postedAt[i]) / MICROS_PER_DAY;
+                top.offer(i, (float) (scores[i] * ranking.recencyFactor(ageDays)));
+            }
+        } finally {
+            // Scoring only writes matched rows, so clearing those leaves the buffer zeroed
+            for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+                scores[i] = 0;
+            }
+        }
+        return top.sorted();
+    }
+
+    /**
+     * {@code base} narrowed by every non-null selection except the one at
+     * {@code skip}.
+     */
+    private static BitSet restrict(BitSet base, BitSet[] selections, int skip) {
+        BitSet rows = (BitSet) base.clone();
+        for (int s = 0; s < selections.length; s++) {
+            if (s != skip && selections[s] != null) {
+                rows.and(selections[s]);
+            }
+        }
+        return rows;
+    }
+
+    private void matchKeyword(BitSet rows, String keyword) {
+        int[] candidates = TextNormalizer.isPlainWords(keyword) ? titleIndex.search(keyword) : null;
+        if (candidates != null) {
+            BitSet indexed = new BitSet(ids.length);
+            for (int candidate : candidates) {
+                indexed.set(candidate);
+            }
+            rows.and(indexed);
+            return;
+        }
+        for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+            if (titleKeys[i] == null || !containsAtWordStart(titleKeys[i], keyword)) {
+                rows.clear(i);
+            }
+        }
+    }
+
+    /**
+     * Same rule as {@code JobRepository.SUMMARY_FILTER}: the keyword starts
+     * the title or follows a space, hyphen or slash.
+     */
+    private static boolean containsAtWordStart(String title, String keyword) {
+        for (int at = title.indexOf(keyword); at >= 0; at = title.indexOf(keyword, at + 1)) {
+            if (at == 0 || WORD_SEPARATORS.indexOf(title.charAt(at - 1)) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Index of the first row posted before {@code since}; rows are sorted by
+     * {@code postedAt} descending, so every row before it is in the window.
+     */
+    private int windowEnd(long since) {
+        int low = 0;
+        int high = postedAt.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (postedAt[mid] >= since) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Row {@code i} as a DTO, with the offsets of the words in
+     * {@code highlightTerms} unless that is null.
+     */
+    private JobSummaryDTO summary(int i, int[] highlightTerms) {
+        JobSummaryDTO job = new JobSummaryDTO(ids[i], titles[i], companies[i], locations[i], urls[i], snippets[i],
+                sources[i], time(postedAt[i]), time(createdAt[i]), languages[i],
+                scores[i] == NO_SCORE ? null : scores[i], workModes[i], countryCodes[i], cities[i]);
+        if (highlightTerms != null) {
+            job.setTitleHighlights(highlightIndex.title(i, highlightTerms));
+            job.setSnippetHighlights(highlightIndex.body(i, highlightTerms));
+        }
+        return job;
+    }
+
+    private static Set<String> names(Set<? extends Enum<?>> values) {
+        return values.stream().map(Enum::name).collect(Collectors.toSet());
+    }
+
+    private static String share(Map<String, String> pool, String value) {
+        return value == null ? null : pool.computeIfAbsent(value, v -> v);
+    }
+
+    private static String trim(String value) {
+        return value == null ? null : value.trim();
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static long micros(LocalDateTime time) {
+        if (time == null) {
+            return NO_TIME;
+        }
+        return time.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + time.getNano() / 1_000;
+    }
+
+    private static LocalDateTime time(long micros) {
+        if (micros == NO_TIME) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * One facet: the value of each row and the rows of each value. Only
+     * written while the snapshot is built.
+     */
+    private static final class FacetColumn {
+        private final String name;
+        private final int[] valueOfRow;
+        private final Map<String, Integer> idsByKey = new HashMap<>();
+        private final List<String> keys = new ArrayList<>();
+        private final List<String> labels = new ArrayList<>();
+        private final List<BitSet> rowsOfValue = new ArrayList<>();
+
+        private FacetColumn(String name, int size) {
+            this.name = name;
+            this.valueOfRow = new int[size];
+            Arrays.fill(valueOfRow, -1);
+        }
+
+        private void add(int row, String key, String label) {
+            if (key == null) {
+                return;
+            }
+            int id = idsByKey.computeIfAbsent(key, k -> {
+                keys.add(k);
+                // The first spelling seen is the one shown
+                labels.add(label);
+                rowsOfValue.add(new BitSet());
+                return keys.size() - 1;
+            });
+            valueOfRow[row] = id;
+            rowsOfValue.get(id).set(row);
+        }
+
+        /**
+         * Rows having any of the given keys, or null when there are none to
+         * filter on.
+         */
+        private BitSet select(Collection<String> selected) {
+            if (selected.isEmpty()) {
+                return null;
+            }
+            BitSet rows = new BitSet();
+            for (String key : selected) {
+                Integer id = idsByKey.get(key);
+                if (id != null) {
+                    rows.or(rowsOfValue.get(id));
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * Rows whose key contains {@code fragment}; checks each distinct
+         * value once rather than each row.
+         */
+        private BitSet selectContaining(String fragment) {
+            BitSet rows = new BitSet();
+            for (int id = 0; id < keys.size(); id++) {
+                if (keys.get(id).contains(fragment)) {
+                    rows.or(rowsOfValue.get(id));
+                }
+            }
+            return rows;
+        }
+
+        /**
+         * Non-zero counts of each value within {@code rows}, most frequent
+         * first, at most {@code max} of them.
+         */
+        private List<FacetCount> count(BitSet rows, int max) {
+            int[] counts = new int[keys.size()];
+            for (int i = rows.nextSetBit(0); i >= 0; i = rows.nextSetBit(i + 1)) {
+                if (valueOfRow[i] >= 0) {
+                    counts[valueOfRow[i]]++;
+                }
+            }
+            List<FacetCount> result = new ArrayList<>();
+            for (int id = 0; id < counts.length; id++) {
+                if (counts[id] > 0) {
+                    result.add(new FacetCount(labels.get(id), counts[id]));
+                }
+            }
+            result.sort(Comparator.comparingLong(FacetCount::getCount).reversed()
+                    .thenComparing(FacetCount::getValue));
+            return result.size() > max ? List.copyOf(result.subList(0, max)) : result;
+        }
+    }
+
+    /**
+     * @param total            number of matches
+     * @param facets           counts per facet name, or null when not asked for
+     * @param correctedKeyword keyword actually searched for when the one
+     *                         given was taken as a typo, otherwise null
+     */
+    public record Result(List<JobSummaryDTO> content, boolean hasNext, long total,
+            Map<String, List<FacetCount>> facets, String correctedKeyword) {
+    }
+}
@@ -0,0 +1,66 @@
+package com.entry_level_jobs.search;
+
+import com.entry_level_jobs.dto.LocationOption;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable prefix index over accent-folded location names, most jobs
+ * first. Every word of a location is indexed, so "ber" finds "Berlin,
+ * Germany" and "ger" finds it too; see {@link PrefixTrie}.
+ */
+public final class LocationPrefixIndex {
+    private final PrefixTrie<LocationOption> trie;
+
+    private LocationPrefixIndex(PrefixTrie<LocationOption> trie) {
+        this.trie = trie;
+    }
+
+    /**
+     * Build an index from locations and their job counts; locations without
+     * jobs are left out.
+     *
+     * @param topK how many locations each node keeps, the largest limit a search can ask for
+     */
+    public static LocationPrefixIndex build(List<LocationOption> options, int topK) {
+        List<LocationOption> ranked = new ArrayList<>(options.size());
+        for (LocationOption option : options) {
+            if (option.getJobCount() > 0) {
+                ranked.add(option);
+            }
+        }
+        ranked.sort(Comparator.comparingLong(LocationOption::getJobCount).reversed()
+                .thenComparing(LocationOption::getValue));
+        return new LocationPrefixIndex(PrefixTrie.build(ranked, option -> TextNormalizer.fold(option.getValue()),
+                topK));
+    }
+
+    public static LocationPrefixIndex empty() {
+        return build(List.of(), 0);
+    }
+
+    /**
+     * Locations with a word starting with {@code query}, most jobs first.
+     * A blank query returns the most popular locations overall.
+     */
+    public Matches search(String query, int limit) {
+        PrefixTrie.Matches<LocationOption> matches = trie.search(query == null ? null : TextNormalizer.fold(query),
+                limit);
+        return new Matches(matches.items(), matches.totalMatches());
+    }
+
+    /**
+     * Number of distinct locations in the index.
+     */
+    public int size() {
+        return trie.size();
+    }
+
+    /**
+     * One page of suggestions plus how many locations matched in total.
+     */
+    public record Matches(List<LocationOption> options, int totalMatches) {
+    }
+}
@@ -0,0 +1,224 @@
+package com.entry_level_jobs.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Immutable, path-compressed prefix trie over accent-folded texts. Every
+ * word start of a text is indexed, so "ber" finds "Berlin, Germany" and
+ * "ger" finds it too. Each node stores the top-k items of its subtree and
+ * the number of distinct items below it, so a lookup is a walk down the
+ * trie with no sorting or counting at query time.
+ * <p>
+ * Paths can be cut off at a maximum depth to keep long texts from
+ * building one node per character of every word suffix. Nodes at that
+ * depth keep all of their items, and queries longer than it are answered
+ * by checking those items' keys.
+ */
+final class PrefixTrie<T> {
+    private final Node root;
+    private final Function<T, String> key;
+    private final int maxDepth;
+
+    private PrefixTrie(Node root, Function<T, String> key, int maxDepth) {
+        this.root = root;
+        this.key = key;
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @param ranked items best first; items the key function maps to null
+     *               are left out
+     * @param key    folded text of an item, see {@link TextNormalizer#fold}
+     * @param topK   how many items each node keeps, the largest limit a
+     *               search can ask for
+     */
+    static <T> PrefixTrie<T> build(List<T> ranked, Function<T, String> key, int topK) {
+        return build(ranked, key, topK, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxDepth how many characters of each word suffix get their own
+     *                 nodes
+     * @see #build(List, Function, int)
+     */
+    static <T> PrefixTrie<T> build(List<T> ranked, Function<T, String> key, int topK, int maxDepth) {
+        // Items arrive best first, so the first k to reach a node are its top k
+        MutableNode root = new MutableNode();
+        for (int i = 0; i < ranked.size(); i++) {
+            T item = ranked.get(i);
+            String folded = key.apply(item);
+            if (folded == null) {
+                continue;
+            }
+            root.visit(i, item, topK);
+            for (int start = 0; start < folded.length(); start++) {
+                if (isWordStart(folded, start)) {
+                    MutableNode node = root;
+                    int end = (int) Math.min(folded.length(), (long) start + maxDepth);
+                    for (int c = start; c < end; c++) {
+                        node = node.child(folded.charAt(c));
+                        node.visit(i, item, c - start + 1 == maxDepth ? Integer.MAX_VALUE : topK);
+                    }
+                }
+            }
+        }
+        return new PrefixTrie<>(freeze(root, ""), key, maxDepth);
+    }
+
+    /**
+     * Items with a word starting with {@code folded}, best first; all items
+     * when it is null.
+     */
+    @SuppressWarnings("unchecked")
+    Matches<T> search(String folded, int limit) {
+        Node node = folded == null ? root : find(folded.length() > maxDepth ? folded.substring(0, maxDepth) : folded);
+        if (node == null || limit <= 0) {
+            return new Matches<>(List.of(), 0);
+        }
+        if (folded != null && folded.length() > maxDepth) {
+            return verify(node, folded, limit);
+        }
+        int returned = Math.min(limit, node.top.length);
+        List<T> top = (List<T>) Collections.unmodifiableList(Arrays.asList(node.top).subList(0, returned));
+        return new Matches<>(top, node.matches);
+    }
+
+    /**
+     * Number of distinct items in the trie.
+     */
+    int size() {
+        return root.matches;
+    }
+
+    /**
+     * Items of a node at the maximum depth, which holds all of them, that
+     * really have a word starting with {@code folded}.
+     */
+    @SuppressWarnings("unchecked")
+    private Matches<T> verify(Node node, String folded, int limit) {
+        List<T> top = new ArrayList<>(Math.min(limit, node.top.length));
+        int matches = 0;
+        for (Object candidate : node.top) {
+            T item = (T) candidate;
+            if (hasWordStartingWith(key.apply(item), folded)) {
+                if (top.size() < limit) {
+                    top.add(item);
+                }
+                matches++;
+            }
+        }
+        return new Matches<>(Collections.unmodifiableList(top), matches);
+    }
+
+    private static boolean hasWordStartingWith(String folded, String prefix) {
+        for (int start = folded.indexOf(prefix); start >= 0; start = folded.indexOf(prefix, start + 1)) {
+            if (isWordStart(folded, start)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Node find(String folded) {
+        Node node = root;
+        int i = 0;
+        while (i < folded.length()) {
+            int slot = Arrays.binarySearch(node.keys, folded.charAt(i));
+            if (slot < 0) {
+                return null;
+            }
+            node = node.children[slot];
+            String label = node.label;
+            int length = Math.min(label.length(), folded.length() - i);
+            if (!label.regionMatches(0, folded, i, length)) {
+                return null;
+            }
+            // A query ending inside a compressed label matches the same items as the full label
+            i += length;
+        }
+        return node;
+    }
+
+    private static Node freeze(MutableNode node, String label) {
+        StringBuilder path = new StringBuilder(label);
+        // A single child matching the same items carries no extra information; fold it into this edge.
+        // Not into the root though: find starts below it and never reads its label
+        while (!label.isEmpty() && node.size == 1 && node.children[0].matches == node.matches) {
+            path.append(node.keys[0]);
+            node = node.children[0];
+        }
+
+        Node[] children = new Node[node.size];
+        for (int slot = 0; slot < node.size; slot++) {
+            children[slot] = freeze(node.children[slot], String.valueOf(node.keys[slot]));
+        }
+        return new Node(path.toString(), Arrays.copyOf(node.keys, node.size), children, node.top.toArray(),
+                node.matches);
+    }
+
+    private static boolean isWordStart(String folded, int index) {
+        return Character.isLetterOrDigit(folded.charAt(index))
+                && (index == 0 || !Character.isLetterOrDigit(folded.charAt(index - 1)));
+    }
+
+    /**
+     * One page of items plus how many items matched in total.
+     */
+    record Matches<T>(List<T> items, int totalMatches) {
+    }
+
+    private record Node(String label, char[] keys, Node[] children, Object[] top, int matches) {
+    }
+
+    private static final class MutableNode {
+        private static final char[] NO_KEYS = new char[0];
+        private static final MutableNode[] NO_CHILDREN = new MutableNode[0];
+
+        // Children sorted by key; plain arrays because most nodes have one or two
+        private char[] keys = NO_KEYS;
+        private MutableNode[] children = NO_CHILDREN;
+        private int size;
+        private final List<Object> top = new ArrayList<>(1);
+        private int matches;
+        private int lastItem = -1;
+
+        MutableNode child(char key) {
+            int slot = Arrays.binarySearch(keys, 0, size, key);
+            if (slot >= 0) {
+                return children[slot];
+            }
+            slot = -slot - 1;
+            if (size == keys.length) {
+                int capacity = Math.max(2, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, slot, keys, slot + 1, size - slot);
+            System.arraycopy(children, slot, children, slot + 1, size - slot);
+            MutableNode child = new MutableNode();
+            keys[slot] = key;
+            children[slot] = child;
+            size++;
+            return child;
+        }
+
+        /**
+         * Count item {@code index} once, however many of its words pass
+         * through this node.
+         */
+        void visit(int index, Object item, int topK) {
+            if (lastItem == index) {
+                return;
+            }
+            lastItem = index;
+            matches++;
+            if (top.size() < topK) {
+                top.add(item);
+            }
+        }
+    }
+}
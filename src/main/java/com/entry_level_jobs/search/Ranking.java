@@ -0,0 +1,20 @@
+package com.entry_level_jobs.search;
+
+import java.time.LocalDateTime;
+
+/**
+ * How {@link JobSnapshot} orders keyword matches by relevance: BM25F over
+ * title and snippet, scaled by a recency factor that decays from 1 for a
+ * job posted at {@code now} towards {@code 1 - recencyWeight} for old ones.
+ *
+ * @param titleBoost    weight of a title occurrence relative to a snippet one
+ * @param halfLifeDays  age at which the recency part of the factor halves
+ * @param recencyWeight share of the score, from 0 to 1, that depends on age
+ */
+public record Ranking(double titleBoost, double halfLifeDays, double recencyWeight, LocalDateTime now) {
+
+    double recencyFactor(double ageDays) {
+        double decay = Math.pow(0.5, Math.max(ageDays, 0) / halfLifeDays);
+        return 1 - recencyWeight + recencyWeight * decay;
+    }
+}
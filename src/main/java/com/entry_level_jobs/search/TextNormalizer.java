@@ -0,0 +1,121 @@
+package com.entry_level_jobs.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Folding and tokenizing shared by the in-memory indexes, so text is
+ * indexed and queried the same way.
+ */
+public final class TextNormalizer {
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private TextNormalizer() {
+    }
+
+    /**
+     * Lower-case, strip accents and collapse whitespace, so "  Zürich " and
+     * "zurich" compare equal. Returns null for blank input.
+     */
+    public static String fold(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        String folded = text.trim();
+        if (!isAscii(folded)) {
+            folded = COMBINING_MARKS.matcher(Normalizer.normalize(folded, Normalizer.Form.NFD)).replaceAll("");
+        }
+        return WHITESPACE.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    /**
+     * Trim and collapse whitespace, keeping case and accents for display.
+     * Returns null for blank input.
+     */
+    public static String collapse(String text) {
+        if (text == null || text.isBlank()) {
+            return null;
+        }
+        return WHITESPACE.matcher(text.trim()).replaceAll(" ");
+    }
+
+    /**
+     * Folded runs of letters and digits, in order and with repeats.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        String folded = fold(text);
+        if (folded == null) {
+            return tokens;
+        }
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean wordChar = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Where the tokens of {@code text} are in the text itself, as start and
+     * end (exclusive) offsets flattened into one array. Combining marks stay
+     * inside a token, so decomposed accents are covered too. Folding one
+     * span gives the token {@link #tokenize} yields for it.
+     */
+    public static int[] tokenSpans(String text) {
+        if (text == null) {
+            return new int[0];
+        }
+        int[] spans = new int[8];
+        int count = 0;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && (Character.isLetterOrDigit(text.charAt(i))
+                    || (start >= 0 && Character.getType(text.charAt(i)) == Character.NON_SPACING_MARK));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (count + 2 > spans.length) {
+                    spans = Arrays.copyOf(spans, spans.length * 2);
+                }
+                spans[count++] = start;
+                spans[count++] = i;
+                start = -1;
+            }
+        }
+        return Arrays.copyOf(spans, count);
+    }
+
+    /**
+     * Whether {@code text} is only letters, digits and whitespace, i.e. fully
+     * described by its tokens.
+     */
+    public static boolean isPlainWords(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c) && !Character.isWhitespace(c)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
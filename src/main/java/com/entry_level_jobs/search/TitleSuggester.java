@@ -0,0 +1,113 @@
+package com.entry_level_jobs.search;
+
+import com.entry_level_jobs.dto.TitleSuggestion;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable title autocomplete over the normalized titles of a set of jobs.
+ * Titles that normalize to the same words are one phrase, shown as spelled
+ * by its newest job. A phrase weighs the sum of its jobs' recency, each job
+ * counting 1 when just posted and half as much every {@code halfLifeDays},
+ * so frequent and fresh titles come first. Lookups walk a {@link PrefixTrie}
+ * whose nodes hold their top phrases, so "java dev" finds "Junior Java
+ * Developer" without sorting at query time.
+ */
+public final class TitleSuggester {
+    /**
+     * Characters of each word suffix that get their own trie nodes; longer
+     * queries are checked against the phrases found at that depth.
+     */
+    private static final int MAX_DEPTH = 16;
+
+    private final PrefixTrie<TitleSuggestion> trie;
+
+    private TitleSuggester(PrefixTrie<TitleSuggestion> trie) {
+        this.trie = trie;
+    }
+
+    /**
+     * @param titles  titles, newest job first
+     * @param ageDays age of each job, aligned with {@code titles}
+     * @param topK    how many phrases each node keeps, the largest limit a
+     *                lookup can ask for
+     */
+    public static TitleSuggester build(String[] titles, double[] ageDays, int topK, double halfLifeDays) {
+        Map<String, Phrase> byKey = new HashMap<>();
+        List<Phrase> phrases = new ArrayList<>();
+        for (int i = 0; i < titles.length; i++) {
+            String key = key(titles[i]);
+            if (key == null) {
+                continue;
+            }
+            Phrase phrase = byKey.get(key);
+            if (phrase == null) {
+                phrase = new Phrase(key, TextNormalizer.collapse(titles[i]));
+                byKey.put(key, phrase);
+                phrases.add(phrase);
+            }
+            phrase.jobs++;
+            phrase.weight += Math.pow(0.5, Math.max(ageDays[i], 0) / halfLifeDays);
+        }
+        phrases.sort(Comparator.comparingDouble((Phrase phrase) -> phrase.weight).reversed()
+                .thenComparing(phrase -> phrase.key));
+
+        List<TitleSuggestion> ranked = new ArrayList<>(phrases.size());
+        Map<TitleSuggestion, String> keys = new IdentityHashMap<>();
+        for (Phrase phrase : phrases) {
+            TitleSuggestion suggestion = new TitleSuggestion(phrase.display, phrase.jobs);
+            ranked.add(suggestion);
+            keys.put(suggestion, phrase.key);
+        }
+        return new TitleSuggester(PrefixTrie.build(ranked, keys::get, topK, MAX_DEPTH));
+    }
+
+    /**
+     * Phrases with a run of words starting with the words of {@code query},
+     * best first. The last word may be partial.
+     */
+    public Matches suggest(String query, int limit) {
+        String key = key(query);
+        if (key == null) {
+            return new Matches(List.of(), 0);
+        }
+        PrefixTrie.Matches<TitleSuggestion> matches = trie.search(key, limit);
+        return new Matches(matches.items(), matches.totalMatches());
+    }
+
+    /**
+     * Number of distinct phrases.
+     */
+    public int size() {
+        return trie.size();
+    }
+
+    /**
+     * Folded words of {@code text} joined by single spaces, or null when it
+     * has none; punctuation between words does not matter.
+     */
+    private static String key(String text) {
+        List<String> tokens = TextNormalizer.tokenize(text);
+        return tokens.isEmpty() ? null : String.join(" ", tokens);
+    }
+
+    public record Matches(List<TitleSuggestion> suggestions, int totalMatches) {
+    }
+
+    private static final class Phrase {
+        private final String key;
+        private final String display;
+        private int jobs;
+        private double weight;
+
+        Phrase(String key, String display) {
+            this.key = key;
+            this.display = display;
+        }
+    }
+}
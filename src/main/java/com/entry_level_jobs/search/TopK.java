@@ -0,0 +1,95 @@
+package com.entry_level_jobs.search;
+
+import java.util.Arrays;
+
+/**
+ * The {@code k} highest-scoring ordinals seen, kept in a bounded min-heap
+ * over primitive arrays: offering n candidates costs O(n log k) and no
+ * boxing, instead of sorting every match. Equal scores prefer the lower
+ * ordinal, which in a {@link JobSnapshot} is the more recent job.
+ */
+final class TopK {
+    private final int[] ordinals;
+    private final float[] scores;
+    private int size;
+
+    TopK(int k) {
+        ordinals = new int[k];
+        scores = new float[k];
+    }
+
+    void offer(int ordinal, float score) {
+        if (ordinals.length == 0) {
+            return;
+        }
+        if (size < ordinals.length) {
+            ordinals[size] = ordinal;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (ranksAbove(ordinal, score, 0)) {
+            ordinals[0] = ordinal;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Kept ordinals, best first.
+     */
+    int[] sorted() {
+        Integer[] order = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> ranksAbove(ordinals[a], scores[a], b) ? -1
+                : ranksAbove(ordinals[b], scores[b], a) ? 1 : 0);
+        int[] result = new int[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = ordinals[order[i]];
+        }
+        return result;
+    }
+
+    private boolean ranksAbove(int ordinal, float score, int slot) {
+        return score > scores[slot] || (score == scores[slot] && ordinal < ordinals[slot]);
+    }
+
+    private void siftUp(int slot) {
+        while (slot > 0) {
+            int parent = (slot - 1) / 2;
+            if (!ranksAbove(ordinals[parent], scores[parent], slot)) {
+                return;
+            }
+            swap(slot, parent);
+            slot = parent;
+        }
+    }
+
+    private void siftDown(int slot) {
+        while (true) {
+            int left = 2 * slot + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && ranksAbove(ordinals[left], scores[left], right)) {
+                worst = right;
+            }
+            if (!ranksAbove(ordinals[slot], scores[slot], worst)) {
+                return;
+            }
+            swap(slot, worst);
+            slot = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int ordinal = ordinals[a];
+        ordinals[a] = ordinals[b];
+        ordinals[b] = ordinal;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
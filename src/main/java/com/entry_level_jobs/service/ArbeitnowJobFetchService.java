@@ -1,74 +1,127 @@
 package com.entry_level_jobs.service;
 
 import com.entry_level_jobs.dto.ArbeitnowJobResponse;
+import com.entry_level_jobs.fetch.CircuitOpenException;
+import com.entry_level_jobs.fetch.ExternalApiClient;
+import com.entry_level_jobs.fetch.JobSource;
+import com.entry_level_jobs.fetch.ProviderResponse;
+import com.entry_level_jobs.fetch.SourcePage;
+import com.entry_level_jobs.fetch.SourceRateLimit;
 import com.entry_level_jobs.model.Job;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * Service for fetching jobs from the Arbeitnow public API.
  * API: https://arbeitnow.com/api/job-board-api
- * No authentication required.
+ * No authentication required. Rate limiting and retries are handled by
+ * {@link ExternalApiClient}.
  */
 @Service
 @Slf4j
-public class ArbeitnowJobFetchService {
+public class ArbeitnowJobFetchService implements JobSource<ArbeitnowJobResponse.ArbeitnowJob> {
+    public static final String SOURCE_NAME = "Arbeitnow";
     private static final String ARBEITNOW_API_URL = "https://arbeitnow.com/api/job-board-api?page=";
-    private final RestTemplate restTemplate;
+    private final ExternalApiClient apiClient;
+    private final int pagesToFetch;
+    private final Duration interval;
+    private final SourceRateLimit rateLimit;
 
-    // Use constructor injection so we can provide a configured RestTemplate bean
-    public ArbeitnowJobFetchService(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    // Use constructor injection so we can provide a configured client bean
+    public ArbeitnowJobFetchService(ExternalApiClient apiClient,
+            @Value("${external.arbeitnow.pages:3}") int pagesToFetch,
+            @Value("${external.arbeitnow.interval-ms:${jobs.fetch.interval.ms:3600000}}") long intervalMs,
+            @Value("${external.arbeitnow.requests-per-second:1.0}") double requestsPerSecond,
+            @Value("${external.arbeitnow.burst:3}") int burst) {
+        this.apiClient = apiClient;
+        this.pagesToFetch = pagesToFetch;
+        this.interval = Duration.ofMillis(intervalMs);
+        this.rateLimit = new SourceRateLimit(URI.create(ARBEITNOW_API_URL).getHost(), requestsPerSecond, burst);
+    }
+
+    @Override
+    public String getName() {
+        return SOURCE_NAME;
+    }
+
+    @Override
+    public int getMaxPages() {
+        return pagesToFetch;
+    }
+
+    @Override
+    public Duration getPreferredInterval() {
+        return interval;
+    }
+
+    @Override
+    public Optional<SourceRateLimit> getRateLimit() {
+        return Optional.of(rateLimit);
     }
 
     /**
      * Fetch jobs from Arbeitnow API for a specific page.
      *
      * @param page Page number (1-based)
-     * @return List of jobs from the API
+     * @return List of jobs from the API, empty when the page is unchanged since
+     *         the previous run
      */
     public List<Job> fetchJobsFromArbeitnow(int page) {
+        return fetchPage(page).items().stream()
+                .map(this::toJob)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public SourcePage<ArbeitnowJobResponse.ArbeitnowJob> fetchPage(int page) {
         try {
             log.info("Fetching jobs from Arbeitnow API, page: {}", page);
             String url = ARBEITNOW_API_URL + page;
 
-            ArbeitnowJobResponse response = restTemplate.getForObject(url, ArbeitnowJobResponse.class);
+            ProviderResponse<ArbeitnowJobResponse> providerResponse = apiClient.get(SOURCE_NAME, url,
+                    ArbeitnowJobResponse.class);
+            if (providerResponse.notModified()) {
+                // Pages are newest-first, so the older pages behind an unchanged one
+                // cannot hold anything new either
+                log.info("Arbeitnow page {} not modified since last fetch", page);
+                return SourcePage.unchanged(false);
+            }
 
+            ArbeitnowJobResponse response = providerResponse.body();
             if (response == null || response.getData() == null) {
                 log.warn("No data received from Arbeitnow API");
-                return new ArrayList<>();
+                return SourcePage.end();
             }
 
-            List<Job> jobs = new ArrayList<>();
-            for (ArbeitnowJobResponse.ArbeitnowJob arbeitJob : response.getData()) {
-                Job job = convertArbeitnowJobToJob(arbeitJob);
-                jobs.add(job);
-            }
-
-            log.info("Successfully fetched {} jobs from Arbeitnow API (page {})", jobs.size(), page);
-            return jobs;
+            log.info("Successfully fetched {} jobs from Arbeitnow API (page {})", response.getData().size(), page);
+            return SourcePage.of(response.getData(), !response.getData().isEmpty());
+        } catch (CircuitOpenException e) {
+            log.info("Skipping Arbeitnow page {}: {}", page, e.getMessage());
+            return SourcePage.end();
         } catch (Exception e) {
             log.error("Error fetching jobs from Arbeitnow API", e);
-            return new ArrayList<>();
+            return SourcePage.end();
         }
     }
 
     /**
      * Convert Arbeitnow job to internal Job entity.
      */
-    private Job convertArbeitnowJobToJob(ArbeitnowJobResponse.ArbeitnowJob arbeitJob) {
+    @Override
+    public Job toJob(ArbeitnowJobResponse.ArbeitnowJob arbeitJob) {
+        // Left null when missing; JobIngestService dates the job when it is first stored
         Long createdEpoch = arbeitJob.getCreated_at();
-        if (createdEpoch == null) {
-            createdEpoch = Instant.now().getEpochSecond();
-        }
-        LocalDateTime postedAt = LocalDateTime.ofInstant(
+        LocalDateTime postedAt = createdEpoch == null ? null : LocalDateTime.ofInstant(
                 Instant.ofEpochSecond(createdEpoch),
                 ZoneId.systemDefault());
 
@@ -78,7 +131,7 @@ public class ArbeitnowJobFetchService {
                 .location(arbeitJob.getLocation())
                 .url(arbeitJob.getUrl())
                 .description(stripHtmlTags(arbeitJob.getDescription()))
-                .source("Arbeitnow")
+                .source(SOURCE_NAME)
                 .postedAt(postedAt)
                 .build();
     }
@@ -0,0 +1,30 @@
+package com.entry_level_jobs.service;
+
+import java.util.Locale;
+
+/**
+ * How the job listing reports totals.
+ */
+public enum CountMode {
+    /** No totals; only whether a next page exists */
+    NONE,
+    /** Totals from {@link JobCountCache}, recounted after data changes */
+    CACHED,
+    /** A fresh count on every request */
+    EXACT;
+
+    /**
+     * @return the mode named by {@code value}, {@link #CACHED} when blank, or
+     *         null when the name is unknown
+     */
+    public static CountMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return CACHED;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.model.Job;
+import com.entry_level_jobs.model.JobDescription;
+import com.entry_level_jobs.repository.JobDescriptionRepository;
+import com.entry_level_jobs.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Stores job descriptions in the compressed, content-addressed
+ * {@code job_descriptions} table. It links jobs to their shared description
+ * row, moves legacy inline descriptions out of {@code jobs}, and removes
+ * description rows no job uses any more.
+ */
+@Service
+@Slf4j
+public class DescriptionStorageService {
+    private final JobDescriptionRepository descriptionRepository;
+    private final JobRepository jobRepository;
+
+    public DescriptionStorageService(JobDescriptionRepository descriptionRepository, JobRepository jobRepository) {
+        this.descriptionRepository = descriptionRepository;
+        this.jobRepository = jobRepository;
+    }
+
+    /**
+     * Point each job at the stored row for its description text, creating the
+     * rows that do not exist yet with one lookup for the whole batch. Rows
+     * are created with an insert that skips existing hashes, so two ingests
+     * storing the same text at once do not collide on the primary key.
+     */
+    @Transactional
+    public void attachDescriptions(List<Job> jobs) {
+        Map<String, String> textByHash = new HashMap<>();
+        for (Job job : jobs) {
+            String text = job.getDescription();
+            if (text != null && !text.isEmpty()) {
+                textByHash.putIfAbsent(JobDescription.hashOf(text), text);
+            }
+        }
+
+        Map<String, JobDescription> stored = new HashMap<>();
+        if (!textByHash.isEmpty()) {
+            descriptionRepository.findAllById(textByHash.keySet())
+                    .forEach(description -> stored.put(description.getHash(), description));
+            Set<String> missing = new HashSet<>(textByHash.keySet());
+            missing.removeAll(stored.keySet());
+            if (!missing.isEmpty()) {
+                // A concurrent ingest may insert the same text first; both then use its row
+                for (String hash : missing) {
+                    JobDescription description = JobDescription.of(textByHash.get(hash));
+                    descriptionRepository.insertIfAbsent(description.getHash(), description.getContent(),
+                            description.getOriginalLength(), description.getCreatedAt());
+                }
+                descriptionRepository.findAllById(missing)
+                        .forEach(description -> stored.put(description.getHash(), description));
+            }
+        }
+
+        for (Job job : jobs) {
+            String text = job.getDescription();
+            job.setDescriptionBody(text == null || text.isEmpty() ? null : stored.get(JobDescription.hashOf(text)));
+            job.setLegacyDescription(null);
+        }
+    }
+
+    /**
+     * Move one batch of inline descriptions into the side table.
+     *
+     * @return number of jobs migrated; 0 once nothing is left
+     */
+    @Transactional
+    public int migrateInlineDescriptions(int batchSize) {
+        List<Job> jobs = jobRepository.findWithInlineDescription(PageRequest.of(0, batchSize));
+        if (!jobs.isEmpty()) {
+            attachDescriptions(jobs);
+        }
+        return jobs.size();
+    }
+
+    /**
+     * Delete one batch of description rows no job refers to.
+     *
+     * @return number of rows deleted
+     */
+    @Transactional
+    public int purgeOrphans(int batchSize) {
+        Set<String> orphans = new HashSet<>(descriptionRepository.findOrphanHashes(
+                LocalDateTime.now().minusHours(1), PageRequest.of(0, batchSize)));
+        if (!orphans.isEmpty()) {
+            descriptionRepository.deleteAllByIdInBatch(orphans);
+        }
+        return orphans.size();
+    }
+}
@@ -0,0 +1,18 @@
+package com.entry_level_jobs.service;
+
+/**
+ * Outcome of one ingest batch.
+ *
+ * @param newJobs   postings not known before, inserted
+ * @param changed   known postings whose content changed, updated in place
+ * @param unchanged known postings with identical content, only marked as seen
+ */
+public record IngestResult(int newJobs, int changed, int unchanged) {
+    public static IngestResult empty() {
+        return new IngestResult(0, 0, 0);
+    }
+
+    public int total() {
+        return newJobs + changed + unchanged;
+    }
+}
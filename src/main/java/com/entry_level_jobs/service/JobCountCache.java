@@ -0,0 +1,73 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.repository.JobRepository;
+import com.entry_level_jobs.search.JobFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches listing totals per normalized {@link JobFilter}. An entry is
+ * reused until jobs change on this instance ({@link JobDataVersion}) or its
+ * TTL passes, which bounds how stale totals get when another instance
+ * ingests. The listing window start moves with the clock and is left out of
+ * the key; within one TTL the difference is negligible.
+ */
+@Service
+@Slf4j
+public class JobCountCache {
+    private final JobRepository jobRepository;
+    private final JobDataVersion dataVersion;
+    private final long ttlNanos;
+    private final int maxEntries;
+    private final Map<JobFilter, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public JobCountCache(JobRepository jobRepository, JobDataVersion dataVersion,
+            @Value("${jobs.listing.count-cache.ttl-ms:60000}") long ttlMs,
+            @Value("${jobs.listing.count-cache.max-entries:10000}") int maxEntries) {
+        this.jobRepository = jobRepository;
+        this.dataVersion = dataVersion;
+        this.ttlNanos = Duration.ofMillis(ttlMs).toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public long count(JobFilter filter, LocalDateTime postedSince) {
+        long version = dataVersion.current();
+        long now = System.nanoTime();
+        Entry entry = entries.get(filter);
+        if (entry != null && entry.version() == version && now - entry.countedAt() < ttlNanos) {
+            hits.incrementAndGet();
+            return entry.count();
+        }
+
+        misses.incrementAndGet();
+        long count = jobRepository.countSummaries(filter, postedSince);
+        if (entries.size() >= maxEntries) {
+            // Rare with real traffic; dropping everything is simpler than tracking recency
+            entries.clear();
+        }
+        entries.put(filter, new Entry(version, now, count));
+        return count;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("entries", entries.size());
+        snapshot.put("hits", hits.get());
+        snapshot.put("misses", misses.get());
+        snapshot.put("data_version", dataVersion.current());
+        return snapshot;
+    }
+
+    private record Entry(long version, long countedAt, long count) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.entry_level_jobs.service;
+
+/**
+ * Published inside the transaction that adds, edits or hides listed jobs.
+ * Anything derived from the listing, such as cached counts, is stale once
+ * the transaction commits.
+ *
+ * @param added       jobs inserted or reactivated
+ * @param updated     jobs whose content changed
+ * @param deactivated jobs taken out of the listing
+ */
+public record JobDataChangedEvent(int added, int updated, int deactivated) {
+}
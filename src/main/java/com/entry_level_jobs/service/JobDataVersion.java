@@ -0,0 +1,31 @@
+package com.entry_level_jobs.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter that moves forward each time listed jobs change on this instance.
+ * Caches of listing results key their entries by it, so a committed ingest
+ * or expiry sweep makes every older entry stale without having to find it.
+ * The read model moves it again once it has swapped in a snapshot, since
+ * responses built between the commit and the swap still show the old jobs.
+ */
+@Component
+public class JobDataVersion {
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobDataChanged(JobDataChangedEvent event) {
+        bump();
+    }
+
+    public void bump() {
+        version.incrementAndGet();
+    }
+}
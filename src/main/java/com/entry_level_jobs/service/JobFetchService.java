@@ -1,5 +1,8 @@
 package com.entry_level_jobs.service;
 
+import com.entry_level_jobs.fetch.HostRateLimiter;
+import com.entry_level_jobs.fetch.JobSource;
+import com.entry_level_jobs.fetch.SourcePage;
 import com.entry_level_jobs.model.Job;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,29 +16,29 @@ import java.nio.charset.StandardCharsets;
 import java.util.*;
 
 /**
- * Service for fetching job listings from various sources.
- * Currently integrated with Arbeitnow public API.
+ * Service for fetching job listings from every registered {@link JobSource}
+ * (currently Arbeitnow, Remotive and The Muse). New sources only need to be
+ * declared as beans.
  */
 @Service
 @Slf4j
 public class JobFetchService {
-    private final ArbeitnowJobFetchService arbeitnowService;
-    private final RemotiveJobFetchService remotiveService;
-    private final MuseJobFetchService museService;
+    private final List<JobSource<?>> sources;
 
     @Autowired
-    public JobFetchService(ArbeitnowJobFetchService arbeitnowService,
-            RemotiveJobFetchService remotiveService,
-            MuseJobFetchService museService) {
-        this.arbeitnowService = arbeitnowService;
-        this.remotiveService = remotiveService;
-        this.museService = museService;
+    public JobFetchService(List<JobSource<?>> sources, HostRateLimiter rateLimiter) {
+        this.sources = List.copyOf(sources);
+        for (JobSource<?> source : this.sources) {
+            source.getRateLimit().ifPresent(rateLimiter::declare);
+        }
+    }
+
+    public List<JobSource<?>> getSources() {
+        return sources;
     }
 
     /**
-     * Fetch jobs from external APIs.
-     * Retrieves jobs from Arbeitnow API (pages 1-3 to get a good variety).
-     * Also fetches from Remotive and The Muse.
+     * Fetch jobs from all registered sources, one after the other.
      *
      * @return List of fetched jobs from all sources (deduplicated)
      */
@@ -43,42 +46,47 @@ public class JobFetchService {
         log.info("Fetching jobs from external APIs");
         Map<String, Job> uniqueByKey = new LinkedHashMap<>();
 
-        // Fetch from Arbeitnow API (pages 1-3)
-        for (int page = 1; page <= 3; page++) {
-            List<Job> pageJobs = arbeitnowService.fetchJobsFromArbeitnow(page);
-            for (Job j : pageJobs)
-                addIfUnique(uniqueByKey, j);
-
-            if (pageJobs.isEmpty()) {
-                log.info("No more jobs available from Arbeitnow on page {}", page);
-                break;
+        for (JobSource<?> source : sources) {
+            try {
+                collectPages(source, uniqueByKey);
+            } catch (Exception e) {
+                log.error("Error fetching jobs from {}", source.getName(), e);
             }
         }
 
-        // Fetch from Remotive
-        try {
-            List<Job> remotiveJobs = remotiveService.fetchJobsFromRemotive();
-            for (Job j : remotiveJobs)
-                addIfUnique(uniqueByKey, j);
-        } catch (Exception e) {
-            log.error("Error fetching jobs from Remotive", e);
-        }
-
-        // Fetch from The Muse
-        try {
-            List<Job> museJobs = museService.fetchJobsFromMuse();
-            for (Job j : museJobs)
-                addIfUnique(uniqueByKey, j);
-        } catch (Exception e) {
-            log.error("Error fetching jobs from The Muse", e);
-        }
-
         List<Job> allJobs = new ArrayList<>(uniqueByKey.values());
         sortByRecency(allJobs);
         log.info("Successfully fetched {} total unique jobs from external APIs", allJobs.size());
         return allJobs;
     }
 
+    /**
+     * Fetch jobs from a single source.
+     *
+     * @return deduplicated jobs ordered by recency
+     */
+    public List<Job> fetchJobsFromSource(JobSource<?> source) {
+        Map<String, Job> uniqueByKey = new LinkedHashMap<>();
+        collectPages(source, uniqueByKey);
+        List<Job> jobs = new ArrayList<>(uniqueByKey.values());
+        sortByRecency(jobs);
+        log.info("Fetched {} unique jobs from {}", jobs.size(), source.getName());
+        return jobs;
+    }
+
+    private <T> void collectPages(JobSource<T> source, Map<String, Job> uniqueByKey) {
+        for (int page = 1; page <= source.getMaxPages(); page++) {
+            SourcePage<T> sourcePage = source.fetchPage(page);
+            for (T posting : sourcePage.items())
+                addIfUnique(uniqueByKey, source.toJob(posting));
+
+            if (!sourcePage.hasMore()) {
+                log.info("No more new jobs available from {} after page {}", source.getName(), page);
+                break;
+            }
+        }
+    }
+
     private void sortByRecency(List<Job> jobs) {
         Comparator<Job> comparator = Comparator
                 .comparing(Job::getPostedAt, Comparator.nullsLast(Comparator.reverseOrder()))
@@ -43,7 +43,8 @@ public class JobFilterService {
     private final ExperienceSignalExtractor experienceSignalExtractor;
 
     /**
-     * Filter jobs to return only entry-level positions.
+     * Filter jobs to return only entry-level positions. Jobs that pass keep
+     * their detected language and score so ingest does not classify them again.
      *
      * @param jobs List of jobs to filter
      * @return Filtered list containing only entry-level jobs
@@ -55,6 +56,7 @@ public class JobFilterService {
                 .filter(job -> {
                     JobClassificationScore classification = classifyJob(job);
                     if (classification.isEntryLevel()) {
+                        applyClassification(job, classification);
                         log.debug("✓ PASSED: {} - {} ({}) | include={}, exclude={}, score={} (lang={}, hits={} / {})",
                                 job.getTitle(), job.getCompany(), job.getSource(),
                                 classification.isLegacyIncludeMatch(), classification.isLegacyExcludeMatch(),
@@ -113,6 +115,14 @@ public class JobFilterService {
                 .build();
     }
 
+    /**
+     * Store the parts of a classification that list views show.
+     */
+    public void applyClassification(Job job, JobClassificationScore classification) {
+        job.setLanguage(classification.getLanguage());
+        job.setClassificationScore(classification.getTotalScore());
+    }
+
     /**
      * Check if job contains any entry-level inclusion keywords.
      */
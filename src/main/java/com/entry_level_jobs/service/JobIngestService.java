@@ -0,0 +1,264 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.dto.LocationOption;
+import com.entry_level_jobs.location.StructuredLocation;
+import com.entry_level_jobs.model.Job;
+import com.entry_level_jobs.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Saves fetched jobs by comparing content hashes against what is stored.
+ * Each batch is looked up with one query per chunk of URLs. Every incoming
+ * job is then classified: new ones are inserted, edited ones are updated in
+ * place, and unchanged ones are only marked as seen. Every job seen gets
+ * its expiry pushed out by the retention TTL. New and changed jobs also get
+ * their list-view snippet, classification and structured location (work
+ * mode, country, city) stored. Location facet counts are adjusted in the
+ * same transaction, and a {@link JobDataChangedEvent} is published whenever
+ * the set of listed jobs changed.
+ */
+@Service
+@Slf4j
+public class JobIngestService {
+    private static final int LOOKUP_CHUNK_SIZE = 500;
+    private static final char FIELD_SEPARATOR = '\u001f';
+    static final int SNIPPET_LENGTH = 300;
+
+    private final JobRepository jobRepository;
+    private final JobFilterService jobFilterService;
+    private final DescriptionStorageService descriptionStorageService;
+    private final LocationFacetService locationFacetService;
+    private final LocationExtractor locationExtractor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration ttl;
+
+    public JobIngestService(JobRepository jobRepository,
+            JobFilterService jobFilterService,
+            DescriptionStorageService descriptionStorageService,
+            LocationFacetService locationFacetService,
+            LocationExtractor locationExtractor,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${jobs.retention.ttl-days:30}") long ttlDays) {
+        this.jobRepository = jobRepository;
+        this.jobFilterService = jobFilterService;
+        this.descriptionStorageService = descriptionStorageService;
+        this.locationFacetService = locationFacetService;
+        this.locationExtractor = locationExtractor;
+        this.eventPublisher = eventPublisher;
+        this.ttl = Duration.ofDays(ttlDays);
+    }
+
+    @Transactional
+    public IngestResult ingest(List<Job> jobs) {
+        Map<String, Job> incoming = new LinkedHashMap<>();
+        for (Job job : jobs) {
+            if (job.getUrl() == null || job.getUrl().isBlank()) {
+                log.debug("Skipping job without URL: {}", job.getTitle());
+                continue;
+            }
+            incoming.putIfAbsent(job.getUrl(), job);
+        }
+        if (incoming.isEmpty()) {
+            return IngestResult.empty();
+        }
+
+        Map<String, Job> existing = findExisting(new ArrayList<>(incoming.keySet()));
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(ttl);
+        List<Job> inserts = new ArrayList<>();
+        List<Job> changed = new ArrayList<>();
+        List<Long> unchangedIds = new ArrayList<>();
+        int reactivated = 0;
+        Map<String, Long> facetDeltas = new HashMap<>();
+
+        for (Job job : incoming.values()) {
+            String hash = contentHash(job);
+            Job stored = existing.get(job.getUrl());
+            if (stored == null) {
+                if (job.getPostedAt() == null) {
+                    // Provider gave no date: first seen stands in, and stays out of the hash
+                    job.setPostedAt(now);
+                }
+                job.setContentHash(hash);
+                job.setLastSeenAt(now);
+                job.setExpiresAt(expiresAt);
+                job.setActive(true);
+                prepareListView(job);
+                inserts.add(job);
+                LocationFacetService.addDelta(facetDeltas, job.getLocation(), 1);
+            } else if (hash.equals(storedHash(stored))) {
+                if (stored.getSnippet() == null) {
+                    // Row from before list-view columns existed
+                    prepareListView(stored);
+                } else if (stored.getWorkMode() == null) {
+                    // Row from before location extraction existed
+                    extractLocation(stored);
+                }
+                if (!stored.isActive()) {
+                    // Reactivated by the touch below
+                    LocationFacetService.addDelta(facetDeltas, stored.getLocation(), 1);
+                    reactivated++;
+                }
+                unchangedIds.add(stored.getId());
+            } else {
+                if (stored.isActive()) {
+                    LocationFacetService.addDelta(facetDeltas, stored.getLocation(), -1);
+                }
+                applyChanges(stored, job, hash, now, expiresAt);
+                LocationFacetService.addDelta(facetDeltas, stored.getLocation(), 1);
+                changed.add(stored);
+                log.debug("Updated changed job: {} - {}", stored.getTitle(), stored.getCompany());
+            }
+        }
+
+        List<Job> written = new ArrayList<>(inserts);
+        written.addAll(changed);
+        descriptionStorageService.attachDescriptions(written);
+        jobRepository.saveAll(inserts);
+        for (int i = 0; i < unchangedIds.size(); i += LOOKUP_CHUNK_SIZE) {
+            jobRepository.touchLastSeen(unchangedIds.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, unchangedIds.size())),
+                    now, expiresAt);
+        }
+        locationFacetService.apply(facetDeltas);
+        if (!written.isEmpty() || reactivated > 0) {
+            eventPublisher.publishEvent(new JobDataChangedEvent(inserts.size() + reactivated, changed.size(), 0));
+        }
+
+        IngestResult result = new IngestResult(inserts.size(), changed.size(), unchangedIds.size());
+        log.info("Ingested {} jobs: {} new, {} changed, {} unchanged",
+                result.total(), result.newJobs(), result.changed(), result.unchanged());
+        return result;
+    }
+
+    /**
+     * Deactivate a batch of expired jobs and take them out of the location
+     * facets in one transaction.
+     *
+     * @return number of jobs deactivated
+     */
+    @Transactional
+    public int deactivate(List<Long> ids) {
+        Map<String, Long> facetDeltas = new HashMap<>();
+        for (LocationOption option : jobRepository.countActiveByLocation(ids)) {
+            LocationFacetService.addDelta(facetDeltas, option.getValue(), -option.getJobCount());
+        }
+        int deactivated = jobRepository.deactivate(ids);
+        locationFacetService.apply(facetDeltas);
+        if (deactivated > 0) {
+            eventPublisher.publishEvent(new JobDataChangedEvent(0, 0, deactivated));
+        }
+        return deactivated;
+    }
+
+    /**
+     * Hash of the fields that make up a posting's visible content. The posted
+     * date only counts when the provider supplied one.
+     */
+    static String contentHash(Job job) {
+        String content = String.join(String.valueOf(FIELD_SEPARATOR),
+                Objects.toString(job.getTitle(), ""),
+                Objects.toString(job.getCompany(), ""),
+                Objects.toString(job.getLocation(), ""),
+                Objects.toString(job.getDescription(), ""),
+                Objects.toString(job.getPostedAt(), ""));
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Plain-text opening of a description, whitespace collapsed and cut at a
+     * word boundary.
+     */
+    static String snippet(String description) {
+        if (description == null || description.isBlank()) {
+            return "";
+        }
+        String text = description.replaceAll("\\s+", " ").trim();
+        if (text.length() <= SNIPPET_LENGTH) {
+            return text;
+        }
+        int cut = text.lastIndexOf(' ', SNIPPET_LENGTH);
+        if (cut < SNIPPET_LENGTH / 2) {
+            cut = SNIPPET_LENGTH;
+        }
+        return text.substring(0, cut) + "…";
+    }
+
+    private void prepareListView(Job job) {
+        job.setSnippet(snippet(job.getDescription()));
+        extractLocation(job);
+        if (job.getLanguage() == null || job.getClassificationScore() == null) {
+            jobFilterService.applyClassification(job, jobFilterService.classifyJob(job));
+        }
+    }
+
+    private void extractLocation(Job job) {
+        StructuredLocation location = locationExtractor.extract(job.getLocation(), job.getTitle());
+        job.setWorkMode(location.workMode());
+        job.setCountryCode(location.countryCode());
+        job.setCity(location.city());
+    }
+
+    private Map<String, Job> findExisting(List<String> urls) {
+        List<Job> found = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i += LOOKUP_CHUNK_SIZE) {
+            found.addAll(jobRepository.findByUrlIn(urls.subList(i, Math.min(i + LOOKUP_CHUNK_SIZE, urls.size()))));
+        }
+        return found.stream().collect(Collectors.toMap(Job::getUrl, Function.identity(), (a, b) -> a));
+    }
+
+    // Rows saved before hashes existed get theirs computed on first comparison
+    private String storedHash(Job stored) {
+        if (stored.getContentHash() == null) {
+            stored.setContentHash(contentHash(stored));
+        }
+        return stored.getContentHash();
+    }
+
+    // Managed entity: dirty checking writes the update on commit
+    private void applyChanges(Job stored, Job incoming, String hash, LocalDateTime now, LocalDateTime expiresAt) {
+        stored.setTitle(incoming.getTitle());
+        stored.setCompany(incoming.getCompany());
+        stored.setLocation(incoming.getLocation());
+        stored.setDescription(incoming.getDescription());
+        if (incoming.getPostedAt() != null) {
+            stored.setPostedAt(incoming.getPostedAt());
+        }
+        stored.setSource(incoming.getSource());
+        stored.setSnippet(snippet(incoming.getDescription()));
+        extractLocation(stored);
+        if (incoming.getLanguage() != null && incoming.getClassificationScore() != null) {
+            stored.setLanguage(incoming.getLanguage());
+            stored.setClassificationScore(incoming.getClassificationScore());
+        } else {
+            jobFilterService.applyClassification(stored, jobFilterService.classifyJob(stored));
+        }
+        stored.setContentHash(hash);
+        stored.setLastSeenAt(now);
+        stored.setExpiresAt(expiresAt);
+        stored.setActive(true);
+    }
+}
@@ -0,0 +1,90 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.dto.FacetCount;
+import com.entry_level_jobs.dto.JobSummaryDTO;
+import com.entry_level_jobs.repository.JobRepository;
+import com.entry_level_jobs.search.JobFilter;
+import com.entry_level_jobs.search.JobSnapshot;
+import com.entry_level_jobs.search.Ranking;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pages through the job feed. Served from the in-memory read model when it
+ * is ready, where totals cost nothing extra; otherwise from the database in
+ * a read-only transaction, with totals as requested by the {@link CountMode}.
+ * Facet counts need the read model's bitmaps, and relevance order and
+ * highlights its term index, so they are only available from memory; the
+ * database path lists newest first without highlights.
+ */
+@Service
+public class JobListingService {
+    private final JobRepository jobRepository;
+    private final JobCountCache jobCountCache;
+    private final JobReadModelService readModel;
+    private final TransactionTemplate readOnlyTransaction;
+    private final double titleBoost;
+    private final double halfLifeDays;
+    private final double recencyWeight;
+
+    public JobListingService(JobRepository jobRepository, JobCountCache jobCountCache,
+            JobReadModelService readModel, PlatformTransactionManager transactionManager,
+            @Value("${jobs.search.relevance.title-boost:3.0}") double titleBoost,
+            @Value("${jobs.search.relevance.half-life-days:14}") double halfLifeDays,
+            @Value("${jobs.search.relevance.recency-weight:0.3}") double recencyWeight) {
+        this.jobRepository = jobRepository;
+        this.jobCountCache = jobCountCache;
+        this.readModel = readModel;
+        this.titleBoost = titleBoost;
+        this.halfLifeDays = halfLifeDays;
+        this.recencyWeight = recencyWeight;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public JobListing list(JobFilter filter, PageRequest pageRequest, CountMode countMode, SortMode sortMode,
+            boolean withFacets, boolean withHighlights) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime postedSince = filter.postedSince(readModel.listingWindowStart(), now);
+        JobSnapshot snapshot = readModel.current();
+        if (snapshot != null) {
+            Ranking ranking = sortMode == SortMode.RELEVANCE
+                    ? new Ranking(titleBoost, halfLifeDays, recencyWeight, now)
+                    : null;
+            JobSnapshot.Result result = snapshot.query(filter, postedSince, pageRequest.getOffset(),
+                    pageRequest.getPageSize(), withFacets, ranking, withHighlights);
+            return new JobListing(new SliceImpl<>(result.content(), pageRequest, result.hasNext()),
+                    countMode == CountMode.NONE ? null : result.total(), result.facets(), result.correctedKeyword(),
+                    true);
+        }
+
+        return readOnlyTransaction.execute(status -> {
+            Slice<JobSummaryDTO> slice = jobRepository.findSummaries(filter, postedSince, pageRequest);
+            Long total = switch (countMode) {
+                case NONE -> null;
+                case CACHED -> jobCountCache.count(filter, postedSince);
+                case EXACT -> jobRepository.countSummaries(filter, postedSince);
+            };
+            return new JobListing(slice, total, null, null, false);
+        });
+    }
+
+    /**
+     * @param total         matching jobs, or null when not counted
+     * @param facets        facet counts of the matching jobs, or null when not available
+     * @param correctedKeyword keyword searched for instead of a misspelled one, or null
+     * @param fromReadModel whether the page came from memory rather than the database
+     */
+    public record JobListing(Slice<JobSummaryDTO> slice, Long total, Map<String, List<FacetCount>> facets,
+            String correctedKeyword, boolean fromReadModel) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.entry_level_jobs.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Maintains the monthly partitions of the PostgreSQL {@code jobs} table (see
+ * {@code db/jobs_partitioning.sql}). Partitions for the next few months are
+ * created ahead of time. Partitions older than the retention window are
+ * detached and moved into the archive schema, so retiring a month of
+ * postings is a metadata operation instead of a mass DELETE.
+ *
+ * <p>Only active with {@code jobs.partitioning.enabled=true}; H2 and
+ * unconverted databases keep the plain table.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(value = "jobs.partitioning.enabled", havingValue = "true")
+public class JobPartitionService {
+    private static final String LEASE_NAME = "partitions";
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("jobs_p(\\d{4})_(\\d{2})");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SchedulerLeaseService leaseService;
+    private final LocationFacetService locationFacetService;
+    private final int monthsAhead;
+    private final int retentionMonths;
+    private final String archiveSchema;
+    private final long detachLockTimeoutMs;
+
+    public JobPartitionService(JdbcTemplate jdbcTemplate,
+            SchedulerLeaseService leaseService,
+            LocationFacetService locationFacetService,
+            @Value("${jobs.partitioning.months-ahead:3}") int monthsAhead,
+            @Value("${jobs.partitioning.retention-months:6}") int retentionMonths,
+            @Value("${jobs.partitioning.archive-schema:jobs_archive}") String archiveSchema,
+            @Value("${jobs.partitioning.detach-lock-timeout-ms:5000}") long detachLockTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseService = leaseService;
+        this.locationFacetService = locationFacetService;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+        this.archiveSchema = archiveSchema;
+        this.detachLockTimeoutMs = detachLockTimeoutMs;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintain();
+    }
+
+    @Scheduled(cron = "${jobs.partitioning.cron:0 15 3 * * *}")
+    public void maintain() {
+        try {
+            if (!leaseService.tryAcquire(LEASE_NAME, Duration.ofHours(1))) {
+                log.debug("Partition lease is held by another instance; skipping maintenance");
+                return;
+            }
+            LocalDate today = LocalDate.now();
+            createUpcomingPartitions(today);
+            if (archiveExpiredPartitions(today) > 0) {
+                // Detached rows leave without going through expiry
+                locationFacetService.rebuild();
+            }
+        } catch (Exception e) {
+            log.error("Partition maintenance failed", e);
+        }
+    }
+
+    /**
+     * Make sure partitions exist from the current month up to
+     * {@code months-ahead} months in the future.
+     */
+    void createUpcomingPartitions(LocalDate today) {
+        YearMonth current = YearMonth.from(today);
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String sql = String.format(
+                    "CREATE TABLE IF NOT EXISTS %s PARTITION OF jobs FOR VALUES FROM ('%s') TO ('%s')",
+                    partitionName(month), month.atDay(1), month.plusMonths(1).atDay(1));
+            try {
+                jdbcTemplate.execute(sql);
+            } catch (Exception e) {
+                // Usually rows for that month already sit in the default partition
+                log.warn("Could not create partition {}: {}", partitionName(month), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Detach partitions whose whole month lies before the retention window and
+     * move them into the archive schema.
+     *
+     * @return number of partitions archived
+     */
+    int archiveExpiredPartitions(LocalDate today) {
+        YearMonth oldestKept = YearMonth.from(today).minusMonths(retentionMonths);
+        int archived = 0;
+        for (String partition : attachedPartitions()) {
+            Matcher matcher = PARTITION_NAME.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            if (!detach(partition)) {
+                continue;
+            }
+            jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS " + archiveSchema);
+            jdbcTemplate.execute("ALTER TABLE " + partition + " SET SCHEMA " + archiveSchema);
+            log.info("Archived partition {} into schema {}", partition, archiveSchema);
+            archived++;
+        }
+        return archived;
+    }
+
+    /**
+     * Plain DETACH, since CONCURRENTLY is refused while jobs_default exists.
+     * It needs an ACCESS EXCLUSIVE lock on jobs; waiting for it would queue
+     * every listing query behind the detach, so give up after
+     * {@code detach-lock-timeout-ms} and try again on the next run.
+     */
+    private boolean detach(String partition) {
+        try {
+            jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET lock_timeout = " + detachLockTimeoutMs);
+                    try {
+                        statement.execute("ALTER TABLE jobs DETACH PARTITION " + partition);
+                    } finally {
+                        statement.execute("RESET lock_timeout");
+                    }
+                }
+                return null;
+            });
+            return true;
+        } catch (DataAccessException e) {
+            log.warn("Could not detach partition {}; retrying on the next run: {}", partition, e.getMessage());
+            return false;
+        }
+    }
+
+    private List<String> attachedPartitions() {
+        return jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i " +
+                        "JOIN pg_class c ON c.oid = i.inhrelid " +
+                        "JOIN pg_class p ON p.oid = i.inhparent " +
+                        "WHERE p.relname = 'jobs' AND p.relnamespace = to_regnamespace(current_schema()) " +
+                        "ORDER BY c.relname",
+                String.class);
+    }
+
+    static String partitionName(YearMonth month) {
+        return "jobs_p" + month.format(SUFFIX);
+    }
+}
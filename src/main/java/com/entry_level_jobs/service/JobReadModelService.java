@@ -0,0 +1,169 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.dto.JobSummaryDTO;
+import com.entry_level_jobs.repository.JobRepository;
+import com.entry_level_jobs.search.JobSnapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the current {@link JobSnapshot} of the listing window. A new
+ * snapshot is built on a background thread after jobs change and published
+ * with a single reference swap; readers keep using whichever snapshot they
+ * picked up. {@link #current()} is null until the first build completes or
+ * when the read model is disabled.
+ */
+@Service
+@Slf4j
+public class JobReadModelService {
+    private final JobRepository jobRepository;
+    private final JobDataVersion dataVersion;
+    private final boolean enabled;
+    private final int listingMaxAgeMonths;
+    private final AtomicReference<JobSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor;
+    private volatile Instant builtAt;
+    private volatile DataState builtFrom;
+    // Only touched on the rebuild thread
+    private long builtFingerprint;
+
+    public JobReadModelService(JobRepository jobRepository, JobDataVersion dataVersion,
+            @Value("${jobs.read-model.enabled:true}") boolean enabled,
+            @Value("${jobs.listing.max-age-months:${jobs.partitioning.retention-months:6}}") int listingMaxAgeMonths) {
+        this.jobRepository = jobRepository;
+        this.dataVersion = dataVersion;
+        this.enabled = enabled;
+        this.listingMaxAgeMonths = listingMaxAgeMonths;
+        this.rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "job-read-model");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public JobSnapshot current() {
+        return snapshot.get();
+    }
+
+    /**
+     * Oldest {@code postedAt} the feed shows: the first day of the month
+     * {@code jobs.listing.max-age-months} back.
+     */
+    public LocalDateTime listingWindowStart() {
+        return YearMonth.now().minusMonths(listingMaxAgeMonths).atDay(1).atStartOfDay();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onJobDataChanged(JobDataChangedEvent event) {
+        requestRebuild();
+    }
+
+    /**
+     * Picks up jobs ingested or expired by other instances. Polls a single
+     * aggregate row and only rebuilds when it moved since the last build.
+     */
+    @Scheduled(initialDelayString = "${jobs.read-model.refresh-ms:60000}",
+            fixedDelayString = "${jobs.read-model.refresh-ms:60000}")
+    public void scheduledRefresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!currentState().equals(builtFrom)) {
+                requestRebuild();
+            }
+        } catch (Exception e) {
+            log.warn("Could not check job read model for changes: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Queue a rebuild unless one is already queued; changes during a rebuild
+     * queue exactly one more.
+     */
+    public void requestRebuild() {
+        if (enabled && rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    void rebuild() {
+        rebuildPending.set(false);
+        try {
+            long started = System.nanoTime();
+            // Read before the rows, so a change landing mid-load still differs on the next poll
+            DataState state = currentState();
+            List<JobSummaryDTO> summaries = jobRepository.findActiveSummaries(state.postedSince());
+            long fingerprint = fingerprint(summaries);
+            JobSnapshot rebuilt = JobSnapshot.build(summaries);
+            JobSnapshot previous = snapshot.getAndSet(rebuilt);
+            if (previous == null || previous.size() != rebuilt.size() || fingerprint != builtFingerprint) {
+                // Responses cached while the old snapshot was still live went out under the current version
+                dataVersion.bump();
+            }
+            builtFingerprint = fingerprint;
+            builtAt = Instant.now();
+            builtFrom = state;
+            log.debug("Rebuilt job read model with {} jobs in {} ms", rebuilt.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Could not rebuild job read model; keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        JobSnapshot current = snapshot.get();
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ready", current != null);
+        stats.put("jobs", current == null ? 0 : current.size());
+        stats.put("built_at", builtAt);
+        return stats;
+    }
+
+    // Order-independent, so the database may return rows in any order
+    private static long fingerprint(List<JobSummaryDTO> summaries) {
+        long fingerprint = 0;
+        for (JobSummaryDTO summary : summaries) {
+            fingerprint += summary.hashCode() * 0x9E3779B97F4A7C15L;
+        }
+        return fingerprint;
+    }
+
+    private DataState currentState() {
+        LocalDateTime postedSince = listingWindowStart();
+        JobRepository.ActiveJobsState state = jobRepository.findActiveState(postedSince);
+        return new DataState(postedSince, state.getCount(), state.getMaxId(), state.getLastSeenAt());
+    }
+
+    private record DataState(LocalDateTime postedSince, long count, Long maxId, LocalDateTime lastSeenAt) {
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,168 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.search.JobFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Caches serialized {@code /api/jobs} responses of anonymous requests, so
+ * the popular pages (the unfiltered feed, a few locations) skip querying,
+ * building DTOs and writing JSON. Entries are stamped with the
+ * {@link JobDataVersion} read before the response was built, so one that
+ * raced an ingest is already stale when stored; the TTL bounds staleness
+ * from ingests on other instances. The cache is bounded by the total size
+ * of the bodies it holds and evicts the least recently used first.
+ *
+ * <p>Misses go through {@link #getOrLoad}, which coalesces identical
+ * concurrent misses with a {@link SingleFlight}: when a popular page
+ * expires or an ingest bumps the version, one request rebuilds it and the
+ * rest wait for that body instead of all querying at once.
+ */
+@Service
+@Slf4j
+public class JobResponseCache {
+    private final JobDataVersion dataVersion;
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final long maxBytes;
+    // Access order, so iteration starts at the least recently used entry
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final SingleFlight<Flight, Body> loads;
+
+    public JobResponseCache(JobDataVersion dataVersion,
+            @Value("${jobs.listing.response-cache.enabled:true}") boolean enabled,
+            @Value("${jobs.listing.response-cache.ttl-ms:30000}") long ttlMs,
+            @Value("${jobs.listing.response-cache.max-bytes:16777216}") long maxBytes,
+            @Value("${jobs.listing.single-flight.max-wait-ms:2000}") long maxWaitMs) {
+        this.dataVersion = dataVersion;
+        this.enabled = enabled;
+        this.ttlNanos = Duration.ofMillis(ttlMs).toNanos();
+        this.maxBytes = maxBytes;
+        this.loads = new SingleFlight<>(Duration.ofMillis(maxWaitMs));
+    }
+
+    /**
+     * Cached body for {@code key}, or the body {@code loader} builds. Loads
+     * for the same key and data version run once however many requests
+     * miss together; a cacheable body is stored under the version read
+     * before loading.
+     */
+    public byte[] getOrLoad(Key key, Supplier<Body> loader) {
+        long version = dataVersion.current();
+        byte[] cached = get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return loads.run(new Flight(key, version), () -> {
+            Body body = loader.get();
+            if (body.cacheable()) {
+                put(key, version, body.json());
+            }
+            return body;
+        }).json();
+    }
+
+    /**
+     * Cached body for {@code key}, or null when there is none for the
+     * current data version.
+     */
+    public byte[] get(Key key) {
+        if (!enabled) {
+            return null;
+        }
+        long version = dataVersion.current();
+        long now = System.nanoTime();
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.version() == version && now - entry.storedAt() < ttlNanos) {
+                hits.incrementAndGet();
+                return entry.body();
+            }
+            if (entry != null) {
+                remove(key);
+            }
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    /**
+     * Store {@code body} for {@code key}, evicting the least recently used
+     * entries until it fits. Bodies larger than a quarter of the cache are
+     * not kept, so one huge page cannot flush the popular ones.
+     */
+    public void put(Key key, long version, byte[] body) {
+        if (!enabled || body.length > maxBytes / 4) {
+            return;
+        }
+        long now = System.nanoTime();
+        synchronized (this) {
+            remove(key);
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (bytes + body.length > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().body().length;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+            entries.put(key, new Entry(version, now, body));
+            bytes += body.length;
+        }
+    }
+
+    public synchronized Map<String, Object> snapshot() {
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("entries", entries.size());
+        snapshot.put("bytes", bytes);
+        snapshot.put("max_bytes", maxBytes);
+        snapshot.put("hits", hits.get());
+        snapshot.put("misses", misses.get());
+        snapshot.put("evictions", evictions.get());
+        snapshot.put("data_version", dataVersion.current());
+        snapshot.put("single_flight", loads.snapshot());
+        return snapshot;
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            bytes -= removed.body().length;
+        }
+    }
+
+    /**
+     * Everything a listing response depends on, after normalization. The
+     * keyword and location are also kept as typed (trimmed), since the
+     * response message echoes them.
+     */
+    public record Key(JobFilter filter, String keyword, String location, int page, int size, CountMode countMode,
+            SortMode sortMode, boolean facets, boolean highlight) {
+    }
+
+    /**
+     * A serialized response and whether it may be cached; responses missing
+     * parts the request asked for are still shared with concurrent waiters
+     * but not kept.
+     */
+    public record Body(byte[] json, boolean cacheable) {
+    }
+
+    private record Flight(Key key, long version) {
+    }
+
+    private record Entry(long version, long storedAt, byte[] body) {
+    }
+}
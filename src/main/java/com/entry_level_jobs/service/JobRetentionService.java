@@ -0,0 +1,205 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+
+/**
+ * Background sweeper that retires stale jobs. It works in two phases.
+ * First, active jobs past {@code expiresAt} are deactivated, which drops
+ * them from listings. Later, jobs inactive for longer than the purge delay
+ * are deleted, unless a user has saved them. When the table is
+ * partitioned ({@code jobs.partitioning.enabled}) the second phase is skipped:
+ * {@link JobPartitionService} retires whole months by detaching partitions.
+ * The same sweep also moves legacy inline descriptions into the compressed
+ * side table and removes description rows no job refers to any more.
+ *
+ * <p>Work is done in small batches of ids. Each batch is a single short
+ * UPDATE or DELETE in its own transaction, with a pause between batches.
+ * So the sweeper holds at most one pooled connection, briefly, and never
+ * locks more than a batch of rows. Only the instance holding the retention
+ * lease sweeps.
+ */
+@Service
+@Slf4j
+public class JobRetentionService {
+    private static final String LEASE_NAME = "retention";
+
+    private final JobRepository jobRepository;
+    private final SchedulerLeaseService leaseService;
+    private final DescriptionStorageService descriptionStorageService;
+    private final JobIngestService jobIngestService;
+    private final boolean enabled;
+    private final boolean partitioned;
+    private final Duration ttl;
+    private final Duration purgeAfter;
+    private final int batchSize;
+    private final long batchPauseMs;
+    private final int maxBatches;
+    private final Duration sweepInterval;
+    private final LongAdder deactivated = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+    private final LongAdder descriptionsMigrated = new LongAdder();
+    private final LongAdder descriptionsPurged = new LongAdder();
+    private volatile LocalDateTime lastSweepAt;
+
+    public JobRetentionService(JobRepository jobRepository,
+            SchedulerLeaseService leaseService,
+            DescriptionStorageService descriptionStorageService,
+            JobIngestService jobIngestService,
+            @Value("${jobs.retention.enabled:true}") boolean enabled,
+            @Value("${jobs.partitioning.enabled:false}") boolean partitioned,
+            @Value("${jobs.retention.ttl-days:30}") long ttlDays,
+            @Value("${jobs.retention.purge-after-days:60}") long purgeAfterDays,
+            @Value("${jobs.retention.batch-size:200}") int batchSize,
+            @Value("${jobs.retention.batch-pause-ms:500}") long batchPauseMs,
+            @Value("${jobs.retention.max-batches:50}") int maxBatches,
+            @Value("${jobs.retention.sweep-interval-ms:3600000}") long sweepIntervalMs) {
+        this.jobRepository = jobRepository;
+        this.leaseService = leaseService;
+        this.descriptionStorageService = descriptionStorageService;
+        this.jobIngestService = jobIngestService;
+        this.enabled = enabled;
+        this.partitioned = partitioned;
+        this.ttl = Duration.ofDays(ttlDays);
+        this.purgeAfter = Duration.ofDays(purgeAfterDays);
+        this.batchSize = batchSize;
+        this.batchPauseMs = batchPauseMs;
+        this.maxBatches = maxBatches;
+        this.sweepInterval = Duration.ofMillis(sweepIntervalMs);
+    }
+
+    @Scheduled(initialDelayString = "${jobs.retention.initial-delay-ms:300000}",
+            fixedDelayString = "${jobs.retention.sweep-interval-ms:3600000}")
+    public void scheduledSweep() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (!leaseService.tryAcquire(LEASE_NAME, sweepInterval)) {
+                log.debug("Retention lease is held by another instance; skipping sweep");
+                return;
+            }
+            sweep();
+        } catch (Exception e) {
+            log.error("Retention sweep failed", e);
+        }
+    }
+
+    /**
+     * Run one sweep: deactivate expired jobs, then purge long-inactive ones.
+     * Each phase stops after {@code max-batches} batches; the rest is picked
+     * up by the next sweep.
+     */
+    public void sweep() {
+        LocalDateTime now = LocalDateTime.now();
+        int retired = deactivateExpired(now);
+        int deleted = partitioned ? 0 : purgeInactive(now);
+        int migrated = inBatches(() -> descriptionStorageService.migrateInlineDescriptions(batchSize),
+                descriptionsMigrated);
+        // Detached archive partitions still reference their descriptions
+        int orphans = partitioned ? 0 : inBatches(() -> descriptionStorageService.purgeOrphans(batchSize),
+                descriptionsPurged);
+        lastSweepAt = now;
+        if (retired > 0 || deleted > 0 || migrated > 0 || orphans > 0) {
+            log.info("Retention sweep deactivated {} expired jobs, purged {} inactive jobs, "
+                    + "moved {} inline descriptions and removed {} unused descriptions",
+                    retired, deleted, migrated, orphans);
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", enabled);
+        stats.put("ttl_days", ttl.toDays());
+        stats.put("purge_after_days", partitioned ? null : purgeAfter.toDays());
+        stats.put("partitioned", partitioned);
+        stats.put("deactivated", deactivated.sum());
+        stats.put("purged", purged.sum());
+        stats.put("descriptions_migrated", descriptionsMigrated.sum());
+        stats.put("descriptions_purged", descriptionsPurged.sum());
+        stats.put("last_sweep_at", lastSweepAt);
+        return stats;
+    }
+
+    private int deactivateExpired(LocalDateTime now) {
+        LocalDateTime staleBefore = now.minus(ttl);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> ids = jobRepository.findExpiredActiveIds(now, staleBefore, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            int updated = jobIngestService.deactivate(ids);
+            total += updated;
+            deactivated.add(updated);
+            if (ids.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int purgeInactive(LocalDateTime now) {
+        LocalDateTime expiredBefore = now.minus(purgeAfter);
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> ids = jobRepository.findPurgeableIds(expiredBefore, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            try {
+                int deleted = jobRepository.deleteInactive(ids);
+                total += deleted;
+                purged.add(deleted);
+            } catch (DataIntegrityViolationException e) {
+                // A user saved one of these jobs since we selected it; retry on the next sweep
+                log.debug("Skipping purge batch referenced by saved jobs");
+                break;
+            }
+            if (ids.size() < batchSize || !pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private int inBatches(IntSupplier batch, LongAdder counter) {
+        int total = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int done = batch.getAsInt();
+            total += done;
+            counter.add(done);
+            if (done < batchSize || !pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    // Let API traffic have the pool between batches
+    private boolean pause() {
+        if (batchPauseMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(batchPauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
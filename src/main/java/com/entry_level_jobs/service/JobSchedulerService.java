@@ -1,21 +1,38 @@
 package com.entry_level_jobs.service;
 
+import com.entry_level_jobs.fetch.JobSource;
 import com.entry_level_jobs.model.Job;
-import com.entry_level_jobs.repository.JobRepository;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.Trigger;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Scheduler service that periodically fetches jobs from external APIs and saves
- * entry-level jobs.
+ * Scheduler service that periodically fetches jobs from each registered
+ * {@link JobSource} and saves entry-level jobs. Every source runs on its own
+ * cadence, managed by {@link SourceCadenceService}, on the shared task
+ * scheduler pool. When several instances run against the same database, a
+ * per-source lease from {@link SchedulerLeaseService} makes sure only one of
+ * them ingests a given source; the lease is held until the source's next run
+ * is due and renewed while a run is in progress. Renewals run on their own
+ * thread, so they keep going while every pool thread is busy fetching.
  */
 @Service
 @Slf4j
@@ -23,67 +40,157 @@ import java.util.concurrent.locks.ReentrantLock;
 public class JobSchedulerService {
     private final JobFetchService jobFetchService;
     private final JobFilterService jobFilterService;
-    private final JobRepository jobRepository;
-    private final ReentrantLock runLock = new ReentrantLock();
-    private final long serviceDelayMs;
+    private final JobIngestService jobIngestService;
+    private final TaskScheduler taskScheduler;
+    private final SourceCadenceService cadenceService;
+    private final SchedulerLeaseService leaseService;
+    private final Duration leaseDuration;
+    private final Map<String, AtomicBoolean> runningSources = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService heartbeatExecutor;
 
     public JobSchedulerService(JobFetchService jobFetchService,
             JobFilterService jobFilterService,
-            JobRepository jobRepository,
-            @Value("${jobs.fetch.service-delay-ms:500}") long serviceDelayMs) {
+            JobIngestService jobIngestService,
+            TaskScheduler taskScheduler,
+            SourceCadenceService cadenceService,
+            SchedulerLeaseService leaseService,
+            @Value("${jobs.fetch.lease.duration-ms:600000}") long leaseDurationMs) {
         this.jobFetchService = jobFetchService;
         this.jobFilterService = jobFilterService;
-        this.jobRepository = jobRepository;
-        this.serviceDelayMs = serviceDelayMs;
+        this.jobIngestService = jobIngestService;
+        this.taskScheduler = taskScheduler;
+        this.cadenceService = cadenceService;
+        this.leaseService = leaseService;
+        this.leaseDuration = Duration.ofMillis(leaseDurationMs);
+        this.heartbeatExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lease-heartbeat");
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
-    // Runs every jobs.fetch.interval.ms milliseconds (default 1 hour)
-    @Scheduled(fixedDelayString = "${jobs.fetch.interval.ms:3600000}")
-    public void scheduledFetchAndSave() {
-        if (!runLock.tryLock()) {
-            log.info("Another fetch job is already running; skipping this run");
+    @EventListener(ApplicationReadyEvent.class)
+    public void scheduleSources() {
+        for (JobSource<?> source : jobFetchService.getSources()) {
+            taskScheduler.schedule(() -> runSource(source), sourceTrigger(source));
+            log.info("Scheduled source {} starting every {}", source.getName(),
+                    cadenceService.currentInterval(source));
+        }
+    }
+
+    /**
+     * Fetch, filter and save one source. Skipped when the previous run of the
+     * same source is still in progress, or when another instance holds the
+     * source's lease.
+     */
+    public void runSource(JobSource<?> source) {
+        AtomicBoolean running = runningSources.computeIfAbsent(source.getName(), name -> new AtomicBoolean());
+        if (!running.compareAndSet(false, true)) {
+            log.info("A fetch of {} is already running; skipping this run", source.getName());
             return;
         }
 
+        String leaseName = leaseName(source);
+        boolean leased;
         try {
-            log.info("Scheduled job started: fetching jobs from external APIs");
-            List<Job> fetched = jobFetchService.fetchJobsFromApis();
-
-            // small delay between services to be gentle on APIs
-            try {
-                Thread.sleep(serviceDelayMs);
-            } catch (InterruptedException ignored) {
-                Thread.currentThread().interrupt();
-            }
+            leased = leaseService.tryAcquire(leaseName, leaseDuration);
+        } catch (Exception e) {
+            log.error("Could not acquire scheduler lease {}; skipping this run", leaseName, e);
+            leased = false;
+        }
+        if (!leased) {
+            log.info("Lease {} is held by another instance; skipping this run", leaseName);
+            running.set(false);
+            return;
+        }
 
+        long heartbeatMs = leaseDuration.dividedBy(3).toMillis();
+        ScheduledFuture<?> heartbeat = heartbeatExecutor.scheduleAtFixedRate(
+                () -> renewLease(leaseName), heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+        try {
+            log.info("Scheduled job started: fetching jobs from {}", source.getName());
+            List<Job> fetched = jobFetchService.fetchJobsFromSource(source);
             List<Job> filtered = jobFilterService.filterEntryLevelJobs(fetched);
-            saveJobsTransactional(filtered);
-            log.info("Scheduled job completed: saved entry-level jobs");
+            IngestResult result = ingest(filtered);
+            cadenceService.recordRun(source, fetched.size(), filtered.size(), result.newJobs());
+            log.info("Scheduled job completed for {}: {} new, {} changed, {} unchanged entry-level jobs",
+                    source.getName(), result.newJobs(), result.changed(), result.unchanged());
         } catch (Exception e) {
-            log.error("Error during scheduled fetch and save", e);
+            log.error("Error during scheduled fetch and save of {}", source.getName(), e);
         } finally {
-            runLock.unlock();
+            heartbeat.cancel(false);
+            holdLeaseUntilNextRun(source, leaseName);
+            running.set(false);
         }
     }
 
-    @Transactional
-    public void saveJobsTransactional(List<Job> jobs) {
-        for (Job job : jobs) {
-            try {
-                if (job.getUrl() != null && !job.getUrl().isBlank()) {
-                    if (jobRepository.findByUrl(job.getUrl()).isPresent()) {
-                        log.debug("Job with URL already exists, skipping: {}", job.getUrl());
-                        continue;
-                    }
-                }
-                jobRepository.save(job);
-                log.debug("Saved job: {} - {}", job.getTitle(), job.getCompany());
-            } catch (DataIntegrityViolationException dive) {
-                // Likely unique constraint violation due to race; ignore and continue
-                log.warn("Data integrity violation when saving job (possible duplicate), skipping: {}", job.getUrl());
-            } catch (Exception e) {
-                log.error("Failed to save job: {}", job.getUrl(), e);
+    /**
+     * Ingest a batch, retrying once if another writer inserted one of the
+     * same URLs concurrently (the retry then sees it as existing).
+     */
+    private IngestResult ingest(List<Job> jobs) {
+        try {
+            return jobIngestService.ingest(jobs);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Concurrent insert detected while ingesting; retrying batch once");
+            // The rolled-back attempt left generated ids and links to rows that no longer exist on these instances
+            return jobIngestService.ingest(jobs.stream().map(JobSchedulerService::fetchedCopy).toList());
+        }
+    }
+
+    /**
+     * New instance with only what fetching and filtering filled in.
+     */
+    private static Job fetchedCopy(Job job) {
+        return Job.builder()
+                .title(job.getTitle())
+                .company(job.getCompany())
+                .location(job.getLocation())
+                .url(job.getUrl())
+                .description(job.getDescription())
+                .source(job.getSource())
+                .postedAt(job.getPostedAt())
+                .language(job.getLanguage())
+                .classificationScore(job.getClassificationScore())
+                .build();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeatExecutor.shutdownNow();
+    }
+
+    private static String leaseName(JobSource<?> source) {
+        return "ingest:" + source.getName();
+    }
+
+    private void renewLease(String leaseName) {
+        try {
+            if (!leaseService.extend(leaseName, leaseDuration)) {
+                log.warn("Lease {} was taken over by another instance during a run", leaseName);
             }
+        } catch (Exception e) {
+            log.warn("Failed to renew lease {}", leaseName, e);
         }
     }
+
+    // Keep the lease between runs so other instances don't fetch the source we just fetched
+    private void holdLeaseUntilNextRun(JobSource<?> source, String leaseName) {
+        try {
+            leaseService.extend(leaseName, cadenceService.currentInterval(source));
+        } catch (Exception e) {
+            log.warn("Failed to extend lease {} until the next run", leaseName, e);
+        }
+    }
+
+    // First run right away, then the source's current adaptive interval after each completion
+    private Trigger sourceTrigger(JobSource<?> source) {
+        return context -> {
+            Instant lastCompletion = context.lastCompletion();
+            if (lastCompletion == null) {
+                return Instant.now();
+            }
+            return lastCompletion.plus(cadenceService.currentInterval(source));
+        };
+    }
 }
@@ -0,0 +1,83 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.location.LocationDictionary;
+import com.entry_level_jobs.location.StructuredLocation;
+import com.entry_level_jobs.location.WorkMode;
+import com.entry_level_jobs.search.TextNormalizer;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Extracts work mode, country and city from a job's free-text location with
+ * dictionary lookups over its tokens, so ingest can store them as columns.
+ * Phrases are matched longest first at each token ("frankfurt am main"
+ * before "frankfurt"). Work mode also looks at the title, since postings
+ * often say "(Remote)" there and only name a city in the location.
+ */
+@Service
+public class LocationExtractor {
+
+    public StructuredLocation extract(String location, String title) {
+        List<String> locationTokens = TextNormalizer.tokenize(location);
+        WorkMode workMode = workMode(locationTokens);
+        if (workMode == null) {
+            workMode = workMode(TextNormalizer.tokenize(title));
+        }
+
+        LocationDictionary.City city = null;
+        String countryCode = null;
+        for (int start = 0; start < locationTokens.size();) {
+            int matched = 0;
+            for (int length = Math.min(LocationDictionary.MAX_PHRASE_TOKENS, locationTokens.size() - start);
+                    length > 0 && matched == 0; length--) {
+                String phrase = String.join(" ", locationTokens.subList(start, start + length));
+                LocationDictionary.City knownCity = LocationDictionary.CITIES.get(phrase);
+                String knownCountry = LocationDictionary.COUNTRIES.get(phrase);
+                if (knownCity != null && city == null) {
+                    city = knownCity;
+                }
+                if (knownCountry != null && countryCode == null) {
+                    countryCode = knownCountry;
+                }
+                if (knownCity != null || knownCountry != null) {
+                    matched = length;
+                }
+            }
+            start += Math.max(matched, 1);
+        }
+
+        if (countryCode == null && city != null) {
+            countryCode = city.countryCode();
+        } else if (city != null && !city.countryCode().equals(countryCode)) {
+            // "Paris, United States" is not the Paris in the dictionary
+            city = null;
+        }
+        return new StructuredLocation(workMode == null ? WorkMode.ONSITE : workMode, countryCode,
+                city == null ? null : city.name());
+    }
+
+    /**
+     * Work mode named anywhere in the tokens, or null. Hybrid wins over
+     * remote because hybrid postings usually say "remote" too.
+     */
+    private static WorkMode workMode(List<String> tokens) {
+        boolean remote = false;
+        boolean onsite = false;
+        for (int start = 0; start < tokens.size(); start++) {
+            for (int length = 1; length <= Math.min(LocationDictionary.MAX_PHRASE_TOKENS, tokens.size() - start);
+                    length++) {
+                String phrase = String.join(" ", tokens.subList(start, start + length));
+                if (LocationDictionary.HYBRID_PHRASES.contains(phrase)) {
+                    return WorkMode.HYBRID;
+                }
+                remote |= LocationDictionary.REMOTE_PHRASES.contains(phrase);
+                onsite |= LocationDictionary.ONSITE_PHRASES.contains(phrase);
+            }
+        }
+        if (remote) {
+            return WorkMode.REMOTE;
+        }
+        return onsite ? WorkMode.ONSITE : null;
+    }
+}
@@ -0,0 +1,139 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.dto.LocationOption;
+import com.entry_level_jobs.model.LocationFacet;
+import com.entry_level_jobs.repository.JobRepository;
+import com.entry_level_jobs.repository.LocationFacetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@code location_facets} in step with the active jobs. Writers collect
+ * per-location deltas and apply them inside their own transaction, so counts
+ * change atomically with the rows they describe. Autocomplete then reads only
+ * the small facet table.
+ */
+@Service
+@Slf4j
+public class LocationFacetService {
+    private final LocationFacetRepository facetRepository;
+    private final JobRepository jobRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    public LocationFacetService(LocationFacetRepository facetRepository, JobRepository jobRepository,
+            ApplicationEventPublisher eventPublisher, PlatformTransactionManager transactionManager) {
+        this.facetRepository = facetRepository;
+        this.jobRepository = jobRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public static String normalize(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        return location.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Add {@code delta} for {@code location} to a pending delta map.
+     */
+    public static void addDelta(Map<String, Long> deltas, String location, long delta) {
+        if (location != null && !location.isBlank() && delta != 0) {
+            deltas.merge(location.trim(), delta, Long::sum);
+        }
+    }
+
+    /**
+     * Apply per-location count changes as part of the caller's transaction.
+     * Facets are touched in sorted order so concurrent writers lock them in
+     * the same order. A missing facet is created with an insert that skips
+     * existing rows, so two writers creating the same location both count.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void apply(Map<String, Long> deltasByLocation) {
+        Map<String, Long> byNormalized = new TreeMap<>();
+        Map<String, String> display = new HashMap<>();
+        deltasByLocation.forEach((location, delta) -> {
+            String normalized = normalize(location);
+            if (normalized != null) {
+                byNormalized.merge(normalized, delta, Long::sum);
+                display.putIfAbsent(normalized, location.trim());
+            }
+        });
+
+        boolean changed = false;
+        for (Map.Entry<String, Long> entry : byNormalized.entrySet()) {
+            String normalized = entry.getKey();
+            long delta = entry.getValue();
+            if (delta == 0) {
+                continue;
+            }
+            if (facetRepository.adjust(normalized, delta) == 0 && delta > 0
+                    && facetRepository.createIfAbsent(normalized, display.get(normalized), delta) == 0) {
+                // Another writer created it since our update; its row is committed now, so add to it
+                facetRepository.adjust(normalized, delta);
+            }
+            changed = true;
+        }
+        if (changed) {
+            eventPublisher.publishEvent(new LocationFacetsChangedEvent(false));
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<LocationOption> search(String query, Pageable pageable) {
+        return facetRepository.search(normalize(query), pageable);
+    }
+
+    /**
+     * Recount every facet from the jobs table. Used to seed the table and
+     * after bulk changes that bypass ingest, such as partition detach. Raw
+     * locations are grouped by {@link #normalize} here rather than in SQL, so
+     * the recount puts each spelling in the same facet as {@link #apply}.
+     */
+    @Transactional
+    public void rebuild() {
+        facetRepository.deleteAllFacets();
+        Map<String, LocationFacet> facets = new LinkedHashMap<>();
+        for (LocationOption option : jobRepository.countActiveLocations()) {
+            String normalized = normalize(option.getValue());
+            if (normalized != null) {
+                LocationFacet facet = facets.computeIfAbsent(normalized,
+                        key -> new LocationFacet(key, option.getValue().trim(), 0));
+                facet.setJobCount(facet.getJobCount() + option.getJobCount());
+            }
+        }
+        facetRepository.saveAll(facets.values());
+        log.info("Rebuilt {} location facets", facets.size());
+        eventPublisher.publishEvent(new LocationFacetsChangedEvent(true));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedIfEmpty() {
+        try {
+            if (facetRepository.count() == 0 && jobRepository.countByActiveTrue() > 0) {
+                transactionTemplate.executeWithoutResult(status -> rebuild());
+            }
+        } catch (Exception e) {
+            // Another instance seeding at the same time wins; its counts are just as good
+            log.warn("Could not seed location facets: {}", e.getMessage());
+        }
+    }
+}
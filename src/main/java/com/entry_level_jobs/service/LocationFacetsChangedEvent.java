@@ -0,0 +1,8 @@
+package com.entry_level_jobs.service;
+
+/**
+ * Published inside the transaction that changes {@code location_facets}.
+ * Listeners that copy the facets elsewhere should react after commit.
+ */
+public record LocationFacetsChangedEvent(boolean rebuilt) {
+}
@@ -0,0 +1,127 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.dto.LocationOption;
+import com.entry_level_jobs.repository.LocationFacetRepository;
+import com.entry_level_jobs.search.LocationPrefixIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Serves location autocomplete from an in-memory {@link LocationPrefixIndex}
+ * built from {@code location_facets}. The index is rebuilt on a background
+ * thread after facets change and swapped in atomically, so readers never
+ * wait on a rebuild. Until the first build finishes, or when disabled,
+ * {@link #search} returns empty and callers fall back to the database.
+ */
+@Service
+@Slf4j
+public class LocationIndexService {
+    private final LocationFacetRepository facetRepository;
+    private final boolean enabled;
+    private final int topK;
+    private final AtomicReference<LocationPrefixIndex> index = new AtomicReference<>();
+    private final AtomicBoolean rebuildPending = new AtomicBoolean();
+    private final ExecutorService rebuildExecutor;
+
+    public LocationIndexService(LocationFacetRepository facetRepository,
+            @Value("${jobs.locations.index.enabled:true}") boolean enabled,
+            @Value("${jobs.locations.index.top-k:50}") int topK) {
+        this.facetRepository = facetRepository;
+        this.enabled = enabled;
+        this.topK = topK;
+        this.rebuildExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "location-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Matching locations from the index, or empty when the index is not
+     * available and the caller should query the database instead.
+     */
+    public Optional<Page<LocationOption>> search(String query, int limit) {
+        LocationPrefixIndex current = index.get();
+        if (current == null || limit > topK) {
+            return Optional.empty();
+        }
+        LocationPrefixIndex.Matches matches = current.search(query, limit);
+        return Optional.of(new PageImpl<>(matches.options(), PageRequest.of(0, limit), matches.totalMatches()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        requestRebuild();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFacetsChanged(LocationFacetsChangedEvent event) {
+        requestRebuild();
+    }
+
+    /**
+     * Picks up facet changes committed by other instances.
+     */
+    @Scheduled(initialDelayString = "${jobs.locations.index.refresh-ms:60000}",
+            fixedDelayString = "${jobs.locations.index.refresh-ms:60000}")
+    public void scheduledRefresh() {
+        requestRebuild();
+    }
+
+    /**
+     * Queue a rebuild unless one is already queued. Requests arriving while
+     * a rebuild runs queue exactly one more, so bursts of ingest batches
+     * collapse into a single rebuild.
+     */
+    public void requestRebuild() {
+        if (enabled && rebuildPending.compareAndSet(false, true)) {
+            rebuildExecutor.execute(this::rebuild);
+        }
+    }
+
+    void rebuild() {
+        rebuildPending.set(false);
+        try {
+            long started = System.nanoTime();
+            List<LocationOption> options = facetRepository.findActiveOptions();
+            LocationPrefixIndex rebuilt = LocationPrefixIndex.build(options, topK);
+            index.set(rebuilt);
+            log.debug("Rebuilt location index with {} locations in {} ms", rebuilt.size(),
+                    (System.nanoTime() - started) / 1_000_000);
+        } catch (Exception e) {
+            log.warn("Could not rebuild location index; keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        LocationPrefixIndex current = index.get();
+        Map<String, Object> snapshot = new HashMap<>();
+        snapshot.put("enabled", enabled);
+        snapshot.put("ready", current != null);
+        snapshot.put("locations", current == null ? 0 : current.size());
+        return snapshot;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+}
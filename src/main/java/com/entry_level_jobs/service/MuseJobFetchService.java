@@ -1,82 +1,105 @@
 package com.entry_level_jobs.service;
 
 import com.entry_level_jobs.dto.MuseJobResponse;
+import com.entry_level_jobs.fetch.CircuitOpenException;
+import com.entry_level_jobs.fetch.ExternalApiClient;
+import com.entry_level_jobs.fetch.JobSource;
+import com.entry_level_jobs.fetch.ProviderResponse;
+import com.entry_level_jobs.fetch.SourcePage;
+import com.entry_level_jobs.fetch.SourceRateLimit;
 import com.entry_level_jobs.model.Job;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Service for fetching jobs from The Muse API
  */
 @Service
 @Slf4j
-public class MuseJobFetchService {
-    private final RestTemplate restTemplate;
+public class MuseJobFetchService implements JobSource<MuseJobResponse.MuseJob> {
+    public static final String SOURCE_NAME = "TheMuse";
+    private final ExternalApiClient apiClient;
     private final String museUrl;
     private final int pagesToFetch;
-    private final int maxRetries;
-    private final long initialBackoffMs;
+    private final Duration interval;
+    private final SourceRateLimit rateLimit;
 
-    public MuseJobFetchService(RestTemplate restTemplate,
+    public MuseJobFetchService(ExternalApiClient apiClient,
                                @Value("${external.themuse.url:https://www.themuse.com/api/public/jobs}") String museUrl,
                                @Value("${external.themuse.pages:3}") int pagesToFetch,
-                               @Value("${external.fetch.max-retries:3}") int maxRetries,
-                               @Value("${external.fetch.backoff.initial-ms:1000}") long initialBackoffMs) {
-        this.restTemplate = restTemplate;
+                               @Value("${external.themuse.interval-ms:${jobs.fetch.interval.ms:3600000}}") long intervalMs,
+                               @Value("${external.themuse.requests-per-second:1.0}") double requestsPerSecond,
+                               @Value("${external.themuse.burst:3}") int burst) {
+        this.apiClient = apiClient;
         this.museUrl = museUrl;
         this.pagesToFetch = pagesToFetch;
-        this.maxRetries = maxRetries;
-        this.initialBackoffMs = initialBackoffMs;
+        this.interval = Duration.ofMillis(intervalMs);
+        this.rateLimit = new SourceRateLimit(URI.create(museUrl).getHost(), requestsPerSecond, burst);
     }
 
-    public List<Job> fetchJobsFromMuse() {
-        List<Job> all = new ArrayList<>();
-        for (int page = 1; page <= pagesToFetch; page++) {
-            int attempt = 0;
-            while (attempt < maxRetries) {
-                try {
-                    String url = museUrl + "?page=" + page;
-                    log.info("Fetching Muse jobs from {} (attempt {})", url, attempt + 1);
-                    MuseJobResponse response = restTemplate.getForObject(url, MuseJobResponse.class);
-                    if (response == null || response.getResults() == null) {
-                        log.warn("No data received from Muse API for page {}", page);
-                        break;
-                    }
-                    for (MuseJobResponse.MuseJob mj : response.getResults()) {
-                        Job job = convertMuseToJob(mj);
-                        all.add(job);
-                    }
-                    break; // success, break retry loop
-                } catch (HttpClientErrorException.TooManyRequests tre) {
-                    log.warn("Muse returned 429, backing off", tre);
-                } catch (Exception e) {
-                    log.error("Error fetching from Muse", e);
-                }
+    @Override
+    public String getName() {
+        return SOURCE_NAME;
+    }
+
+    @Override
+    public int getMaxPages() {
+        return pagesToFetch;
+    }
+
+    @Override
+    public Duration getPreferredInterval() {
+        return interval;
+    }
 
-                attempt++;
-                try {
-                    Thread.sleep(initialBackoffMs * (1L << (attempt - 1)));
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    break;
-                }
+    @Override
+    public Optional<SourceRateLimit> getRateLimit() {
+        return Optional.of(rateLimit);
+    }
+
+    /**
+     * Fetch one Muse page. Rate limiting and retries (including 429 handling)
+     * are done by {@link ExternalApiClient}.
+     */
+    @Override
+    public SourcePage<MuseJobResponse.MuseJob> fetchPage(int page) {
+        try {
+            String url = museUrl + "?page=" + page;
+            log.info("Fetching Muse jobs from {}", url);
+            ProviderResponse<MuseJobResponse> providerResponse = apiClient.get(SOURCE_NAME, url,
+                    MuseJobResponse.class);
+            if (providerResponse.notModified()) {
+                log.info("Muse page {} not modified since last fetch", page);
+                return SourcePage.unchanged(true);
+            }
+            MuseJobResponse response = providerResponse.body();
+            if (response == null || response.getResults() == null) {
+                log.warn("No data received from Muse API for page {}", page);
+                return SourcePage.of(List.of(), true);
             }
+            log.info("Fetched {} jobs from Muse page {}", response.getResults().size(), page);
+            return SourcePage.of(response.getResults(), true);
+        } catch (CircuitOpenException e) {
+            log.info("Skipping remaining Muse pages from {}: {}", page, e.getMessage());
+            return SourcePage.end();
+        } catch (Exception e) {
+            log.error("Error fetching from Muse page {}", page, e);
+            return SourcePage.of(List.of(), true);
         }
-        log.info("Fetched {} jobs from Muse (pages {})", all.size(), pagesToFetch);
-        return all;
     }
 
-    private Job convertMuseToJob(MuseJobResponse.MuseJob mj) {
+    @Override
+    public Job toJob(MuseJobResponse.MuseJob mj) {
         LocalDateTime postedAt = parseIsoToLocal(mj.getPublicationDate());
         String url = null;
         if (mj.getRefs() != null) {
@@ -96,8 +119,8 @@ public class MuseJobFetchService {
                 .location(location)
                 .url(url)
                 .description(stripHtmlTags(description))
-                .source("TheMuse")
-                .postedAt(postedAt != null ? postedAt : LocalDateTime.now())
+                .source(SOURCE_NAME)
+                .postedAt(postedAt)
                 .build();
     }
 
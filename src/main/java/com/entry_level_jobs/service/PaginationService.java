@@ -3,11 +3,12 @@ package com.entry_level_jobs.service;
 import com.entry_level_jobs.dto.PaginationDTO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
 /**
  * Service for pagination operations.
- * Converts Spring Data Page objects to PaginationDTO.
+ * Converts Spring Data Page and Slice objects to PaginationDTO.
  * Follows clean architecture principle of separating business logic from
  * framework.
  */
@@ -41,6 +42,45 @@ public class PaginationService {
         return pagination;
     }
 
+    /**
+     * Convert a Spring Data Slice to PaginationDTO. Totals are left null when
+     * {@code totalElements} is null; otherwise a possibly stale total is
+     * corrected where the slice proves it wrong, so it never contradicts
+     * {@code hasNextPage}.
+     *
+     * @param slice         Spring Data Slice object
+     * @param totalElements total matching elements, or null if not counted
+     * @return PaginationDTO with pagination metadata
+     */
+    public <T> PaginationDTO toPaginationDTO(Slice<T> slice, Long totalElements) {
+        Long total = totalElements;
+        Integer totalPages = null;
+        if (total != null) {
+            long seen = (long) slice.getNumber() * slice.getSize() + slice.getNumberOfElements();
+            if (slice.hasNext()) {
+                total = Math.max(total, seen + 1);
+            } else if (slice.hasContent() || slice.isFirst()) {
+                total = seen;
+            }
+            totalPages = slice.getSize() == 0 ? 1 : (int) Math.ceil((double) total / slice.getSize());
+        }
+
+        PaginationDTO pagination = PaginationDTO.builder()
+                .currentPage(slice.getNumber())
+                .pageSize(slice.getSize())
+                .totalElements(total)
+                .totalPages(totalPages)
+                .isFirstPage(slice.isFirst())
+                .isLastPage(slice.isLast())
+                .hasNextPage(slice.hasNext())
+                .hasPreviousPage(slice.hasPrevious())
+                .numberOfElements(slice.getNumberOfElements())
+                .build();
+
+        log.debug("PaginationDTO created from slice: {}", pagination);
+        return pagination;
+    }
+
     /**
      * Validate pagination parameters
      * 
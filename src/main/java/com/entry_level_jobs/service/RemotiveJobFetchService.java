@@ -1,76 +1,101 @@
 package com.entry_level_jobs.service;
 
 import com.entry_level_jobs.dto.RemotiveJobResponse;
+import com.entry_level_jobs.fetch.CircuitOpenException;
+import com.entry_level_jobs.fetch.ExternalApiClient;
+import com.entry_level_jobs.fetch.JobSource;
+import com.entry_level_jobs.fetch.ProviderResponse;
+import com.entry_level_jobs.fetch.SourcePage;
+import com.entry_level_jobs.fetch.SourceRateLimit;
 import com.entry_level_jobs.model.Job;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.HttpClientErrorException;
-import org.springframework.web.client.RestTemplate;
 
+import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.format.DateTimeParseException;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Optional;
 
 /**
- * Service for fetching jobs from Remotive API
+ * Service for fetching jobs from Remotive API. The feed is a single large
+ * page, so it pairs well with conditional GETs.
  */
 @Service
 @Slf4j
-public class RemotiveJobFetchService {
-    private final RestTemplate restTemplate;
+public class RemotiveJobFetchService implements JobSource<RemotiveJobResponse.RemotiveJob> {
+    public static final String SOURCE_NAME = "Remotive";
+    private final ExternalApiClient apiClient;
     private final String remotiveUrl;
-    private final int maxRetries;
-    private final long initialBackoffMs;
+    private final Duration interval;
+    private final SourceRateLimit rateLimit;
 
-    public RemotiveJobFetchService(RestTemplate restTemplate,
+    public RemotiveJobFetchService(ExternalApiClient apiClient,
             @Value("${external.remotive.url:https://remotive.com/api/remote-jobs}") String remotiveUrl,
-            @Value("${external.fetch.max-retries:3}") int maxRetries,
-            @Value("${external.fetch.backoff.initial-ms:1000}") long initialBackoffMs) {
-        this.restTemplate = restTemplate;
+            @Value("${external.remotive.interval-ms:${jobs.fetch.interval.ms:3600000}}") long intervalMs,
+            @Value("${external.remotive.requests-per-second:0.2}") double requestsPerSecond,
+            @Value("${external.remotive.burst:1}") int burst) {
+        this.apiClient = apiClient;
         this.remotiveUrl = remotiveUrl;
-        this.maxRetries = maxRetries;
-        this.initialBackoffMs = initialBackoffMs;
+        this.interval = Duration.ofMillis(intervalMs);
+        this.rateLimit = new SourceRateLimit(URI.create(remotiveUrl).getHost(), requestsPerSecond, burst);
     }
 
-    public List<Job> fetchJobsFromRemotive() {
-        int attempt = 0;
-        while (attempt < maxRetries) {
-            try {
-                log.info("Fetching jobs from Remotive API (attempt {})", attempt + 1);
-                RemotiveJobResponse response = restTemplate.getForObject(remotiveUrl, RemotiveJobResponse.class);
-                if (response == null || response.getJobs() == null) {
-                    log.warn("No data received from Remotive API");
-                    return new ArrayList<>();
-                }
-                List<Job> jobs = new ArrayList<>();
-                for (RemotiveJobResponse.RemotiveJob rj : response.getJobs()) {
-                    Job job = convertRemotiveToJob(rj);
-                    jobs.add(job);
-                }
-                log.info("Fetched {} jobs from Remotive", jobs.size());
-                return jobs;
-            } catch (HttpClientErrorException.TooManyRequests tre) {
-                log.warn("Remotive returned 429 Too Many Requests, backing off", tre);
-            } catch (Exception e) {
-                log.error("Error fetching from Remotive", e);
-            }
+    @Override
+    public String getName() {
+        return SOURCE_NAME;
+    }
+
+    @Override
+    public int getMaxPages() {
+        return 1;
+    }
+
+    @Override
+    public Duration getPreferredInterval() {
+        return interval;
+    }
+
+    @Override
+    public Optional<SourceRateLimit> getRateLimit() {
+        return Optional.of(rateLimit);
+    }
 
-            attempt++;
-            try {
-                Thread.sleep(initialBackoffMs * (1L << (attempt - 1)));
-            } catch (InterruptedException ie) {
-                Thread.currentThread().interrupt();
-                break;
+    /**
+     * Fetch the Remotive feed. Rate limiting and retries (including 429
+     * handling) are done by {@link ExternalApiClient}.
+     */
+    @Override
+    public SourcePage<RemotiveJobResponse.RemotiveJob> fetchPage(int page) {
+        try {
+            log.info("Fetching jobs from Remotive API");
+            ProviderResponse<RemotiveJobResponse> providerResponse = apiClient.get(SOURCE_NAME, remotiveUrl,
+                    RemotiveJobResponse.class);
+            if (providerResponse.notModified()) {
+                log.info("Remotive feed not modified since last fetch");
+                return SourcePage.unchanged(false);
+            }
+            RemotiveJobResponse response = providerResponse.body();
+            if (response == null || response.getJobs() == null) {
+                log.warn("No data received from Remotive API");
+                return SourcePage.end();
             }
+            log.info("Fetched {} jobs from Remotive", response.getJobs().size());
+            return SourcePage.of(response.getJobs(), false);
+        } catch (CircuitOpenException e) {
+            log.info("Skipping Remotive: {}", e.getMessage());
+            return SourcePage.end();
+        } catch (Exception e) {
+            log.error("Error fetching from Remotive", e);
+            return SourcePage.end();
         }
-        return new ArrayList<>();
     }
 
-    private Job convertRemotiveToJob(RemotiveJobResponse.RemotiveJob rj) {
+    @Override
+    public Job toJob(RemotiveJobResponse.RemotiveJob rj) {
         LocalDateTime postedAt = parseIsoToLocal(rj.getPublicationDate());
         String location = rj.getCandidateRequiredLocation();
         if (location == null || location.isBlank()) {
@@ -82,8 +107,8 @@ public class RemotiveJobFetchService {
                 .location(location)
                 .url(rj.getUrl())
                 .description(stripHtmlTags(rj.getDescription()))
-                .source("Remotive")
-                .postedAt(postedAt != null ? postedAt : LocalDateTime.now())
+                .source(SOURCE_NAME)
+                .postedAt(postedAt)
                 .build();
     }
 
@@ -0,0 +1,85 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.repository.SchedulerLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Database-backed leases that let several application instances share the
+ * scheduled ingest: whoever holds a source's lease runs it, everybody else
+ * skips. A lease that is not renewed expires, so a crashed node's work is
+ * picked up by another one once its lease times out.
+ */
+@Service
+@Slf4j
+public class SchedulerLeaseService {
+    private final SchedulerLeaseRepository leaseRepository;
+    private final String owner;
+
+    public SchedulerLeaseService(SchedulerLeaseRepository leaseRepository,
+            @Value("${jobs.fetch.lease.owner:}") String owner) {
+        this.leaseRepository = leaseRepository;
+        this.owner = owner == null || owner.isBlank() ? defaultOwner() : owner;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    /**
+     * Acquire the named lease, or renew it if we already hold it.
+     *
+     * @return true if this node now holds the lease until {@code now + duration}
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        Instant now = Instant.now();
+        Instant leaseUntil = now.plus(duration);
+        try {
+            if (leaseRepository.acquire(name, owner, leaseUntil, now) == 1) {
+                return true;
+            }
+            if (leaseRepository.existsById(name)) {
+                return false;
+            }
+            leaseRepository.create(name, owner, leaseUntil);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            // Another node created the lease row first
+            log.debug("Lost the race creating lease {}", name);
+            return false;
+        }
+    }
+
+    /**
+     * Keep holding a lease we own until {@code now + duration}.
+     *
+     * @return false if the lease is no longer ours
+     */
+    public boolean extend(String name, Duration duration) {
+        return leaseRepository.extend(name, owner, Instant.now().plus(duration)) == 1;
+    }
+
+    /**
+     * Give up a lease we own so another node can take it immediately.
+     */
+    public void release(String name) {
+        leaseRepository.extend(name, owner, Instant.EPOCH);
+    }
+
+    private static String defaultOwner() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            host = "unknown-host";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -0,0 +1,69 @@
+package com.entry_level_jobs.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent computations of the same key: the first caller runs
+ * the work and later callers wait for its result instead of repeating it.
+ * Waiting is bounded; a caller whose leader takes longer than
+ * {@code maxWait}, or fails, runs the work itself, so one slow or broken
+ * computation never stalls or fails everyone behind it. Results are not
+ * kept once the computation finishes; caching is the caller's business.
+ */
+public final class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final long maxWaitNanos;
+    private final AtomicLong led = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+    private final AtomicLong gaveUp = new AtomicLong();
+
+    public SingleFlight(Duration maxWait) {
+        this.maxWaitNanos = maxWait.toNanos();
+    }
+
+    public V run(K key, Supplier<V> work) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, mine);
+        if (leader == null) {
+            led.incrementAndGet();
+            try {
+                V value = work.get();
+                mine.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        joined.incrementAndGet();
+        try {
+            return leader.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced computation", e);
+        } catch (TimeoutException | ExecutionException e) {
+            gaveUp.incrementAndGet();
+            return work.get();
+        }
+    }
+
+    /**
+     * Calls that ran the work, calls that waited for another one, and
+     * waiters that ran it themselves after a timeout or failure.
+     */
+    public Map<String, Object> snapshot() {
+        return Map.of("led", led.get(), "joined", joined.get(), "gave_up", gaveUp.get(),
+                "in_flight", inFlight.size());
+    }
+}
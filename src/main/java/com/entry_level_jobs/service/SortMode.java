@@ -0,0 +1,28 @@
+package com.entry_level_jobs.service;
+
+import java.util.Locale;
+
+/**
+ * Order of the job listing.
+ */
+public enum SortMode {
+    /** Newest posting first */
+    NEWEST,
+    /** Best keyword match first, see {@link com.entry_level_jobs.search.Ranking} */
+    RELEVANCE;
+
+    /**
+     * @return the mode named by {@code value}, {@link #NEWEST} when blank, or
+     *         null when the name is unknown
+     */
+    public static SortMode parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NEWEST;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.fetch.JobSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Adapts each source's polling interval to how often it actually yields new
+ * entry-level jobs. After every run the share of new jobs among the
+ * entry-level jobs seen is folded into a moving average: busy sources are
+ * polled more often, quiet ones back off, always within the configured
+ * bounds. Starts from the source's preferred interval.
+ */
+@Service
+@Slf4j
+public class SourceCadenceService {
+    private static final double SMOOTHING = 0.5;
+
+    private final boolean enabled;
+    private final Duration minInterval;
+    private final Duration maxInterval;
+    private final double speedUpRatio;
+    private final double speedUpFactor;
+    private final double backOffFactor;
+    private final ConcurrentMap<String, Cadence> cadences = new ConcurrentHashMap<>();
+
+    public SourceCadenceService(
+            @Value("${jobs.fetch.adaptive.enabled:true}") boolean enabled,
+            @Value("${jobs.fetch.adaptive.min-interval-ms:300000}") long minIntervalMs,
+            @Value("${jobs.fetch.adaptive.max-interval-ms:86400000}") long maxIntervalMs,
+            @Value("${jobs.fetch.adaptive.speed-up-ratio:0.2}") double speedUpRatio,
+            @Value("${jobs.fetch.adaptive.speed-up-factor:0.5}") double speedUpFactor,
+            @Value("${jobs.fetch.adaptive.back-off-factor:1.5}") double backOffFactor) {
+        this.enabled = enabled;
+        this.minInterval = Duration.ofMillis(minIntervalMs);
+        this.maxInterval = Duration.ofMillis(Math.max(minIntervalMs, maxIntervalMs));
+        this.speedUpRatio = speedUpRatio;
+        this.speedUpFactor = speedUpFactor;
+        this.backOffFactor = backOffFactor;
+    }
+
+    /**
+     * Current delay to wait after a completed run of the source.
+     */
+    public Duration currentInterval(JobSource<?> source) {
+        return cadenceFor(source).interval;
+    }
+
+    /**
+     * Record the outcome of one run and adjust the source's interval.
+     *
+     * @param fetched    jobs returned by the source
+     * @param entryLevel of those, jobs classified as entry-level
+     * @param newJobs    of those, jobs not known before this run
+     */
+    public void recordRun(JobSource<?> source, int fetched, int entryLevel, int newJobs) {
+        Cadence cadence = cadenceFor(source);
+        synchronized (cadence) {
+            double ratio = entryLevel == 0 ? 0.0 : (double) newJobs / entryLevel;
+            cadence.newRatio = cadence.runs == 0 ? ratio : SMOOTHING * ratio + (1 - SMOOTHING) * cadence.newRatio;
+            cadence.runs++;
+            cadence.lastFetched = fetched;
+            cadence.lastEntryLevel = entryLevel;
+            cadence.lastNew = newJobs;
+            cadence.lastRunAt = LocalDateTime.now();
+            if (!enabled) {
+                return;
+            }
+
+            Duration previous = cadence.interval;
+            if (cadence.newRatio >= speedUpRatio) {
+                cadence.interval = clamp(scale(previous, speedUpFactor));
+            } else if (newJobs == 0) {
+                cadence.interval = clamp(scale(previous, backOffFactor));
+            }
+            if (!previous.equals(cadence.interval)) {
+                log.info("Adjusted polling interval of {} from {} to {} (new ratio {})",
+                        source.getName(), previous, cadence.interval, String.format("%.2f", cadence.newRatio));
+            }
+        }
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        cadences.forEach((name, cadence) -> {
+            synchronized (cadence) {
+                Map<String, Object> sourceStats = new LinkedHashMap<>();
+                sourceStats.put("interval_ms", cadence.interval.toMillis());
+                sourceStats.put("new_ratio", cadence.newRatio);
+                sourceStats.put("runs", cadence.runs);
+                sourceStats.put("last_fetched", cadence.lastFetched);
+                sourceStats.put("last_entry_level", cadence.lastEntryLevel);
+                sourceStats.put("last_new", cadence.lastNew);
+                sourceStats.put("last_run_at", cadence.lastRunAt);
+                stats.put(name, sourceStats);
+            }
+        });
+        return stats;
+    }
+
+    private Cadence cadenceFor(JobSource<?> source) {
+        return cadences.computeIfAbsent(source.getName(),
+                name -> new Cadence(enabled ? clamp(source.getPreferredInterval()) : source.getPreferredInterval()));
+    }
+
+    private Duration scale(Duration interval, double factor) {
+        return Duration.ofMillis(Math.round(interval.toMillis() * factor));
+    }
+
+    private Duration clamp(Duration interval) {
+        if (interval.compareTo(minInterval) < 0) {
+            return minInterval;
+        }
+        return interval.compareTo(maxInterval) > 0 ? maxInterval : interval;
+    }
+
+    private static final class Cadence {
+        private volatile Duration interval;
+        private double newRatio;
+        private int runs;
+        private int lastFetched;
+        private int lastEntryLevel;
+        private int lastNew;
+        private LocalDateTime lastRunAt;
+
+        private Cadence(Duration interval) {
+            this.interval = interval;
+        }
+    }
+}
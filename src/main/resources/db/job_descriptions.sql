@@ -0,0 +1,17 @@
+-- Compressed, content-addressed description storage. Apply manually where
+-- spring.jpa.hibernate.ddl-auto=none. The retention sweeper then moves existing
+-- inline descriptions over in batches and clears jobs.description; run
+-- VACUUM (or let autovacuum) reclaim the freed TOAST space afterwards.
+CREATE TABLE IF NOT EXISTS job_descriptions (
+    hash            VARCHAR(64) PRIMARY KEY,
+    content         BYTEA NOT NULL,
+    original_length INTEGER NOT NULL,
+    created_at      TIMESTAMP(6) NOT NULL
+);
+
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS description_hash VARCHAR(64) REFERENCES job_descriptions (hash);
+CREATE INDEX IF NOT EXISTS idx_jobs_description_hash ON jobs (description_hash);
+
+-- Lets the sweeper find rows that still need moving
+CREATE INDEX IF NOT EXISTS idx_jobs_inline_description ON jobs (id)
+    WHERE description IS NOT NULL AND description_hash IS NULL;
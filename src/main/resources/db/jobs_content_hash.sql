@@ -0,0 +1,4 @@
+-- Change detection columns used by JobIngestService. Apply manually where
+-- spring.jpa.hibernate.ddl-auto=none; existing rows get their hash on next ingest.
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS content_hash VARCHAR(64);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS last_seen_at TIMESTAMP(6);
@@ -0,0 +1,19 @@
+-- Expiry model used by JobIngestService and JobRetentionService. Apply manually
+-- where spring.jpa.hibernate.ddl-auto=none. Adding a column with a constant
+-- default is a metadata-only change on PostgreSQL 11+, and the indexes are
+-- built CONCURRENTLY, so none of this blocks the API (run outside a transaction).
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS expires_at TIMESTAMP(6);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS active BOOLEAN NOT NULL DEFAULT TRUE;
+
+-- Listings only read active rows, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_jobs_active_posted
+    ON jobs (posted_at DESC, created_at DESC, id DESC) WHERE active;
+
+-- Sweeper: find active rows past expiry, then inactive rows due for purge
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_jobs_active_expires
+    ON jobs (expires_at) WHERE active;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_jobs_inactive_expires
+    ON jobs (expires_at) WHERE NOT active;
+
+-- Lets the purge check for saved references without a sequential scan
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_saved_jobs_job_id ON saved_jobs (job_id);
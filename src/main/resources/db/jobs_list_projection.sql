@@ -0,0 +1,11 @@
+-- List-view columns read by GET /api/jobs instead of the TEXT description.
+-- Apply manually where spring.jpa.hibernate.ddl-auto=none.
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS snippet VARCHAR(320);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS language VARCHAR(8);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS classification_score INTEGER;
+
+-- Rows ingested before this change get a snippet and classification the next
+-- time a source returns them. To fill listings right away, backfill snippets
+-- (repeat until it updates 0 rows; language/score are filled on next ingest):
+-- UPDATE jobs SET snippet = left(regexp_replace(coalesce(description, ''), '\s+', ' ', 'g'), 300)
+-- WHERE id IN (SELECT id FROM jobs WHERE snippet IS NULL LIMIT 1000);
@@ -0,0 +1,89 @@
+-- One-time conversion of jobs into a table range-partitioned by posted_at month
+-- (PostgreSQL 14+). Apply after every other jobs script (jobs_content_hash.sql,
+-- jobs_expiry.sql, jobs_list_projection.sql, jobs_structured_location.sql and
+-- job_descriptions.sql), in a maintenance window, then start the application with
+-- jobs.partitioning.enabled=true so JobPartitionService keeps creating upcoming
+-- partitions and detaching expired ones into the jobs_archive schema.
+--
+-- Notes on constraints: PostgreSQL requires the partition key in every unique
+-- constraint, so the primary key becomes (id, posted_at) and URL uniqueness is
+-- enforced per partition; JobIngestService already looks URLs up before
+-- inserting. saved_jobs can no longer hold a foreign key to jobs; saved jobs
+-- whose posting has been archived simply drop out of the user's list.
+--
+-- The new table copies its columns from jobs_unpartitioned (LIKE), so columns
+-- added by later scripts come across without editing this one; only indexes
+-- and foreign keys have to be listed below.
+BEGIN;
+
+ALTER TABLE jobs RENAME TO jobs_unpartitioned;
+
+DO $$
+DECLARE fk record;
+BEGIN
+    FOR fk IN SELECT conname, conrelid::regclass AS tbl FROM pg_constraint
+              WHERE contype = 'f' AND confrelid = 'jobs_unpartitioned'::regclass LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', fk.tbl, fk.conname);
+    END LOOP;
+END $$;
+
+-- Free the index names for the partitioned table
+DO $$
+DECLARE idx record;
+BEGIN
+    FOR idx IN SELECT indexrelid::regclass::text AS name FROM pg_index
+               WHERE indrelid = 'jobs_unpartitioned'::regclass AND NOT indisprimary LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', idx.name, left(idx.name, 50) || '_unpartitioned');
+    END LOOP;
+END $$;
+
+CREATE SEQUENCE IF NOT EXISTS jobs_partitioned_id_seq;
+SELECT setval('jobs_partitioned_id_seq', COALESCE((SELECT MAX(id) FROM jobs_unpartitioned), 0) + 1, false);
+
+-- Rows without a posting date would all land in the default partition
+UPDATE jobs_unpartitioned SET posted_at = COALESCE(created_at, now()) WHERE posted_at IS NULL;
+
+CREATE TABLE jobs (
+    LIKE jobs_unpartitioned INCLUDING DEFAULTS,
+    PRIMARY KEY (id, posted_at),
+    UNIQUE (url, posted_at)
+) PARTITION BY RANGE (posted_at);
+ALTER TABLE jobs ALTER COLUMN id SET DEFAULT nextval('jobs_partitioned_id_seq');
+ALTER TABLE jobs ADD FOREIGN KEY (description_hash) REFERENCES job_descriptions (hash);
+ALTER SEQUENCE jobs_partitioned_id_seq OWNED BY jobs.id;
+
+-- Catches rows outside every monthly partition so inserts never fail
+CREATE TABLE jobs_default PARTITION OF jobs DEFAULT;
+
+-- Monthly partitions covering existing data plus three months ahead
+DO $$
+DECLARE
+    month_start date := date_trunc('month', COALESCE((SELECT MIN(posted_at) FROM jobs_unpartitioned), now()))::date;
+    last_month  date := (date_trunc('month', now()) + interval '3 months')::date;
+BEGIN
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF jobs FOR VALUES FROM (%L) TO (%L)',
+                       'jobs_p' || to_char(month_start, 'YYYY_MM'), month_start, month_start + interval '1 month');
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO jobs SELECT * FROM jobs_unpartitioned;
+
+CREATE INDEX idx_jobs_url ON jobs (url);
+CREATE INDEX idx_jobs_active_posted ON jobs (posted_at DESC, created_at DESC, id DESC) WHERE active;
+CREATE INDEX idx_jobs_active_expires ON jobs (expires_at) WHERE active;
+CREATE INDEX idx_jobs_inactive_expires ON jobs (expires_at) WHERE NOT active;
+CREATE INDEX idx_jobs_active_work_mode ON jobs (work_mode, posted_at DESC) WHERE active;
+CREATE INDEX idx_jobs_active_country ON jobs (country_code, posted_at DESC) WHERE active;
+CREATE INDEX idx_jobs_active_city ON jobs (city, posted_at DESC) WHERE active;
+CREATE INDEX idx_jobs_description_hash ON jobs (description_hash);
+CREATE INDEX idx_jobs_inline_description ON jobs (id)
+    WHERE description IS NOT NULL AND description_hash IS NULL;
+
+CREATE SCHEMA IF NOT EXISTS jobs_archive;
+
+COMMIT;
+
+-- Once the application runs fine against the partitioned table:
+-- DROP TABLE jobs_unpartitioned;
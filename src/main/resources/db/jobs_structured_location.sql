@@ -0,0 +1,19 @@
+-- Structured location fields extracted by LocationExtractor at ingest. Apply
+-- manually where spring.jpa.hibernate.ddl-auto=none; the indexes are built
+-- CONCURRENTLY, so run this outside a transaction. PostgreSQL does not build
+-- indexes CONCURRENTLY on a partitioned parent: if jobs_partitioning.sql has
+-- been applied, drop that keyword (the index then cascades to every partition).
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS work_mode VARCHAR(8);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS country_code VARCHAR(2);
+ALTER TABLE jobs ADD COLUMN IF NOT EXISTS city VARCHAR(100);
+
+-- Feed filters are equality lookups on these columns, newest first
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_jobs_active_work_mode
+    ON jobs (work_mode, posted_at DESC) WHERE active;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_jobs_active_country
+    ON jobs (country_code, posted_at DESC) WHERE active;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_jobs_active_city
+    ON jobs (city, posted_at DESC) WHERE active;
+
+-- Rows ingested before this change get their fields the next time a source
+-- returns them; until then they match no work mode, country or city filter.
@@ -0,0 +1,18 @@
+-- Pre-aggregated active job counts per location for /api/jobs/locations.
+-- Apply manually where spring.jpa.hibernate.ddl-auto=none. The app fills the
+-- table on startup when it is empty and keeps it current during ingest and
+-- expiry.
+CREATE TABLE IF NOT EXISTS location_facets (
+    normalized_location VARCHAR(255) PRIMARY KEY,
+    location            VARCHAR(255) NOT NULL,
+    job_count           BIGINT NOT NULL DEFAULT 0
+);
+
+-- Substring autocomplete ("%lag%") can use a trigram index instead of a scan
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_location_facets_trgm ON location_facets
+    USING gin (normalized_location gin_trgm_ops);
+
+-- Empty query: most popular locations first
+CREATE INDEX IF NOT EXISTS idx_location_facets_count ON location_facets (job_count DESC)
+    WHERE job_count > 0;
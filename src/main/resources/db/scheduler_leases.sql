@@ -0,0 +1,7 @@
+-- Per-source ingest leases used by JobSchedulerService when several instances
+-- share one database. Apply manually where spring.jpa.hibernate.ddl-auto=none.
+CREATE TABLE IF NOT EXISTS scheduler_leases (
+    name        VARCHAR(100) PRIMARY KEY,
+    owner       VARCHAR(255) NOT NULL,
+    lease_until TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,145 @@
+package com.entry_level_jobs.config;
+
+import com.entry_level_jobs.model.Job;
+import com.entry_level_jobs.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the application's JPA layer against two embedded H2 databases, one
+ * standing in for the primary and one for the replica. The replica starts
+ * with the same schema but no jobs, so where a read lands is visible from
+ * what it returns.
+ */
+public class ReadReplicaRoutingTest {
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate replicaJdbc;
+    private JobRepository jobRepository;
+    private ReplicaLagMonitor lagMonitor;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    public void start() {
+        String suffix = UUID.randomUUID().toString();
+        String primaryUrl = "jdbc:h2:mem:primary-" + suffix + ";DB_CLOSE_DELAY=-1";
+        String replicaUrl = "jdbc:h2:mem:replica-" + suffix + ";DB_CLOSE_DELAY=-1";
+
+        // Give the replica the schema, as replication would
+        new SpringApplicationBuilder(Node.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=" + replicaUrl, "spring.jpa.hibernate.ddl-auto=create")
+                .run()
+                .close();
+        replicaJdbc = new JdbcTemplate(new DriverManagerDataSource(replicaUrl, "sa", ""));
+        replicaJdbc.execute("CREATE TABLE replica_lag (lag_ms BIGINT)");
+        replicaJdbc.update("INSERT INTO replica_lag VALUES (0)");
+
+        context = new SpringApplicationBuilder(Node.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + primaryUrl,
+                        "spring.jpa.hibernate.ddl-auto=create",
+                        "jobs.datasource.replica.url=" + replicaUrl,
+                        "jobs.datasource.replica.lag-query=SELECT lag_ms FROM replica_lag",
+                        "jobs.datasource.replica.max-lag-ms=1000")
+                .run();
+        jobRepository = context.getBean(JobRepository.class);
+        lagMonitor = context.getBean(ReplicaLagMonitor.class);
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readWrite = new TransactionTemplate(transactionManager);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        lagMonitor.check();
+        readWrite.executeWithoutResult(status -> jobRepository.save(Job.builder()
+                .url("https://example.com/1")
+                .title("Junior Developer")
+                .company("ACME")
+                .location("Remote")
+                .source("Test")
+                .postedAt(LocalDateTime.now())
+                .build()));
+    }
+
+    @AfterEach
+    public void stop() {
+        context.close();
+        replicaJdbc.execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    public void testReadOnlyTransactionsUseReplicaAndWritesUsePrimary() {
+        assertTrue(lagMonitor.isReplicaUsable());
+        assertEquals(0L, countJobs(readOnly));
+        assertEquals(1L, countJobs(readWrite));
+    }
+
+    @Test
+    public void testWriteAfterReadOnThreadStillGoesToPrimary() {
+        readOnly.executeWithoutResult(status -> jobRepository.findAll());
+        readWrite.executeWithoutResult(status -> jobRepository.deleteAll());
+
+        assertEquals(0L, countJobs(readWrite));
+        assertEquals(0L, (long) replicaJdbc.queryForObject("SELECT COUNT(*) FROM jobs", Long.class));
+    }
+
+    @Test
+    public void testLaggingReplicaFallsBackToPrimaryUntilCaughtUp() {
+        replicaJdbc.update("UPDATE replica_lag SET lag_ms = 5000");
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals(1L, countJobs(readOnly));
+
+        replicaJdbc.update("UPDATE replica_lag SET lag_ms = 200");
+        lagMonitor.check();
+
+        assertEquals(0L, countJobs(readOnly));
+    }
+
+    @Test
+    public void testUnreachableReplicaFallsBackToPrimary() {
+        replicaJdbc.execute("DROP TABLE replica_lag");
+        lagMonitor.check();
+
+        assertFalse(lagMonitor.isReplicaUsable());
+        assertEquals(1L, countJobs(readOnly));
+    }
+
+    private long countJobs(TransactionTemplate transaction) {
+        Long count = transaction.execute(status -> jobRepository.count());
+        return count == null ? -1 : count;
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = { SecurityAutoConfiguration.class,
+            UserDetailsServiceAutoConfiguration.class })
+    @EntityScan(basePackageClasses = Job.class)
+    @EnableJpaRepositories(basePackageClasses = JobRepository.class)
+    @Import(ReadReplicaConfig.class)
+    static class Node {
+    }
+}
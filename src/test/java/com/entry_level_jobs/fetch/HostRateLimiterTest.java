@@ -0,0 +1,61 @@
+package com.entry_level_jobs.fetch;
+
+import com.entry_level_jobs.config.RateLimitProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HostRateLimiterTest {
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private HostRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRequestsPerSecond(2);
+        properties.setBurst(3);
+        RateLimitProperties.HostLimit slow = new RateLimitProperties.HostLimit();
+        slow.setRequestsPerSecond(1.0);
+        slow.setBurst(1);
+        properties.getHosts().put("slow.example.com", slow);
+        rateLimiter = new HostRateLimiter(properties);
+    }
+
+    @Test
+    void burstIsServedImmediatelyThenSpacedByRate() {
+        long now = 0;
+        assertEquals(0, rateLimiter.reserve("api.example.com", now));
+        assertEquals(0, rateLimiter.reserve("api.example.com", now));
+        assertEquals(0, rateLimiter.reserve("api.example.com", now));
+        assertEquals(SECOND / 2, rateLimiter.reserve("api.example.com", now));
+        assertEquals(SECOND, rateLimiter.reserve("api.example.com", now));
+    }
+
+    @Test
+    void tokensRefillOverTime() {
+        rateLimiter.reserve("slow.example.com", 0);
+        assertEquals(SECOND, rateLimiter.reserve("slow.example.com", 0));
+        // bucket drained until 2s; at 3s a token is available again
+        assertEquals(0, rateLimiter.reserve("slow.example.com", 3 * SECOND));
+    }
+
+    @Test
+    void hostsAreLimitedIndependently() {
+        rateLimiter.reserve("slow.example.com", 0);
+        assertEquals(0, rateLimiter.reserve("api.example.com", 0));
+        assertEquals(SECOND, rateLimiter.reserve("slow.example.com", 0));
+    }
+
+    @Test
+    void pauseDelaysAllRequestsUntilRetryAfterElapsed() {
+        rateLimiter.pause("api.example.com", Duration.ofSeconds(5), 0);
+        assertEquals(5 * SECOND, rateLimiter.reserve("api.example.com", 0));
+        assertEquals(4 * SECOND, rateLimiter.reserve("api.example.com", SECOND));
+        assertEquals(0, rateLimiter.reserve("api.example.com", 6 * SECOND));
+    }
+}
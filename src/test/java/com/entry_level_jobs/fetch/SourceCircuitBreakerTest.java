@@ -0,0 +1,76 @@
+package com.entry_level_jobs.fetch;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SourceCircuitBreakerTest {
+    private final AtomicLong clock = new AtomicLong();
+    private SourceCircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        breaker = new SourceCircuitBreaker("Remotive", 5, 3, 1_000, clock::get);
+    }
+
+    @Test
+    void opensAfterThresholdFailuresInWindow() {
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        assertEquals(SourceCircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.recordFailure();
+
+        assertEquals(SourceCircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(SourceCircuitBreaker.Permission.DENIED, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void oldFailuresRollOutOfWindow() {
+        breaker.recordFailure();
+        breaker.recordFailure();
+        for (int i = 0; i < 5; i++) {
+            breaker.recordSuccess();
+        }
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(SourceCircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void halfOpenAllowsSingleProbeAndClosesOnSuccess() {
+        tripBreaker();
+        clock.addAndGet(1_000);
+
+        assertEquals(SourceCircuitBreaker.Permission.PROBE, breaker.tryAcquirePermission());
+        assertEquals(SourceCircuitBreaker.Permission.DENIED, breaker.tryAcquirePermission());
+
+        breaker.recordSuccess();
+
+        assertEquals(SourceCircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(SourceCircuitBreaker.Permission.ALLOWED, breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void failedProbeReopensBreaker() {
+        tripBreaker();
+        clock.addAndGet(1_000);
+        breaker.tryAcquirePermission();
+
+        breaker.recordFailure();
+
+        assertEquals(SourceCircuitBreaker.State.OPEN, breaker.getState());
+        clock.addAndGet(999);
+        assertEquals(SourceCircuitBreaker.Permission.DENIED, breaker.tryAcquirePermission());
+    }
+
+    private void tripBreaker() {
+        for (int i = 0; i < 3; i++) {
+            breaker.recordFailure();
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.entry_level_jobs.repository;
+
+import com.entry_level_jobs.dto.JobSummaryDTO;
+import com.entry_level_jobs.language.JobLanguage;
+import com.entry_level_jobs.location.StructuredLocation;
+import com.entry_level_jobs.location.WorkMode;
+import com.entry_level_jobs.model.Job;
+import com.entry_level_jobs.search.JobFilter;
+import com.entry_level_jobs.search.JobSnapshot;
+import com.entry_level_jobs.service.LocationExtractor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class JobRepositoryTest {
+    private static final PageRequest NEWEST_FIRST = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "postedAt"));
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    private LocalDateTime since;
+
+    @BeforeEach
+    void setup() {
+        LocalDateTime now = LocalDateTime.now();
+        since = now.minusMonths(6);
+        save("https://example.com/1", "Junior Java Developer", "Berlin", now.minusDays(1), true);
+        save("https://example.com/2", "Graduate Analyst", "Remote", now.minusDays(2), true);
+        save("https://example.com/3", "Junior Designer", "Berlin", now.minusDays(3), false);
+        save("https://example.com/4", "Junior Java Intern", "Berlin", now.minusYears(1), true);
+    }
+
+    @Test
+    void findSummariesReturnsActiveRecentJobsWithoutFilters() {
+        Slice<JobSummaryDTO> slice = jobRepository.findSummaries(JobFilter.of(null, null), since, NEWEST_FIRST);
+
+        assertEquals(2, slice.getNumberOfElements());
+        assertFalse(slice.hasNext());
+        assertEquals(2, jobRepository.countSummaries(JobFilter.of(null, null), since));
+        JobSummaryDTO first = slice.getContent().get(0);
+        assertEquals("Junior Java Developer", first.getTitle());
+        assertEquals("Short text", first.getSnippet());
+        assertEquals(JobLanguage.EN, first.getLanguage());
+        assertEquals(7, first.getScore());
+    }
+
+    @Test
+    void findSummariesCombinesKeywordAndLocationFilters() {
+        assertEquals(List.of("Junior Java Developer"), titles(jobRepository.findSummaries(JobFilter.of("java", "berlin"),
+                since, NEWEST_FIRST)));
+        assertEquals(List.of("Graduate Analyst"), titles(jobRepository.findSummaries(JobFilter.of(null, "remote"),
+                since, NEWEST_FIRST)));
+        assertEquals(List.of("Junior Java Developer"), titles(jobRepository.findSummaries(JobFilter.of("junior", null),
+                since, NEWEST_FIRST)));
+        assertEquals(1, jobRepository.countSummaries(JobFilter.of("JAVA", "Berlin"), since));
+    }
+
+    @Test
+    void keywordMatchesWordStartsLikeTheReadModel() {
+        JobSnapshot snapshot = JobSnapshot.build(jobRepository.findActiveSummaries(since));
+
+        for (String keyword : List.of("dev", "java dev", "analyst", "ava", "nior", "intern")) {
+            JobFilter filter = JobFilter.of(keyword, null);
+            assertEquals(titles(snapshot.query(filter, since, 0, 10, false).content()),
+                    titles(jobRepository.findSummaries(filter, since, NEWEST_FIRST).getContent()), keyword);
+        }
+        assertEquals(List.of("Junior Java Developer"),
+                titles(jobRepository.findSummaries(JobFilter.of("dev", null), since, NEWEST_FIRST)));
+        assertEquals(0, jobRepository.countSummaries(JobFilter.of("ava", null), since));
+    }
+
+    @Test
+    void nonPlainKeywordMatchesWordStartsOnBothPaths() {
+        LocalDateTime now = LocalDateTime.now();
+        save("https://example.com/5", "Junior C++ Developer", "Berlin", now.minusDays(4), true);
+        save("https://example.com/6", "Graduate Abc++ Tester", "Berlin", now.minusDays(5), true);
+        save("https://example.com/7", "Junior .NET/C++ Engineer", "Remote", now.minusDays(6), true);
+        JobSnapshot snapshot = JobSnapshot.build(jobRepository.findActiveSummaries(since));
+
+        for (String keyword : List.of("c++", ".net")) {
+            JobFilter filter = JobFilter.of(keyword, null);
+            assertEquals(titles(snapshot.query(filter, since, 0, 10, false).content()),
+                    titles(jobRepository.findSummaries(filter, since, NEWEST_FIRST).getContent()), keyword);
+        }
+        assertEquals(List.of("Junior C++ Developer", "Junior .NET/C++ Engineer"),
+                titles(jobRepository.findSummaries(JobFilter.of("c++", null), since, NEWEST_FIRST)));
+    }
+
+    @Test
+    void findSummariesAppliesFacetFilters() {
+        LocalDateTime longAgo = since.minusYears(1);
+
+        assertEquals(List.of("Junior Java Developer", "Junior Java Intern"), titles(jobRepository.findSummaries(
+                filter(null, null, Set.of(" BERLIN", "Paris"), null, null, null), longAgo, NEWEST_FIRST)));
+        assertEquals(List.of("Graduate Analyst"), titles(jobRepository.findSummaries(
+                filter(Set.of("test", "other"), Set.of(JobLanguage.EN), null, Set.of(WorkMode.REMOTE), null, null),
+                longAgo, NEWEST_FIRST)));
+        assertEquals(0, jobRepository.countSummaries(filter(Set.of("other"), null, null, null, null, null), longAgo));
+        assertEquals(0, jobRepository.countSummaries(
+                filter(null, Set.of(JobLanguage.DE), null, null, null, null), longAgo));
+    }
+
+    @Test
+    void findSummariesMatchesExtractedWorkModeCountryAndCity() {
+        LocalDateTime longAgo = since.minusYears(1);
+
+        assertEquals(2, jobRepository.countSummaries(
+                new JobFilter("java", null, null, null, null, Set.of(WorkMode.ONSITE, WorkMode.HYBRID), null, null,
+                        null), longAgo));
+        assertEquals(List.of("Junior Java Developer", "Junior Java Intern"), titles(jobRepository.findSummaries(
+                filter(null, null, null, null, Set.of("germany"), Set.of("BERLIN")), longAgo, NEWEST_FIRST)));
+        assertEquals(0, jobRepository.countSummaries(filter(null, null, null, null, Set.of("FR"), null), longAgo));
+        assertEquals(0, jobRepository.countSummaries(filter(null, null, null, null, null, Set.of("Paris")), longAgo));
+        JobSummaryDTO remote = jobRepository.findSummaries(filter(null, null, null, Set.of(WorkMode.REMOTE), null,
+                null), longAgo, NEWEST_FIRST).getContent().get(0);
+        assertEquals(WorkMode.REMOTE, remote.getWorkMode());
+        assertNull(remote.getCity());
+    }
+
+    @Test
+    void findSummariesReportsNextPageWithoutCounting() {
+        Slice<JobSummaryDTO> first = jobRepository.findSummaries(JobFilter.of(null, null), since,
+                PageRequest.of(0, 1, NEWEST_FIRST.getSort()));
+        Slice<JobSummaryDTO> second = jobRepository.findSummaries(JobFilter.of(null, null), since,
+                PageRequest.of(1, 1, NEWEST_FIRST.getSort()));
+
+        assertEquals(List.of("Junior Java Developer"), titles(first));
+        assertTrue(first.hasNext());
+        assertEquals(List.of("Graduate Analyst"), titles(second));
+        assertFalse(second.hasNext());
+    }
+
+    private static List<String> titles(Slice<JobSummaryDTO> page) {
+        return titles(page.getContent());
+    }
+
+    private static List<String> titles(List<JobSummaryDTO> summaries) {
+        return summaries.stream().map(JobSummaryDTO::getTitle).toList();
+    }
+
+    private static JobFilter filter(Set<String> sources, Set<JobLanguage> languages, Set<String> locations,
+            Set<WorkMode> workModes, Set<String> countries, Set<String> cities) {
+        return new JobFilter(null, null, sources, languages, locations, workModes, countries, cities, null);
+    }
+
+    private void save(String url, String title, String location, LocalDateTime postedAt, boolean active) {
+        StructuredLocation place = new LocationExtractor().extract(location, title);
+        jobRepository.save(Job.builder()
+                .url(url)
+                .title(title)
+                .company("ACME")
+                .location(location)
+                .description("Short text but the list never reads it")
+                .snippet("Short text")
+                .language(JobLanguage.EN)
+                .classificationScore(7)
+                .source("Test")
+                .workMode(place.workMode())
+                .countryCode(place.countryCode())
+                .city(place.city())
+                .postedAt(postedAt)
+                .active(active)
+                .build());
+    }
+}
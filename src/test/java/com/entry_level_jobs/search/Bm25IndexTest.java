@@ -0,0 +1,63 @@
+package com.entry_level_jobs.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class Bm25IndexTest {
+    private final Bm25Index index = Bm25Index.build(
+            new String[] { "Junior Java Developer", "Junior Developer", "JavaScript Engineer", "Data Analyst" },
+            new String[] { "Spring Boot", "Java and Kotlin services", "Frontend", "SQL" });
+
+    @Test
+    void titleOccurrencesOutweighBodyOnes() {
+        float[] scores = score("java", 3.0);
+
+        assertTrue(scores[0] > scores[1], "title match above body-only match");
+        assertTrue(scores[1] > 0);
+        assertEquals(0f, scores[3]);
+    }
+
+    @Test
+    void exactTermsOutrankLongerPrefixMatches() {
+        float[] scores = score("java", 3.0);
+
+        assertTrue(scores[2] > 0, "prefix still matches");
+        assertTrue(scores[0] > scores[2]);
+        assertTrue(score("javascript", 3.0)[2] > scores[2]);
+    }
+
+    @Test
+    void onlyScoresRowsWithinTheSelection() {
+        BitSet within = new BitSet();
+        within.set(1);
+        float[] scores = new float[4];
+
+        index.score("java", 3.0, within, scores);
+
+        assertEquals(0f, scores[0]);
+        assertTrue(scores[1] > 0);
+    }
+
+    @Test
+    void topKKeepsBestScoresWithLowerOrdinalOnTies() {
+        TopK top = new TopK(3);
+        float[] scores = { 1f, 5f, 3f, 5f, 0.5f, 4f };
+        for (int i = 0; i < scores.length; i++) {
+            top.offer(i, scores[i]);
+        }
+
+        assertArrayEquals(new int[] { 1, 3, 5 }, top.sorted());
+        assertArrayEquals(new int[0], new TopK(0).sorted());
+    }
+
+    private float[] score(String query, double titleBoost) {
+        BitSet all = new BitSet();
+        all.set(0, 4);
+        float[] scores = new float[4];
+        index.score(query, titleBoost, all, scores);
+        return scores;
+    }
+}
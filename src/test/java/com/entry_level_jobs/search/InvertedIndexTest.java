@@ -0,0 +1,83 @@
+package com.entry_level_jobs.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+    private final InvertedIndex index = InvertedIndex.build(new String[] {
+            "Junior Java Developer",
+            "Graduate Data Analyst",
+            "JavaScript Developer (Junior)",
+            "Développeur Junior",
+            null,
+            "Junior Junior Designer" });
+
+    @Test
+    void matchesWordPrefixesIgnoringCaseAndAccents() {
+        assertArrayEquals(new int[] { 0, 2 }, index.search("JAVA"));
+        assertArrayEquals(new int[] { 0, 2, 3 }, index.search("dev"));
+        assertArrayEquals(new int[] { 3 }, index.search("developpeur"));
+        assertArrayEquals(new int[0], index.search("script"));
+    }
+
+    @Test
+    void requiresEveryTermInAnyOrder() {
+        assertArrayEquals(new int[] { 0, 2 }, index.search("developer junior"));
+        assertArrayEquals(new int[] { 2 }, index.search("junior javascript"));
+        assertArrayEquals(new int[0], index.search("junior analyst"));
+        assertArrayEquals(new int[] { 0, 2, 3, 5 }, index.search("junior junior"));
+    }
+
+    @Test
+    void correctsMisspelledWordsToClosestTerm() {
+        InvertedIndex titles = InvertedIndex.build(new String[] {
+                "Internship Marketing", "Junior Developer", "Junior Developer", "Senior Developer", "Intern" });
+
+        assertEquals("internship", titles.correct("intership"));
+        assertEquals("junior developer", titles.correct("Juinor devloper"));
+        // Prefixes of real words are left alone
+        assertNull(titles.correct("jun dev"));
+        // Short words are not corrected, and one hopeless word leaves the query as typed
+        assertNull(titles.correct("intn"));
+        assertNull(titles.correct("junoir xylophone"));
+    }
+
+    @Test
+    void editDistanceCountsSwapsAsOneEditAndStopsPastTheBound() {
+        assertEquals(1, InvertedIndex.editDistance("juinor", "junior", 2));
+        assertEquals(1, InvertedIndex.editDistance("intership", "internship", 2));
+        assertEquals(2, InvertedIndex.editDistance("devloepr", "developer", 2));
+        assertEquals(3, InvertedIndex.editDistance("analyst", "designer", 2));
+        assertEquals(0, InvertedIndex.maxEdits(4));
+        assertEquals(1, InvertedIndex.maxEdits(8));
+        assertEquals(2, InvertedIndex.maxEdits(9));
+    }
+
+    @Test
+    void queryWithoutWordsIsNotAnswered() {
+        assertNull(index.search("++"));
+        assertNull(index.search(" "));
+    }
+
+    @Test
+    void gallopingIntersectionMatchesNaiveIntersection() {
+        Random random = new Random(42);
+        for (int round = 0; round < 200; round++) {
+            int[] a = randomSorted(random, random.nextInt(50), 2_000);
+            int[] b = randomSorted(random, random.nextInt(1_000), 2_000);
+            int[] expected = Arrays.stream(a).filter(x -> Arrays.binarySearch(b, x) >= 0).toArray();
+
+            assertArrayEquals(expected, InvertedIndex.intersect(a, b));
+            assertArrayEquals(expected, InvertedIndex.intersect(b, a));
+        }
+    }
+
+    private static int[] randomSorted(Random random, int count, int bound) {
+        return IntStream.generate(() -> random.nextInt(bound)).limit(count).distinct().sorted().toArray();
+    }
+}
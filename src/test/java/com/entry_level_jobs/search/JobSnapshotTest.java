@@ -0,0 +1,268 @@
+package com.entry_level_jobs.search;
+
+import com.entry_level_jobs.dto.FacetCount;
+import com.entry_level_jobs.dto.JobSummaryDTO;
+import com.entry_level_jobs.language.JobLanguage;
+import com.entry_level_jobs.location.StructuredLocation;
+import com.entry_level_jobs.location.WorkMode;
+import com.entry_level_jobs.service.LocationExtractor;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobSnapshotTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2025, 6, 15, 12, 0, 0, 123_456_000);
+    private static final LocalDateTime SINCE = NOW.minusMonths(6);
+
+    private final JobSnapshot snapshot = JobSnapshot.build(List.of(
+            job(1L, "Junior Java Developer", "Berlin, Germany", NOW.minusDays(3), 7),
+            job(2L, "Graduate Analyst", "Remote", NOW.minusDays(1), null),
+            job(3L, "Java Intern", "berlin", NOW.minusDays(1), 5),
+            job(4L, "Junior Designer", "Remote", NOW.minusYears(1), 6),
+            job(5L, "C++ Developer", "Paris", NOW.minusYears(2), 6, "Other", JobLanguage.DE)));
+
+    @Test
+    void listsNewestFirstWithinWindowAndRoundTripsFields() {
+        JobSnapshot.Result result = snapshot.query(JobFilter.of(null, null), SINCE, 0, 10, false);
+
+        // Same postedAt for 2 and 3: higher id first, like the SQL tie-breakers
+        assertEquals(List.of(3L, 2L, 1L), ids(result));
+        assertEquals(3L, result.total());
+        assertFalse(result.hasNext());
+
+        JobSummaryDTO first = result.content().get(2);
+        assertEquals("Junior Java Developer", first.getTitle());
+        assertEquals("Berlin, Germany", first.getLocation());
+        assertEquals(NOW.minusDays(3), first.getPostedAt());
+        assertEquals(JobLanguage.EN, first.getLanguage());
+        assertEquals(7, first.getScore());
+        assertNull(result.content().get(1).getScore());
+    }
+
+    @Test
+    void filtersByCaseInsensitiveSubstrings() {
+        assertEquals(List.of(3L, 1L), ids(snapshot.query(JobFilter.of("JAVA", null), SINCE, 0, 10, false)));
+        assertEquals(List.of(3L, 1L), ids(snapshot.query(JobFilter.of(null, "Berlin"), SINCE, 0, 10, false)));
+        assertEquals(List.of(1L), ids(snapshot.query(JobFilter.of("junior", "berlin"), SINCE, 0, 10, false)));
+        assertEquals(0L, snapshot.query(JobFilter.of("senior", null), SINCE, 0, 10, false).total());
+    }
+
+    @Test
+    void reportsTheKeywordAMisspellingWasCorrectedTo() {
+        JobSnapshot.Result corrected = snapshot.query(JobFilter.of("grduate", null), SINCE, 0, 10, false);
+        assertEquals(List.of(2L), ids(corrected));
+        assertEquals("graduate", corrected.correctedKeyword());
+
+        assertNull(snapshot.query(JobFilter.of("graduate", null), SINCE, 0, 10, false).correctedKeyword());
+        assertNull(snapshot.query(JobFilter.of("c++", null), SINCE, 0, 10, false).correctedKeyword());
+    }
+
+    @Test
+    void plainKeywordsMatchWordPrefixesFromTitleIndex() {
+        assertEquals(List.of(1L), ids(snapshot.query(JobFilter.of("dev jun", null), SINCE, 0, 10, false)));
+        assertEquals(List.of(3L, 1L), ids(snapshot.query(JobFilter.of("jav", null), SINCE, 0, 10, false)));
+        assertTrue(snapshot.query(JobFilter.of("ava", null), SINCE, 0, 10, false).content().isEmpty());
+        assertEquals(List.of(1L), ids(snapshot.query(JobFilter.of("java", "germany"), SINCE, 0, 10, false)));
+    }
+
+    @Test
+    void misspelledKeywordsMatchTheClosestTitleWord() {
+        assertEquals(List.of(1L), ids(snapshot.query(JobFilter.of("juinor devloper", null), SINCE, 0, 10, false)));
+        assertEquals(List.of(3L), ids(snapshot.query(JobFilter.of("intren", null), SINCE, 0, 10, false)));
+        assertEquals(0L, snapshot.query(JobFilter.of("javs", null), SINCE, 0, 10, false).total());
+    }
+
+    @Test
+    void keywordsWithSymbolsMatchAtWordStarts() {
+        LocalDateTime longAgo = NOW.minusYears(3);
+
+        assertEquals(List.of(5L), ids(snapshot.query(JobFilter.of("c++", null), longAgo, 0, 10, false)));
+        assertEquals(List.of(5L), ids(snapshot.query(JobFilter.of("c++ dev", null), longAgo, 0, 10, false)));
+        assertTrue(snapshot.query(JobFilter.of("++ dev", null), longAgo, 0, 10, false).content().isEmpty());
+        assertTrue(snapshot.query(JobFilter.of("c#", null), longAgo, 0, 10, false).content().isEmpty());
+    }
+
+    @Test
+    void pagesReportNextPageAndTotal() {
+        JobSnapshot.Result first = snapshot.query(JobFilter.of(null, null), SINCE, 0, 2, false);
+        assertEquals(List.of(3L, 2L), ids(first));
+        assertTrue(first.hasNext());
+        assertEquals(3L, first.total());
+        assertNull(first.facets());
+
+        JobSnapshot.Result second = snapshot.query(JobFilter.of(null, null), SINCE, 2, 2, false);
+        assertEquals(List.of(1L), ids(second));
+        assertFalse(second.hasNext());
+        assertEquals(3L, second.total());
+
+        assertTrue(snapshot.query(JobFilter.of(null, null), SINCE, 10, 2, false).content().isEmpty());
+    }
+
+    @Test
+    void facetFiltersAreOrWithinAndAndAcross() {
+        LocalDateTime longAgo = NOW.minusYears(3);
+
+        assertEquals(List.of(2L, 4L), ids(snapshot.query(filter(Set.of("remote", "paris"), null, null),
+                NOW.minusMonths(18), 0, 10, false)));
+        assertEquals(List.of(2L, 4L, 5L), ids(snapshot.query(filter(Set.of(" Remote", "PARIS"), null, null),
+                longAgo, 0, 10, false)));
+        assertEquals(List.of(5L), ids(snapshot.query(filter(Set.of("Remote", "Paris"), JobLanguage.DE, null),
+                longAgo, 0, 10, false)));
+        assertEquals(List.of(2L, 4L), ids(snapshot.query(filter(Set.of(), null, Set.of(WorkMode.REMOTE)), longAgo,
+                0, 10, false)));
+        assertEquals(List.of(3L, 1L, 5L), ids(snapshot.query(filter(Set.of(), null,
+                Set.of(WorkMode.HYBRID, WorkMode.ONSITE)), longAgo, 0, 10, false)));
+        assertEquals(0L, snapshot.query(filter(Set.of("Tokyo"), null, null), longAgo, 0, 10, false).total());
+        assertEquals(List.of(1L), ids(snapshot.query(new JobFilter("java", null, Set.of("test", "other"), null,
+                Set.of("Berlin, Germany"), null, null, null, null), longAgo, 0, 10, false)));
+    }
+
+    @Test
+    void filtersOnExtractedCountryAndCity() {
+        LocalDateTime longAgo = NOW.minusYears(3);
+
+        assertEquals(List.of(3L, 1L), ids(snapshot.query(places(null, Set.of("berlin")), longAgo, 0, 10, false)));
+        assertEquals(List.of(3L, 1L, 5L), ids(snapshot.query(places(Set.of("Germany", "fr"), null), longAgo, 0, 10,
+                false)));
+        assertEquals(0L, snapshot.query(places(Set.of("Atlantis"), null), longAgo, 0, 10, false).total());
+
+        JobSnapshot.Result result = snapshot.query(places(Set.of("DE"), null), longAgo, 0, 10, true);
+        assertEquals(List.of(new FacetCount("DE", 2), new FacetCount("FR", 1)),
+                result.facets().get(JobSnapshot.COUNTRY));
+        assertEquals(List.of(new FacetCount("Berlin", 2)), result.facets().get(JobSnapshot.CITY));
+        assertEquals(List.of(new FacetCount("ONSITE", 2)), result.facets().get(JobSnapshot.WORK_MODE));
+    }
+
+    @Test
+    void facetCountsIgnoreTheirOwnFilter() {
+        JobSnapshot.Result result = snapshot.query(filter(Set.of("Remote"), null, null), NOW.minusYears(3), 0, 10,
+                true);
+
+        assertEquals(2L, result.total());
+        // Location counts skip the location filter so other locations stay selectable
+        assertEquals(List.of(new FacetCount("Remote", 2), new FacetCount("Berlin, Germany", 1),
+                new FacetCount("Paris", 1), new FacetCount("berlin", 1)), result.facets().get(JobSnapshot.LOCATION));
+        assertEquals(List.of(new FacetCount("EN", 2)), result.facets().get(JobSnapshot.LANGUAGE));
+        assertEquals(List.of(new FacetCount("Test", 2)), result.facets().get(JobSnapshot.SOURCE));
+        assertEquals(List.of(new FacetCount("REMOTE", 2)), result.facets().get(JobSnapshot.WORK_MODE));
+        assertEquals(List.of(), result.facets().get(JobSnapshot.CITY));
+    }
+
+    @Test
+    void relevanceRanksExactTitleWordsAboveNewerPrefixMatches() {
+        JobSnapshot ranked = JobSnapshot.build(List.of(
+                job(10L, "JavaScript Developer", "Berlin", NOW, null),
+                job(11L, "Developer Java", "Berlin", NOW.minusDays(1), null),
+                job(12L, "Java Engineer", "Berlin", NOW.minusDays(30), null)));
+        Ranking ignoreAge = new Ranking(3.0, 14, 0, NOW);
+
+        assertEquals(List.of(10L, 11L, 12L), ids(ranked.query(JobFilter.of("java", null), SINCE, 0, 10, false)));
+        // Equal scores keep the newer job first
+        assertEquals(List.of(11L, 12L, 10L),
+                ids(ranked.query(JobFilter.of("java", null), SINCE, 0, 10, false, ignoreAge, false)));
+
+        JobSnapshot.Result second = ranked.query(JobFilter.of("java", null), SINCE, 1, 1, false, ignoreAge, false);
+        assertEquals(List.of(12L), ids(second));
+        assertTrue(second.hasNext());
+        assertEquals(3L, second.total());
+
+        // Recency outweighs the exact match once the exact matches are old enough
+        Ranking recent = new Ranking(3.0, 0.5, 1, NOW);
+        assertEquals(10L, ids(ranked.query(JobFilter.of("java", null), SINCE, 0, 10, false, recent, false)).get(0));
+
+        // Scores of an earlier query on this thread do not carry over
+        assertEquals(List.of(10L),
+                ids(ranked.query(JobFilter.of("javascript", null), SINCE, 0, 10, false, ignoreAge, false)));
+        assertEquals(List.of(11L, 12L, 10L),
+                ids(ranked.query(JobFilter.of("java", null), SINCE, 0, 10, false, ignoreAge, false)));
+    }
+
+    @Test
+    void pagesPastTheLastMatchAreEmptyWithoutRankingThem() {
+        Ranking ranking = new Ranking(3.0, 14, 0.3, NOW);
+        long hugeOffset = 1_000_000L * 100;
+
+        JobSnapshot.Result ranked = snapshot.query(JobFilter.of("java", null), SINCE, hugeOffset, 100, false,
+                ranking, false);
+        assertTrue(ranked.content().isEmpty());
+        assertFalse(ranked.hasNext());
+        assertEquals(2L, ranked.total());
+
+        // Past the int range too
+        JobSnapshot.Result feed = snapshot.query(JobFilter.of(null, null), SINCE, (long) Integer.MAX_VALUE * 100, 100,
+                false);
+        assertTrue(feed.content().isEmpty());
+        assertEquals(3L, feed.total());
+
+        // The last page of a ranked query sees only the remaining match
+        JobSnapshot.Result last = snapshot.query(JobFilter.of("java", null), SINCE, 1, 100, false, ranking, false);
+        assertEquals(1, last.content().size());
+        assertFalse(last.hasNext());
+    }
+
+    @Test
+    void relevanceWithoutKeywordKeepsFeedOrder() {
+        Ranking ranking = new Ranking(3.0, 14, 0.3, NOW);
+
+        assertEquals(List.of(3L, 2L, 1L),
+                ids(snapshot.query(JobFilter.of(null, null), SINCE, 0, 10, false, ranking, false)));
+    }
+
+    @Test
+    void highlightsMatchedWordsWithOffsetsIntoTheOriginalText() {
+        JobSnapshot accented = JobSnapshot.build(List.of(new JobSummaryDTO(1L, "De\u0301veloppeur Junior (Java)",
+                "ACME", "Paris", "https://example.com/1", "Junior developers join our Java team", "Test", NOW, NOW,
+                JobLanguage.FR, 5, WorkMode.ONSITE, "FR", "Paris")));
+
+        JobSummaryDTO job = accented.query(JobFilter.of("develop JAV", null), SINCE, 0, 10, false, null, true)
+                .content().get(0);
+
+        // The decomposed accent belongs to the first word
+        assertArrayEquals(new int[] { 0, 12, 21, 25 }, job.getTitleHighlights());
+        assertArrayEquals(new int[] { 7, 17, 27, 31 }, job.getSnippetHighlights());
+
+        JobSummaryDTO plain = accented.query(JobFilter.of("develop", null), SINCE, 0, 10, false, null, false)
+                .content().get(0);
+        assertNull(plain.getTitleHighlights());
+        assertNull(accented.query(JobFilter.of(null, null), SINCE, 0, 10, false, null, true).content().get(0)
+                .getSnippetHighlights());
+    }
+
+    @Test
+    void sharesRepeatedStrings() {
+        JobSnapshot.Result result = snapshot.query(JobFilter.of(null, "remote"), NOW.minusYears(2), 0, 10, false);
+
+        assertEquals(2, result.content().size());
+        assertSame(result.content().get(0).getLocation(), result.content().get(1).getLocation());
+        assertSame(result.content().get(0).getCompany(), result.content().get(1).getCompany());
+    }
+
+    private static List<Long> ids(JobSnapshot.Result result) {
+        return result.content().stream().map(JobSummaryDTO::getId).toList();
+    }
+
+    private static JobFilter filter(Set<String> locations, JobLanguage language, Set<WorkMode> workModes) {
+        return new JobFilter(null, null, null, language == null ? null : Set.of(language), locations, workModes,
+                null, null, null);
+    }
+
+    private static JobFilter places(Set<String> countries, Set<String> cities) {
+        return new JobFilter(null, null, null, null, null, null, countries, cities, null);
+    }
+
+    private static JobSummaryDTO job(Long id, String title, String location, LocalDateTime postedAt, Integer score) {
+        return job(id, title, location, postedAt, score, "Test", JobLanguage.EN);
+    }
+
+    private static JobSummaryDTO job(Long id, String title, String location, LocalDateTime postedAt, Integer score,
+            String source, JobLanguage language) {
+        StructuredLocation place = new LocationExtractor().extract(location, title);
+        return new JobSummaryDTO(id, title, new String("ACME"), new String(location), "https://example.com/" + id,
+                "Snippet", source, postedAt, postedAt.plusHours(1), language, score, place.workMode(),
+                place.countryCode(), place.city());
+    }
+}
@@ -0,0 +1,86 @@
+package com.entry_level_jobs.search;
+
+import com.entry_level_jobs.dto.LocationOption;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationPrefixIndexTest {
+    private final LocationPrefixIndex index = LocationPrefixIndex.build(List.of(
+            new LocationOption("Berlin, Germany", 12L),
+            new LocationOption("Bern", 3L),
+            new LocationOption("Zürich, Switzerland", 5L),
+            new LocationOption("Remote", 40L),
+            new LocationOption("New York, New York", 7L),
+            new LocationOption("Lagos", 0L)), 3);
+
+    @Test
+    void matchesPrefixOfAnyWordMostJobsFirst() {
+        assertEquals(List.of("Berlin, Germany", "Bern"), values(index.search("ber", 10)));
+        assertEquals(List.of("Berlin, Germany"), values(index.search("germ", 10)));
+        assertEquals(List.of("Bern"), values(index.search("Bern", 10)));
+        assertTrue(index.search("erlin", 10).options().isEmpty());
+    }
+
+    @Test
+    void foldsCaseAccentsAndWhitespace() {
+        assertEquals(List.of("Zürich, Switzerland"), values(index.search("  ZURICH ", 10)));
+        assertEquals(List.of("Zürich, Switzerland"), values(index.search("zür", 10)));
+        assertEquals("new york", TextNormalizer.fold(" New \t York "));
+        assertNull(TextNormalizer.fold("  "));
+    }
+
+    @Test
+    void countsEachLocationOnceAndHonoursLimit() {
+        LocationPrefixIndex.Matches newYork = index.search("new", 10);
+        assertEquals(1, newYork.totalMatches());
+        assertEquals(List.of("New York, New York"), values(newYork));
+
+        LocationPrefixIndex.Matches ber = index.search("be", 1);
+        assertEquals(List.of("Berlin, Germany"), values(ber));
+        assertEquals(2, ber.totalMatches());
+    }
+
+    @Test
+    void blankQueryReturnsTopKOverallAndSkipsEmptyLocations() {
+        LocationPrefixIndex.Matches all = index.search(null, 10);
+
+        assertEquals(List.of("Remote", "Berlin, Germany", "New York, New York"), values(all));
+        assertEquals(5, all.totalMatches());
+        assertEquals(5, index.size());
+        assertTrue(index.search("lagos", 10).options().isEmpty());
+    }
+
+    @Test
+    void queryEndingInsideCompressedEdgeStillMatches() {
+        assertEquals(List.of("Remote"), values(index.search("remo", 10)));
+        assertEquals(List.of("Remote"), values(index.search("remote", 10)));
+        assertTrue(index.search("remotes", 10).options().isEmpty());
+        assertTrue(index.search("rex", 10).options().isEmpty());
+    }
+
+    @Test
+    void singleLocationIsFoundByItsPrefixes() {
+        LocationPrefixIndex remoteOnly = LocationPrefixIndex.build(List.of(new LocationOption("Remote", 4L)), 3);
+
+        assertEquals(List.of("Remote"), values(remoteOnly.search("rem", 10)));
+        assertEquals(List.of("Remote"), values(remoteOnly.search("r", 10)));
+        assertTrue(remoteOnly.search("x", 10).options().isEmpty());
+    }
+
+    @Test
+    void locationsSharingTheirFirstLetterAreFound() {
+        LocationPrefixIndex berOnly = LocationPrefixIndex.build(List.of(
+                new LocationOption("Berlin", 5L), new LocationOption("Bern", 2L)), 3);
+
+        assertEquals(List.of("Berlin", "Bern"), values(berOnly.search("ber", 10)));
+        assertEquals(List.of("Berlin", "Bern"), values(berOnly.search("b", 10)));
+        assertEquals(List.of("Bern"), values(berOnly.search("bern", 10)));
+    }
+
+    private static List<String> values(LocationPrefixIndex.Matches matches) {
+        return matches.options().stream().map(LocationOption::getValue).toList();
+    }
+}
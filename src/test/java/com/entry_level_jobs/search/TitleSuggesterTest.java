@@ -0,0 +1,81 @@
+package com.entry_level_jobs.search;
+
+import com.entry_level_jobs.dto.TitleSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleSuggesterTest {
+    private final TitleSuggester suggester = TitleSuggester.build(
+            new String[] { "Junior Java Developer", "junior  java developer!", "Java Intern", "Junior Designer",
+                    "Junior Designer", "Junior Designer", "Data Analyst", "   " },
+            new double[] { 0, 1, 0, 60, 61, 62, 1, 0 }, 3, 14);
+
+    @Test
+    void mergesTitlesWithTheSameWordsUnderTheNewestSpelling() {
+        assertEquals(List.of(new TitleSuggestion("Junior Java Developer", 2)),
+                suggester.suggest("junior java", 10).suggestions());
+        assertEquals(4, suggester.size());
+    }
+
+    @Test
+    void recentTitlesOutrankOlderMoreFrequentOnes() {
+        TitleSuggester.Matches matches = suggester.suggest("Jun", 10);
+
+        assertEquals(List.of("Junior Java Developer", "Junior Designer"), values(matches));
+        assertEquals(2, matches.totalMatches());
+    }
+
+    @Test
+    void frequencyDecidesAmongEquallyRecentTitles() {
+        TitleSuggester sameAge = TitleSuggester.build(
+                new String[] { "Java Intern", "Junior Designer", "Junior Designer" }, new double[3], 3, 14);
+
+        assertEquals(List.of("Junior Designer", "Java Intern"), values(sameAge.suggest("j", 10)));
+    }
+
+    @Test
+    void matchesFromAnyWordIgnoringPunctuationAndHonoursLimit() {
+        assertEquals(List.of("Junior Java Developer", "Java Intern"), values(suggester.suggest("JAVA", 10)));
+        assertEquals(List.of("Junior Java Developer"), values(suggester.suggest("java-dev", 10)));
+
+        TitleSuggester.Matches first = suggester.suggest("java", 1);
+        assertEquals(List.of("Junior Java Developer"), values(first));
+        assertEquals(2, first.totalMatches());
+
+        assertTrue(suggester.suggest("ava", 10).suggestions().isEmpty());
+        assertTrue(suggester.suggest(" ", 10).suggestions().isEmpty());
+    }
+
+    @Test
+    void singleTitleIsFoundByItsPrefixes() {
+        TitleSuggester intern = TitleSuggester.build(new String[] { "Intern" }, new double[1], 5, 14);
+
+        assertEquals(List.of("Intern"), values(intern.suggest("int", 5)));
+        assertEquals(List.of("Intern"), values(intern.suggest("i", 5)));
+    }
+
+    @Test
+    void queriesLongerThanTheIndexedDepthAreChecked() {
+        TitleSuggester longTitles = TitleSuggester.build(
+                new String[] { "Junior Software Engineer Backend", "Junior Software Engineer Frontend",
+                        "Junior Software Engineering Intern" },
+                new double[] { 0, 1, 2 }, 1, 14);
+
+        TitleSuggester.Matches matches = longTitles.suggest("junior software engineer", 1);
+        assertEquals(List.of("Junior Software Engineer Backend"), values(matches));
+        assertEquals(3, matches.totalMatches());
+
+        assertEquals(List.of("Junior Software Engineer Frontend"),
+                values(longTitles.suggest("software engineer front", 5)));
+        assertEquals(List.of("Junior Software Engineering Intern"),
+                values(longTitles.suggest("junior software engineering", 5)));
+        assertTrue(longTitles.suggest("junior software engineer fullstack", 5).suggestions().isEmpty());
+    }
+
+    private static List<String> values(TitleSuggester.Matches matches) {
+        return matches.suggestions().stream().map(TitleSuggestion::getValue).toList();
+    }
+}
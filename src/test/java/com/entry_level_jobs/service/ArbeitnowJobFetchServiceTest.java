@@ -1,31 +1,64 @@
 package com.entry_level_jobs.service;
 
+import com.entry_level_jobs.config.RateLimitProperties;
 import com.entry_level_jobs.dto.ArbeitnowJobResponse;
+import com.entry_level_jobs.fetch.CircuitBreakerRegistry;
+import com.entry_level_jobs.fetch.ConditionalRequestCache;
+import com.entry_level_jobs.fetch.ExternalApiClient;
+import com.entry_level_jobs.fetch.HostRateLimiter;
 import com.entry_level_jobs.model.Job;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class ArbeitnowJobFetchServiceTest {
+    private final ObjectMapper mapper = new ObjectMapper();
     private RestTemplate restTemplate;
+    private ConditionalRequestCache conditionalRequestCache;
+    private HostRateLimiter rateLimiter;
     private ArbeitnowJobFetchService service;
 
     @BeforeEach
     public void setup() {
         restTemplate = Mockito.mock(RestTemplate.class);
-        service = new ArbeitnowJobFetchService(restTemplate);
+        service = serviceWithTtlDays(30);
+    }
+
+    private ArbeitnowJobFetchService serviceWithTtlDays(long ttlDays) {
+        conditionalRequestCache = new ConditionalRequestCache(ttlDays);
+        RateLimitProperties rateLimits = new RateLimitProperties();
+        rateLimits.setRequestsPerSecond(1000);
+        rateLimits.setBurst(10);
+        rateLimiter = Mockito.spy(new HostRateLimiter(rateLimits));
+        ExternalApiClient apiClient = new ExternalApiClient(restTemplate, conditionalRequestCache,
+                rateLimiter, new CircuitBreakerRegistry(10, 3, 60_000),
+                Runnable::run, 3, 1, 10, 200);
+        return new ArbeitnowJobFetchService(apiClient, 3, 3_600_000, 1.0, 3);
     }
 
     @Test
-    public void testFetchJobsSuccess() {
+    public void testFetchJobsSuccess() throws Exception {
         ArbeitnowJobResponse.ArbeitnowJob job = ArbeitnowJobResponse.ArbeitnowJob.builder()
                 .title("Dev")
                 .company_name("ACME")
@@ -36,7 +69,8 @@ public class ArbeitnowJobFetchServiceTest {
                 .build();
 
         ArbeitnowJobResponse resp = ArbeitnowJobResponse.builder().data(List.of(job)).build();
-        when(restTemplate.getForObject(anyString(), eq(ArbeitnowJobResponse.class))).thenReturn(resp);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(ResponseEntity.ok(mapper.writeValueAsBytes(resp)));
 
         List<Job> jobs = service.fetchJobsFromArbeitnow(1);
         assertNotNull(jobs);
@@ -51,10 +85,87 @@ public class ArbeitnowJobFetchServiceTest {
 
     @Test
     public void testFetchJobsHandlesNullResponse() {
-        when(restTemplate.getForObject(anyString(), eq(ArbeitnowJobResponse.class))).thenReturn(null);
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(ResponseEntity.ok().build());
         List<Job> jobs = service.fetchJobsFromArbeitnow(1);
         assertNotNull(jobs);
         assertTrue(jobs.isEmpty());
     }
-}
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSecondFetchSendsValidatorsAndSkipsNotModifiedPage() throws Exception {
+        byte[] body = mapper.writeValueAsBytes(ArbeitnowJobResponse.builder().data(List.of()).build());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"v1\"").body(body))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        service.fetchJobsFromArbeitnow(1);
+        List<Job> jobs = service.fetchJobsFromArbeitnow(1);
+
+        assertTrue(jobs.isEmpty());
+        ArgumentCaptor<HttpEntity<?>> captor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), captor.capture(), eq(byte[].class));
+        assertNull(captor.getAllValues().get(0).getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals("\"v1\"", captor.getAllValues().get(1).getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(1, conditionalRequestCache.getPagesSkipped());
+        assertEquals(body.length, conditionalRequestCache.getBytesSaved());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testRefetchesFullPageOnceValidatorsAreOld() throws Exception {
+        // With no TTL every validator is already too old to send
+        service = serviceWithTtlDays(0);
+        byte[] body = mapper.writeValueAsBytes(ArbeitnowJobResponse.builder().data(List.of()).build());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"v1\"").body(body));
+
+        service.fetchJobsFromArbeitnow(1);
+        service.fetchJobsFromArbeitnow(1);
+
+        ArgumentCaptor<HttpEntity<?>> captor = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), captor.capture(), eq(byte[].class));
+        assertNull(captor.getAllValues().get(1).getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(0, conditionalRequestCache.getPagesSkipped());
+    }
+
+    @Test
+    public void testHonoursRetryAfterBeyondMaxBackoffUpToItsOwnCap() throws Exception {
+        byte[] body = mapper.writeValueAsBytes(ArbeitnowJobResponse.builder().data(List.of()).build());
+        HttpHeaders retryLater = new HttpHeaders();
+        retryLater.set(HttpHeaders.RETRY_AFTER, "1");
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
+                .thenThrow(HttpClientErrorException.create(HttpStatus.TOO_MANY_REQUESTS, "slow down",
+                        retryLater, null, null))
+                .thenReturn(ResponseEntity.ok(body));
+
+        service.fetchJobsFromArbeitnow(1);
+
+        // Backoff is capped at 10 ms, Retry-After (1 s) at 200 ms
+        verify(rateLimiter).pause(anyString(), eq(Duration.ofMillis(200)));
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(byte[].class));
+    }
+
+    @Test
+    public void testRetriesTransientServerError() throws Exception {
+        ArbeitnowJobResponse.ArbeitnowJob job = ArbeitnowJobResponse.ArbeitnowJob.builder()
+                .title("Dev")
+                .company_name("ACME")
+                .url("https://example.com/j/2")
+                .created_at(1700000000L)
+                .build();
+        byte[] body = mapper.writeValueAsBytes(ArbeitnowJobResponse.builder().data(List.of(job)).build());
+        when(restTemplate.exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class), eq(byte[].class)))
+                .thenThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "down",
+                        HttpHeaders.EMPTY, null, null))
+                .thenReturn(ResponseEntity.ok(body));
+
+        List<Job> jobs = service.fetchJobsFromArbeitnow(1);
+
+        assertEquals(1, jobs.size());
+        verify(restTemplate, times(2)).exchange(anyString(), eq(HttpMethod.GET), any(HttpEntity.class),
+                eq(byte[].class));
+    }
+}
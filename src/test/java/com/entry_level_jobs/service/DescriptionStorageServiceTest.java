@@ -0,0 +1,127 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.model.Job;
+import com.entry_level_jobs.model.JobDescription;
+import com.entry_level_jobs.repository.JobDescriptionRepository;
+import com.entry_level_jobs.repository.JobRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// PostgreSQL mode for the native ON CONFLICT upserts
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:descriptions;MODE=PostgreSQL")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class DescriptionStorageServiceTest {
+    private static final String BOILERPLATE = "We are an equal opportunity employer. ".repeat(50);
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private JobDescriptionRepository descriptionRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private DescriptionStorageService storageService;
+
+    @BeforeEach
+    void setup() {
+        storageService = new DescriptionStorageService(descriptionRepository, jobRepository);
+    }
+
+    @Test
+    void identicalDescriptionsAreStoredOnceAndCompressed() {
+        Job first = job("https://example.com/1", BOILERPLATE);
+        Job second = job("https://example.com/2", BOILERPLATE);
+
+        storageService.attachDescriptions(List.of(first, second));
+        jobRepository.saveAll(List.of(first, second));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, descriptionRepository.count());
+        JobDescription stored = descriptionRepository.findAll().get(0);
+        assertEquals(BOILERPLATE.length(), stored.getOriginalLength());
+        assertTrue(stored.getContent().length < BOILERPLATE.length() / 10);
+
+        entityManager.clear();
+        Job reloaded = jobRepository.findById(first.getId()).orElseThrow();
+        assertNull(reloaded.getLegacyDescription());
+        assertEquals(BOILERPLATE, reloaded.getDescription());
+    }
+
+    @Test
+    void descriptionInsertedConcurrentlyIsReused() {
+        JobDescription other = JobDescription.of(BOILERPLATE);
+        assertEquals(1, descriptionRepository.insertIfAbsent(other.getHash(), other.getContent(),
+                other.getOriginalLength(), other.getCreatedAt()));
+        // The same text arriving again must not hit the primary key
+        assertEquals(0, descriptionRepository.insertIfAbsent(other.getHash(), other.getContent(),
+                other.getOriginalLength(), other.getCreatedAt()));
+
+        Job job = job("https://example.com/1", BOILERPLATE);
+        storageService.attachDescriptions(List.of(job));
+        jobRepository.save(job);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(1, descriptionRepository.count());
+        assertEquals(BOILERPLATE, jobRepository.findById(job.getId()).orElseThrow().getDescription());
+    }
+
+    @Test
+    void inlineDescriptionsAreMovedToSideTable() {
+        Job legacy = job("https://example.com/legacy", null);
+        legacy.setLegacyDescription("Old inline text");
+        jobRepository.saveAndFlush(legacy);
+
+        assertEquals(1, storageService.migrateInlineDescriptions(10));
+        assertEquals(0, storageService.migrateInlineDescriptions(10));
+        entityManager.flush();
+        entityManager.clear();
+
+        Job reloaded = jobRepository.findById(legacy.getId()).orElseThrow();
+        assertNull(reloaded.getLegacyDescription());
+        assertNotNull(reloaded.getDescriptionBody());
+        assertEquals("Old inline text", reloaded.getDescription());
+    }
+
+    @Test
+    void unusedDescriptionsArePurged() {
+        Job job = job("https://example.com/1", "Kept text");
+        storageService.attachDescriptions(List.of(job));
+        jobRepository.save(job);
+        descriptionRepository.save(JobDescription.of("Nobody uses this"));
+        entityManager.flush();
+        entityManager.createNativeQuery("UPDATE job_descriptions SET created_at = :old")
+                .setParameter("old", LocalDateTime.now().minusDays(1))
+                .executeUpdate();
+        entityManager.clear();
+
+        assertEquals(1, storageService.purgeOrphans(10));
+
+        assertEquals(List.of(JobDescription.hashOf("Kept text")),
+                descriptionRepository.findAll().stream().map(JobDescription::getHash).toList());
+    }
+
+    private static Job job(String url, String description) {
+        return Job.builder()
+                .url(url)
+                .title("Junior Developer")
+                .company("ACME")
+                .location("Remote")
+                .description(description)
+                .source("Test")
+                .postedAt(LocalDateTime.now())
+                .build();
+    }
+}
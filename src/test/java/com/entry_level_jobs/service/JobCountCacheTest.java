@@ -0,0 +1,77 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.language.JobLanguage;
+import com.entry_level_jobs.location.WorkMode;
+import com.entry_level_jobs.repository.JobRepository;
+import com.entry_level_jobs.search.JobFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobCountCacheTest {
+    private static final LocalDateTime SINCE = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @Mock
+    private JobRepository jobRepository;
+
+    private final JobDataVersion dataVersion = new JobDataVersion();
+
+    @Test
+    void reusesCountForSameFilterIgnoringCase() {
+        JobCountCache cache = new JobCountCache(jobRepository, dataVersion, 60_000, 100);
+        when(jobRepository.countSummaries(JobFilter.of("Java", "Berlin"), SINCE)).thenReturn(7L);
+
+        assertEquals(7, cache.count(JobFilter.of("Java", "Berlin"), SINCE));
+        assertEquals(7, cache.count(JobFilter.of("java", "BERLIN"), SINCE));
+
+        verify(jobRepository, times(1)).countSummaries(any(JobFilter.class), any());
+        assertEquals(1L, cache.snapshot().get("hits"));
+    }
+
+    @Test
+    void keysOnFacetFilters() {
+        JobCountCache cache = new JobCountCache(jobRepository, dataVersion, 60_000, 100);
+        JobFilter german = new JobFilter(null, null, Set.of("Arbeitnow"), Set.of(JobLanguage.DE), null, null,
+                null, null, null);
+        JobFilter remoteGerman = new JobFilter(null, null, Set.of("arbeitnow "), Set.of(JobLanguage.DE), null,
+                Set.of(WorkMode.REMOTE), null, null, null);
+        when(jobRepository.countSummaries(german, SINCE)).thenReturn(4L);
+        when(jobRepository.countSummaries(remoteGerman, SINCE)).thenReturn(1L);
+
+        assertEquals(4, cache.count(german, SINCE));
+        assertEquals(1, cache.count(remoteGerman, SINCE));
+        assertEquals(4, cache.count(new JobFilter(null, null, Set.of("ARBEITNOW"), Set.of(JobLanguage.DE), null,
+                null, null, null, null), SINCE));
+        assertEquals(1L, cache.snapshot().get("hits"));
+    }
+
+    @Test
+    void recountsAfterJobsChange() {
+        JobCountCache cache = new JobCountCache(jobRepository, dataVersion, 60_000, 100);
+        when(jobRepository.countSummaries(JobFilter.of(null, "Remote"), SINCE)).thenReturn(3L, 4L);
+
+        assertEquals(3, cache.count(JobFilter.of(null, "Remote"), SINCE));
+        dataVersion.onJobDataChanged(new JobDataChangedEvent(1, 0, 0));
+
+        assertEquals(4, cache.count(JobFilter.of(null, "Remote"), SINCE));
+    }
+
+    @Test
+    void recountsAfterTtl() {
+        JobCountCache cache = new JobCountCache(jobRepository, dataVersion, 0, 100);
+        when(jobRepository.countSummaries(JobFilter.of(null, null), SINCE)).thenReturn(5L);
+
+        cache.count(JobFilter.of(null, null), SINCE);
+        cache.count(JobFilter.of(null, null), SINCE);
+
+        verify(jobRepository, times(2)).countSummaries(JobFilter.of(null, null), SINCE);
+    }
+}
@@ -3,13 +3,14 @@ package com.entry_level_jobs.service;
 import org.junit.jupiter.api.Test;
 
 import java.lang.reflect.Method;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
 public class JobFetchServiceNormalizeUrlTest {
 
     private String normalize(String url) throws Exception {
-        JobFetchService svc = new JobFetchService(null, null, null);
+        JobFetchService svc = new JobFetchService(List.of(), null);
         Method m = JobFetchService.class.getDeclaredMethod("normalizeUrl", String.class);
         m.setAccessible(true);
         return (String) m.invoke(svc, url);
@@ -1,5 +1,11 @@
 package com.entry_level_jobs.service;
 
+import com.entry_level_jobs.config.RateLimitProperties;
+import com.entry_level_jobs.dto.ArbeitnowJobResponse;
+import com.entry_level_jobs.dto.MuseJobResponse;
+import com.entry_level_jobs.dto.RemotiveJobResponse;
+import com.entry_level_jobs.fetch.HostRateLimiter;
+import com.entry_level_jobs.fetch.SourcePage;
 import com.entry_level_jobs.model.Job;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,10 +14,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDateTime;
-import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -30,7 +37,9 @@ class JobFetchServiceOrderingTest {
 
     @BeforeEach
     void setUp() {
-        jobFetchService = new JobFetchService(arbeitnowJobFetchService, remotiveJobFetchService, museJobFetchService);
+        jobFetchService = new JobFetchService(
+                List.of(arbeitnowJobFetchService, remotiveJobFetchService, museJobFetchService),
+                new HostRateLimiter(new RateLimitProperties()));
     }
 
     @Test
@@ -55,14 +64,25 @@ class JobFetchServiceOrderingTest {
                 .postedAt(now.minusDays(2))
                 .build();
 
-        when(arbeitnowJobFetchService.fetchJobsFromArbeitnow(1)).thenReturn(List.of(arbeitnowJob));
-        when(arbeitnowJobFetchService.fetchJobsFromArbeitnow(2)).thenReturn(Collections.emptyList());
-        when(remotiveJobFetchService.fetchJobsFromRemotive()).thenReturn(List.of(remotiveJob));
-        when(museJobFetchService.fetchJobsFromMuse()).thenReturn(List.of(museJob));
+        ArbeitnowJobResponse.ArbeitnowJob arbeitnowPosting = new ArbeitnowJobResponse.ArbeitnowJob();
+        RemotiveJobResponse.RemotiveJob remotivePosting = new RemotiveJobResponse.RemotiveJob();
+        MuseJobResponse.MuseJob musePosting = new MuseJobResponse.MuseJob();
+
+        when(arbeitnowJobFetchService.getMaxPages()).thenReturn(3);
+        when(arbeitnowJobFetchService.fetchPage(1)).thenReturn(SourcePage.of(List.of(arbeitnowPosting), true));
+        when(arbeitnowJobFetchService.fetchPage(2)).thenReturn(SourcePage.end());
+        when(arbeitnowJobFetchService.toJob(arbeitnowPosting)).thenReturn(arbeitnowJob);
+        when(remotiveJobFetchService.getMaxPages()).thenReturn(1);
+        when(remotiveJobFetchService.fetchPage(1)).thenReturn(SourcePage.of(List.of(remotivePosting), false));
+        when(remotiveJobFetchService.toJob(remotivePosting)).thenReturn(remotiveJob);
+        when(museJobFetchService.getMaxPages()).thenReturn(1);
+        when(museJobFetchService.fetchPage(1)).thenReturn(SourcePage.of(List.of(musePosting), true));
+        when(museJobFetchService.toJob(musePosting)).thenReturn(museJob);
 
         List<Job> result = jobFetchService.fetchJobsFromApis();
 
         assertIterableEquals(List.of(remotiveJob, museJob, arbeitnowJob), result,
                 "Jobs should be ordered by most recent postedAt timestamp");
+        verify(arbeitnowJobFetchService, never()).fetchPage(3);
     }
 }
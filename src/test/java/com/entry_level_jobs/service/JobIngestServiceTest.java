@@ -0,0 +1,210 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.language.JobLanguage;
+import com.entry_level_jobs.location.WorkMode;
+import com.entry_level_jobs.model.Job;
+import com.entry_level_jobs.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobIngestServiceTest {
+    private static final LocalDateTime POSTED = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+    @Mock
+    private JobRepository jobRepository;
+
+    @Mock
+    private JobFilterService jobFilterService;
+
+    @Mock
+    private DescriptionStorageService descriptionStorageService;
+
+    @Mock
+    private LocationFacetService locationFacetService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private JobIngestService jobIngestService;
+
+    @BeforeEach
+    void setup() {
+        jobIngestService = new JobIngestService(jobRepository, jobFilterService, descriptionStorageService,
+                locationFacetService, new LocationExtractor(), eventPublisher, 30);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void ingestClassifiesNewChangedAndUnchangedJobs() {
+        Job unchangedStored = job(1L, "https://example.com/a", "Junior Developer", "Same text");
+        unchangedStored.setContentHash(JobIngestService.contentHash(unchangedStored));
+        Job changedStored = job(2L, "https://example.com/b", "Graduate Analyst", "Old text");
+        changedStored.setContentHash(JobIngestService.contentHash(changedStored));
+        when(jobRepository.findByUrlIn(anyCollection())).thenReturn(List.of(unchangedStored, changedStored));
+
+        IngestResult result = jobIngestService.ingest(List.of(
+                job(null, "https://example.com/a", "Junior Developer", "Same text"),
+                job(null, "https://example.com/b", "Graduate Analyst", "New text"),
+                job(null, "https://example.com/c", "Intern", "Fresh"),
+                job(null, "https://example.com/c", "Intern", "Fresh")));
+
+        assertEquals(new IngestResult(1, 1, 1), result);
+
+        ArgumentCaptor<List<Job>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(jobRepository).saveAll(inserted.capture());
+        assertEquals(1, inserted.getValue().size());
+        Job newJob = inserted.getValue().get(0);
+        assertEquals("https://example.com/c", newJob.getUrl());
+        assertNotNull(newJob.getContentHash());
+        assertNotNull(newJob.getLastSeenAt());
+        assertEquals(newJob.getLastSeenAt().plusDays(30), newJob.getExpiresAt());
+        assertEquals("Fresh", newJob.getSnippet());
+        assertEquals(WorkMode.REMOTE, newJob.getWorkMode());
+
+        assertEquals("New text", changedStored.getDescription());
+        assertEquals("New text", changedStored.getSnippet());
+        verify(jobFilterService).classifyJob(changedStored);
+        assertEquals(JobIngestService.contentHash(changedStored), changedStored.getContentHash());
+        assertNotNull(changedStored.getLastSeenAt());
+        assertNotNull(changedStored.getExpiresAt());
+
+        ArgumentCaptor<Collection<Long>> touched = ArgumentCaptor.forClass(Collection.class);
+        verify(jobRepository).touchLastSeen(touched.capture(), any(LocalDateTime.class), any(LocalDateTime.class));
+        assertEquals(List.of(1L), List.copyOf(touched.getValue()));
+        assertNull(unchangedStored.getLastSeenAt());
+
+        // Only the new job adds to a facet; the changed one stays in "Remote"
+        verify(locationFacetService).apply(Map.of("Remote", 1L));
+        verify(eventPublisher).publishEvent(new JobDataChangedEvent(1, 1, 0));
+    }
+
+    @Test
+    void ingestMovesFacetCountsWhenLocationChangesOrJobReactivates() {
+        Job moved = job(1L, "https://example.com/a", "Junior Developer", "Text");
+        moved.setContentHash(JobIngestService.contentHash(moved));
+        Job expired = job(2L, "https://example.com/b", "Graduate Analyst", "Text");
+        expired.setContentHash(JobIngestService.contentHash(expired));
+        expired.setActive(false);
+        when(jobRepository.findByUrlIn(anyCollection())).thenReturn(List.of(moved, expired));
+
+        Job movedIncoming = job(null, "https://example.com/a", "Junior Developer", "Text");
+        movedIncoming.setLocation("Berlin");
+        jobIngestService.ingest(List.of(movedIncoming,
+                job(null, "https://example.com/b", "Graduate Analyst", "Text")));
+
+        verify(locationFacetService).apply(Map.of("Remote", 0L, "Berlin", 1L));
+        assertEquals(WorkMode.ONSITE, moved.getWorkMode());
+        assertEquals("DE", moved.getCountryCode());
+        assertEquals("Berlin", moved.getCity());
+        verify(eventPublisher).publishEvent(new JobDataChangedEvent(1, 1, 0));
+    }
+
+    @Test
+    void ingestBackfillsHashOfLegacyRowsAndTreatsThemAsUnchanged() {
+        Job legacy = job(1L, "https://example.com/a", "Junior Developer", "Same text");
+        when(jobRepository.findByUrlIn(anyCollection())).thenReturn(List.of(legacy));
+
+        IngestResult result = jobIngestService.ingest(List.of(
+                job(null, "https://example.com/a", "Junior Developer", "Same text")));
+
+        assertEquals(new IngestResult(0, 0, 1), result);
+        assertEquals(JobIngestService.contentHash(legacy), legacy.getContentHash());
+        assertEquals(WorkMode.REMOTE, legacy.getWorkMode());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void undatedJobGetsFirstSeenDateAndStaysUnchangedOnReingest() {
+        when(jobRepository.findByUrlIn(anyCollection())).thenReturn(List.of());
+        Job undated = job(null, "https://example.com/a", "Junior Developer", "Text");
+        undated.setPostedAt(null);
+        String undatedHash = JobIngestService.contentHash(undated);
+
+        jobIngestService.ingest(List.of(undated));
+
+        ArgumentCaptor<List<Job>> inserted = ArgumentCaptor.forClass(List.class);
+        verify(jobRepository).saveAll(inserted.capture());
+        Job stored = inserted.getValue().get(0);
+        assertNotNull(stored.getPostedAt());
+        assertEquals(undatedHash, stored.getContentHash());
+
+        stored.setId(1L);
+        LocalDateTime firstSeen = stored.getPostedAt();
+        when(jobRepository.findByUrlIn(anyCollection())).thenReturn(List.of(stored));
+        Job again = job(null, "https://example.com/a", "Junior Developer", "Text");
+        again.setPostedAt(null);
+
+        assertEquals(new IngestResult(0, 0, 1), jobIngestService.ingest(List.of(again)));
+        assertEquals(firstSeen, stored.getPostedAt());
+    }
+
+    @Test
+    void ingestOfEmptyBatchTouchesNothing() {
+        assertEquals(IngestResult.empty(), jobIngestService.ingest(List.of()));
+        verifyNoInteractions(jobRepository);
+    }
+
+    @Test
+    void ingestReusesClassificationFromFilter() {
+        when(jobRepository.findByUrlIn(anyCollection())).thenReturn(List.of());
+        Job incoming = job(null, "https://example.com/a", "Junior Developer", "Text");
+        incoming.setLanguage(JobLanguage.EN);
+        incoming.setClassificationScore(8);
+
+        jobIngestService.ingest(List.of(incoming));
+
+        verify(jobFilterService, never()).classifyJob(any());
+        assertEquals(JobLanguage.EN, incoming.getLanguage());
+    }
+
+    @Test
+    void snippetCollapsesWhitespaceAndCutsAtWordBoundary() {
+        assertEquals("", JobIngestService.snippet(null));
+        assertEquals("Join our team as a junior dev", JobIngestService.snippet("  Join our\n\nteam   as a junior dev "));
+
+        String longText = "word ".repeat(100);
+        String snippet = JobIngestService.snippet(longText);
+        assertTrue(snippet.length() <= JobIngestService.SNIPPET_LENGTH + 1);
+        assertTrue(snippet.endsWith("word…"));
+    }
+
+    @Test
+    void contentHashChangesWithContentOnly() {
+        Job a = job(1L, "https://example.com/a", "Junior Developer", "Text");
+        Job b = job(2L, "https://example.com/other", "Junior Developer", "Text");
+        assertEquals(JobIngestService.contentHash(a), JobIngestService.contentHash(b));
+
+        b.setLocation("Berlin");
+        assertNotEquals(JobIngestService.contentHash(a), JobIngestService.contentHash(b));
+    }
+
+    private static Job job(Long id, String url, String title, String description) {
+        return Job.builder()
+                .id(id)
+                .url(url)
+                .title(title)
+                .company("ACME")
+                .location("Remote")
+                .description(description)
+                .source("Test")
+                .postedAt(POSTED)
+                .build();
+    }
+}
@@ -0,0 +1,128 @@
+package com.entry_level_jobs.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobPartitionServiceTest {
+    private static final LocalDate TODAY = LocalDate.of(2024, 11, 20);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private SchedulerLeaseService leaseService;
+
+    @Mock
+    private LocationFacetService locationFacetService;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private Statement statement;
+
+    private JobPartitionService partitionService;
+
+    @BeforeEach
+    void setup() {
+        partitionService = new JobPartitionService(jdbcTemplate, leaseService, locationFacetService, 2, 6,
+                "jobs_archive", 5000);
+    }
+
+    @Test
+    void createsCurrentAndUpcomingMonthlyPartitions() {
+        partitionService.createUpcomingPartitions(TODAY);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate, times(3)).execute(sql.capture());
+        assertEquals(List.of(
+                "CREATE TABLE IF NOT EXISTS jobs_p2024_11 PARTITION OF jobs FOR VALUES FROM ('2024-11-01') TO ('2024-12-01')",
+                "CREATE TABLE IF NOT EXISTS jobs_p2024_12 PARTITION OF jobs FOR VALUES FROM ('2024-12-01') TO ('2025-01-01')",
+                "CREATE TABLE IF NOT EXISTS jobs_p2025_01 PARTITION OF jobs FOR VALUES FROM ('2025-01-01') TO ('2025-02-01')"),
+                sql.getAllValues());
+    }
+
+    @Test
+    void detachesOnlyPartitionsBeforeRetentionWindow() throws SQLException {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("jobs_default", "jobs_p2024_04", "jobs_p2024_05", "jobs_p2024_06"));
+
+        runDetachOnConnection();
+
+        assertEquals(1, partitionService.archiveExpiredPartitions(TODAY));
+
+        // CONCURRENTLY would fail while jobs_default exists
+        verify(statement).execute("SET lock_timeout = 5000");
+        verify(statement).execute("ALTER TABLE jobs DETACH PARTITION jobs_p2024_04");
+        verify(statement).execute("RESET lock_timeout");
+        verify(jdbcTemplate).execute("ALTER TABLE jobs_p2024_04 SET SCHEMA jobs_archive");
+        verify(statement, never()).execute("ALTER TABLE jobs DETACH PARTITION jobs_p2024_05");
+        verify(statement, never()).execute("ALTER TABLE jobs DETACH PARTITION jobs_default");
+    }
+
+    @Test
+    void leavesPartitionAttachedWhenLockTimesOut() {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class)))
+                .thenReturn(List.of("jobs_p2024_03", "jobs_p2024_04"));
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenThrow(new CannotAcquireLockException("canceling statement due to lock timeout"))
+                .thenReturn(null);
+
+        assertEquals(1, partitionService.archiveExpiredPartitions(TODAY));
+
+        verify(jdbcTemplate, never()).execute("ALTER TABLE jobs_p2024_03 SET SCHEMA jobs_archive");
+        verify(jdbcTemplate).execute("ALTER TABLE jobs_p2024_04 SET SCHEMA jobs_archive");
+    }
+
+    @Test
+    void skipsMaintenanceWithoutLease() {
+        when(leaseService.tryAcquire(eq("partitions"), any())).thenReturn(false);
+
+        partitionService.maintain();
+
+        verifyNoInteractions(jdbcTemplate);
+        verifyNoInteractions(locationFacetService);
+    }
+
+    @Test
+    void rebuildsLocationFacetsAfterArchiving() {
+        when(leaseService.tryAcquire(eq("partitions"), any())).thenReturn(true);
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class))).thenReturn(List.of("jobs_p2000_01"));
+
+        partitionService.maintain();
+
+        verify(locationFacetService).rebuild();
+    }
+
+    @Test
+    void partitionNamesAreMonthSuffixed() {
+        assertEquals("jobs_p2025_03", JobPartitionService.partitionName(YearMonth.of(2025, 3)));
+    }
+
+    private void runDetachOnConnection() throws SQLException {
+        when(connection.createStatement()).thenReturn(statement);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+    }
+}
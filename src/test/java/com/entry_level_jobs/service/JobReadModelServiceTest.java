@@ -0,0 +1,117 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.dto.JobSummaryDTO;
+import com.entry_level_jobs.repository.JobRepository;
+import com.entry_level_jobs.search.JobFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobReadModelServiceTest {
+    @Mock
+    private JobRepository jobRepository;
+
+    private final JobDataVersion dataVersion = new JobDataVersion();
+
+    @Test
+    void movesDataVersionOnceTheNewSnapshotIsLive() {
+        JobReadModelService readModel = new JobReadModelService(jobRepository, dataVersion, true, 6);
+        JobResponseCache cache = new JobResponseCache(dataVersion, true, 60_000, 1_000, 1_000);
+        when(jobRepository.findActiveState(any(LocalDateTime.class))).thenReturn(state(0, null));
+        when(jobRepository.findActiveSummaries(any(LocalDateTime.class))).thenReturn(List.of());
+
+        // Ingest committed, but the page below was built from the snapshot still in place
+        dataVersion.onJobDataChanged(new JobDataChangedEvent(1, 0, 0));
+        JobResponseCache.Key key = new JobResponseCache.Key(JobFilter.of(null, null), null, null, 0, 10,
+                CountMode.CACHED, SortMode.NEWEST, false, false);
+        cache.put(key, dataVersion.current(), new byte[10]);
+
+        readModel.rebuild();
+
+        assertNotNull(readModel.current());
+        assertNull(cache.get(key));
+    }
+
+    @Test
+    void failedRebuildKeepsDataVersion() {
+        JobReadModelService readModel = new JobReadModelService(jobRepository, dataVersion, true, 6);
+        when(jobRepository.findActiveState(any(LocalDateTime.class))).thenReturn(state(0, null));
+        when(jobRepository.findActiveSummaries(any(LocalDateTime.class))).thenThrow(new IllegalStateException("down"));
+        long before = dataVersion.current();
+
+        readModel.rebuild();
+
+        assertNull(readModel.current());
+        assertEquals(before, dataVersion.current());
+    }
+
+    @Test
+    void unchangedRebuildKeepsDataVersion() {
+        JobReadModelService readModel = new JobReadModelService(jobRepository, dataVersion, true, 6);
+        when(jobRepository.findActiveState(any(LocalDateTime.class))).thenReturn(state(1, 1L));
+        when(jobRepository.findActiveSummaries(any(LocalDateTime.class)))
+                .thenReturn(List.of(summary("Junior Developer")), List.of(summary("Junior Developer")),
+                        List.of(summary("Junior Data Analyst")));
+        readModel.rebuild();
+        long built = dataVersion.current();
+
+        readModel.rebuild();
+        assertEquals(built, dataVersion.current());
+
+        readModel.rebuild();
+        assertNotEquals(built, dataVersion.current());
+    }
+
+    @Test
+    void scheduledRefreshRebuildsOnlyWhenActiveJobsMoved() {
+        JobReadModelService readModel = new JobReadModelService(jobRepository, dataVersion, true, 6);
+        when(jobRepository.findActiveState(any(LocalDateTime.class)))
+                .thenReturn(state(1, 1L), state(1, 1L), state(2, 2L));
+        when(jobRepository.findActiveSummaries(any(LocalDateTime.class))).thenReturn(List.of());
+        readModel.rebuild();
+
+        readModel.scheduledRefresh();
+        verify(jobRepository, after(200).times(1)).findActiveSummaries(any(LocalDateTime.class));
+
+        readModel.scheduledRefresh();
+        verify(jobRepository, timeout(2_000).times(2)).findActiveSummaries(any(LocalDateTime.class));
+        readModel.shutdown();
+    }
+
+    private static JobSummaryDTO summary(String title) {
+        JobSummaryDTO summary = new JobSummaryDTO();
+        summary.setId(1L);
+        summary.setTitle(title);
+        summary.setUrl("https://example.com/jobs/1");
+        summary.setPostedAt(LocalDateTime.of(2026, 10, 1, 9, 0));
+        return summary;
+    }
+
+    private static JobRepository.ActiveJobsState state(long count, Long maxId) {
+        return new JobRepository.ActiveJobsState() {
+            @Override
+            public long getCount() {
+                return count;
+            }
+
+            @Override
+            public Long getMaxId() {
+                return maxId;
+            }
+
+            @Override
+            public LocalDateTime getLastSeenAt() {
+                return null;
+            }
+        };
+    }
+}
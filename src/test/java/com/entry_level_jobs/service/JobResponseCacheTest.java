@@ -0,0 +1,96 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.search.JobFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JobResponseCacheTest {
+    private final JobDataVersion dataVersion = new JobDataVersion();
+
+    @Test
+    void servesStoredBodyForEqualKeys() {
+        JobResponseCache cache = new JobResponseCache(dataVersion, true, 60_000, 1_000, 1_000);
+        byte[] body = new byte[10];
+
+        assertNull(cache.get(key("Java", 0)));
+        cache.put(key("Java", 0), dataVersion.current(), body);
+
+        assertSame(body, cache.get(key("Java", 0)));
+        assertNull(cache.get(key("Java", 1)));
+        assertEquals(1L, cache.snapshot().get("hits"));
+        assertEquals(2L, cache.snapshot().get("misses"));
+    }
+
+    @Test
+    void dropsEntriesOnceJobsChange() {
+        JobResponseCache cache = new JobResponseCache(dataVersion, true, 60_000, 1_000, 1_000);
+        long before = dataVersion.current();
+        cache.put(key(null, 0), before, new byte[10]);
+
+        dataVersion.onJobDataChanged(new JobDataChangedEvent(1, 0, 0));
+
+        assertNull(cache.get(key(null, 0)));
+        assertEquals(0L, cache.snapshot().get("bytes"));
+        // A response built before the change is stale as soon as it is stored
+        cache.put(key(null, 0), before, new byte[10]);
+        assertNull(cache.get(key(null, 0)));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedToStayUnderMaxBytes() {
+        JobResponseCache cache = new JobResponseCache(dataVersion, true, 60_000, 100, 1_000);
+        long version = dataVersion.current();
+        cache.put(key(null, 0), version, new byte[25]);
+        cache.put(key(null, 1), version, new byte[25]);
+        cache.put(key(null, 2), version, new byte[25]);
+        assertNotNull(cache.get(key(null, 0)));
+
+        cache.put(key(null, 3), version, new byte[25]);
+        cache.put(key(null, 4), version, new byte[25]);
+
+        assertNotNull(cache.get(key(null, 0)));
+        assertNull(cache.get(key(null, 1)));
+        assertEquals(100L, cache.snapshot().get("bytes"));
+        assertEquals(1L, cache.snapshot().get("evictions"));
+
+        // Larger than a quarter of the cache: not worth flushing the others for
+        cache.put(key(null, 5), version, new byte[26]);
+        assertNull(cache.get(key(null, 5)));
+    }
+
+    @Test
+    void expiresAfterTtlAndDoesNothingWhenDisabled() {
+        JobResponseCache expired = new JobResponseCache(dataVersion, true, 0, 1_000, 1_000);
+        expired.put(key(null, 0), dataVersion.current(), new byte[10]);
+        assertNull(expired.get(key(null, 0)));
+
+        JobResponseCache disabled = new JobResponseCache(dataVersion, false, 60_000, 1_000, 1_000);
+        disabled.put(key(null, 0), dataVersion.current(), new byte[10]);
+        assertNull(disabled.get(key(null, 0)));
+    }
+
+    @Test
+    void loadsMissesOnceAndCachesOnlyCompleteBodies() {
+        JobResponseCache cache = new JobResponseCache(dataVersion, true, 60_000, 1_000, 1_000);
+        AtomicInteger loads = new AtomicInteger();
+        byte[] body = new byte[10];
+
+        assertSame(body, cache.getOrLoad(key(null, 0), () -> {
+            loads.incrementAndGet();
+            return new JobResponseCache.Body(body, true);
+        }));
+        assertSame(body, cache.getOrLoad(key(null, 0), () -> fail("cached")));
+        assertEquals(1, loads.get());
+
+        cache.getOrLoad(key(null, 1), () -> new JobResponseCache.Body(new byte[10], false));
+        assertNull(cache.get(key(null, 1)));
+    }
+
+    private static JobResponseCache.Key key(String keyword, int page) {
+        return new JobResponseCache.Key(JobFilter.of(keyword, null), keyword, null, page, 10, CountMode.CACHED,
+                SortMode.NEWEST, false, false);
+    }
+}
@@ -0,0 +1,143 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.model.Job;
+import com.entry_level_jobs.model.SavedJob;
+import com.entry_level_jobs.repository.JobDescriptionRepository;
+import com.entry_level_jobs.repository.JobRepository;
+import com.entry_level_jobs.repository.LocationFacetRepository;
+import com.entry_level_jobs.repository.SavedJobRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// PostgreSQL mode for the native ON CONFLICT upserts
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:retention;MODE=PostgreSQL")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class JobRetentionServiceTest {
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private SavedJobRepository savedJobRepository;
+
+    @Autowired
+    private JobDescriptionRepository descriptionRepository;
+
+    @Autowired
+    private LocationFacetRepository facetRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private LocationFacetService facetService;
+
+    private DescriptionStorageService descriptionStorageService;
+
+    private SchedulerLeaseService leaseService;
+    private JobRetentionService retentionService;
+
+    @BeforeEach
+    void setup() {
+        leaseService = mock(SchedulerLeaseService.class);
+        descriptionStorageService = new DescriptionStorageService(descriptionRepository, jobRepository);
+        facetService = new LocationFacetService(facetRepository, jobRepository, event -> {
+        }, transactionManager);
+        JobIngestService ingestService = new JobIngestService(jobRepository, mock(JobFilterService.class),
+                descriptionStorageService, facetService, new LocationExtractor(), event -> {
+                }, 30);
+        retentionService = new JobRetentionService(jobRepository, leaseService, descriptionStorageService, ingestService,
+                true, false, 30, 60, 2, 0, 10, 3_600_000);
+    }
+
+    @Test
+    void sweepDeactivatesExpiredJobsInBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        Job fresh = save("https://example.com/fresh", now.plusDays(10), true, null);
+        for (int i = 0; i < 5; i++) {
+            save("https://example.com/expired-" + i, now.minusDays(1), true, null);
+        }
+        Job legacy = save("https://example.com/legacy", null, true, now.minusDays(45));
+        facetService.rebuild();
+
+        retentionService.sweep();
+        entityManager.clear();
+
+        assertEquals(1, facetRepository.findById("remote").orElseThrow().getJobCount());
+
+        assertEquals(1, jobRepository.countByActiveTrue());
+        assertTrue(jobRepository.findById(fresh.getId()).orElseThrow().isActive());
+        assertFalse(jobRepository.findById(legacy.getId()).orElseThrow().isActive());
+        assertEquals(7, jobRepository.count(), "deactivation keeps rows");
+        assertEquals(6L, retentionService.snapshot().get("deactivated"));
+    }
+
+    @Test
+    void sweepPurgesLongInactiveJobsExceptSavedOnes() {
+        LocalDateTime now = LocalDateTime.now();
+        Job recent = save("https://example.com/recent", now.minusDays(5), false, null);
+        save("https://example.com/old-1", now.minusDays(90), false, null);
+        save("https://example.com/old-2", now.minusDays(90), false, null);
+        Job saved = save("https://example.com/old-saved", now.minusDays(90), false, null);
+        savedJobRepository.save(SavedJob.builder().userId("user").job(saved).build());
+
+        retentionService.sweep();
+        entityManager.clear();
+
+        assertEquals(2, jobRepository.count());
+        assertTrue(jobRepository.findById(recent.getId()).isPresent());
+        assertTrue(jobRepository.findById(saved.getId()).isPresent());
+    }
+
+    @Test
+    void partitionedTableLeavesPurgeToPartitionDetach() {
+        save("https://example.com/old", LocalDateTime.now().minusDays(90), false, null);
+        JobRetentionService partitioned = new JobRetentionService(jobRepository, leaseService,
+                descriptionStorageService, mock(JobIngestService.class), true, true, 30, 60, 2, 0, 10, 3_600_000);
+
+        partitioned.sweep();
+
+        assertEquals(1, jobRepository.count());
+    }
+
+    @Test
+    void scheduledSweepSkipsWithoutLease() {
+        save("https://example.com/expired", LocalDateTime.now().minusDays(1), true, null);
+        when(leaseService.tryAcquire(eq("retention"), any())).thenReturn(false);
+
+        retentionService.scheduledSweep();
+
+        assertEquals(1, jobRepository.countByActiveTrue());
+        verify(leaseService, never()).extend(any(), any());
+    }
+
+    private Job save(String url, LocalDateTime expiresAt, boolean active, LocalDateTime createdAt) {
+        return jobRepository.saveAndFlush(Job.builder()
+                .title("Junior Developer")
+                .company("ACME")
+                .location("Remote")
+                .url(url)
+                .source("Test")
+                .postedAt(LocalDateTime.now().minusDays(100))
+                .createdAt(createdAt)
+                .expiresAt(expiresAt)
+                .active(active)
+                .build());
+    }
+}
@@ -0,0 +1,104 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.fetch.JobSource;
+import com.entry_level_jobs.model.Job;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.TaskScheduler;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class JobSchedulerServiceTest {
+    @Mock
+    private JobFetchService jobFetchService;
+
+    @Mock
+    private JobFilterService jobFilterService;
+
+    @Mock
+    private JobIngestService jobIngestService;
+
+    @Mock
+    private TaskScheduler taskScheduler;
+
+    @Mock
+    private SourceCadenceService cadenceService;
+
+    @Mock
+    private SchedulerLeaseService leaseService;
+
+    @Mock
+    private JobSource<Object> source;
+
+    @Test
+    void renewsLeaseDuringRunWithoutThePoolScheduler() {
+        JobSchedulerService scheduler = new JobSchedulerService(jobFetchService, jobFilterService, jobIngestService,
+                taskScheduler, cadenceService, leaseService, 30);
+        when(source.getName()).thenReturn("Test");
+        when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+        when(cadenceService.currentInterval(source)).thenReturn(Duration.ofHours(1));
+        when(jobFetchService.fetchJobsFromSource(source)).thenAnswer(invocation -> {
+            // The pool thread is busy fetching; the renewal must still come
+            verify(leaseService, timeout(2_000).atLeastOnce()).extend("ingest:Test", Duration.ofMillis(30));
+            return List.of();
+        });
+        when(jobIngestService.ingest(any())).thenReturn(IngestResult.empty());
+
+        scheduler.runSource(source);
+        scheduler.shutdown();
+
+        verifyNoInteractions(taskScheduler);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void retriesConcurrentInsertWithFreshJobs() {
+        JobSchedulerService scheduler = new JobSchedulerService(jobFetchService, jobFilterService, jobIngestService,
+                taskScheduler, cadenceService, leaseService, 600_000);
+        Job fetched = Job.builder()
+                .title("Junior Developer")
+                .company("ACME")
+                .url("https://example.com/1")
+                .description("Write code")
+                .source("Test")
+                .postedAt(LocalDateTime.of(2024, 5, 1, 9, 0))
+                .build();
+        when(source.getName()).thenReturn("Test");
+        when(leaseService.tryAcquire(anyString(), any())).thenReturn(true);
+        when(cadenceService.currentInterval(source)).thenReturn(Duration.ofHours(1));
+        when(jobFetchService.fetchJobsFromSource(source)).thenReturn(List.of(fetched));
+        when(jobFilterService.filterEntryLevelJobs(List.of(fetched))).thenReturn(List.of(fetched));
+        when(jobIngestService.ingest(any()))
+                .thenAnswer(invocation -> {
+                    // Like a rolled-back insert: id generated, then the unique constraint fails
+                    fetched.setId(42L);
+                    fetched.setContentHash("stale");
+                    throw new DataIntegrityViolationException("duplicate url");
+                })
+                .thenReturn(new IngestResult(0, 0, 1));
+
+        scheduler.runSource(source);
+
+        ArgumentCaptor<List<Job>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jobIngestService, times(2)).ingest(batches.capture());
+        Job retried = batches.getAllValues().get(1).get(0);
+        assertNotSame(fetched, retried);
+        assertNull(retried.getId());
+        assertNull(retried.getContentHash());
+        assertEquals("https://example.com/1", retried.getUrl());
+        assertEquals("Write code", retried.getDescription());
+        verify(cadenceService).recordRun(source, 1, 1, 0);
+    }
+}
@@ -0,0 +1,46 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.location.StructuredLocation;
+import com.entry_level_jobs.location.WorkMode;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocationExtractorTest {
+    private final LocationExtractor extractor = new LocationExtractor();
+
+    @Test
+    void extractsCityAndCountryFromLocalSpellings() {
+        assertEquals(new StructuredLocation(WorkMode.ONSITE, "DE", "Munich"),
+                extractor.extract("München, Bayern", "Junior Developer"));
+        assertEquals(new StructuredLocation(WorkMode.ONSITE, "DE", "Frankfurt"),
+                extractor.extract("Frankfurt am Main", "Trainee"));
+        assertEquals(new StructuredLocation(WorkMode.ONSITE, "PL", "Kraków"),
+                extractor.extract("Krakow, Poland", "Intern"));
+        assertEquals(new StructuredLocation(WorkMode.ONSITE, "US", "New York"),
+                extractor.extract("New York, NY, United States", "Analyst"));
+    }
+
+    @Test
+    void detectsWorkModeFromLocationOrTitle() {
+        assertEquals(new StructuredLocation(WorkMode.REMOTE, null, null), extractor.extract("Remote", "Dev"));
+        assertEquals(new StructuredLocation(WorkMode.REMOTE, "DE", null),
+                extractor.extract("Germany (Homeoffice)", "Dev"));
+        assertEquals(new StructuredLocation(WorkMode.HYBRID, "DE", "Berlin"),
+                extractor.extract("Berlin - hybrid / remote", "Dev"));
+        assertEquals(new StructuredLocation(WorkMode.REMOTE, "NL", "Amsterdam"),
+                extractor.extract("Amsterdam", "Junior Engineer (Remote)"));
+        assertEquals(WorkMode.ONSITE, extractor.extract("Madrid", "Desarrollador junior").workMode());
+    }
+
+    @Test
+    void leavesUnknownPlacesEmpty() {
+        assertEquals(new StructuredLocation(WorkMode.ONSITE, null, null), extractor.extract("Smalltown", "Dev"));
+        assertEquals(new StructuredLocation(WorkMode.ONSITE, null, null), extractor.extract(null, null));
+        // A known city name in another country is not that city
+        assertEquals(new StructuredLocation(WorkMode.ONSITE, "US", null),
+                extractor.extract("Paris, United States", "Dev"));
+        // Two-letter state codes are not countries
+        assertEquals(new StructuredLocation(WorkMode.ONSITE, "US", "Austin"), extractor.extract("Austin, TX", "Dev"));
+    }
+}
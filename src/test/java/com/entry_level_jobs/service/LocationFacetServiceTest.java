@@ -0,0 +1,149 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.dto.LocationOption;
+import com.entry_level_jobs.model.Job;
+import com.entry_level_jobs.repository.JobRepository;
+import com.entry_level_jobs.repository.LocationFacetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// PostgreSQL mode for the native ON CONFLICT upserts
+@DataJpaTest(properties = "spring.datasource.url=jdbc:h2:mem:facets;MODE=PostgreSQL")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class LocationFacetServiceTest {
+    @Autowired
+    private LocationFacetRepository facetRepository;
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<Object> events = new ArrayList<>();
+
+    private LocationFacetService facetService;
+
+    @BeforeEach
+    void setup() {
+        facetService = new LocationFacetService(facetRepository, jobRepository, events::add, transactionManager);
+    }
+
+    @Test
+    void applyCreatesAndAdjustsFacetsCaseInsensitively() {
+        Map<String, Long> deltas = new HashMap<>();
+        LocationFacetService.addDelta(deltas, "Berlin", 2);
+        LocationFacetService.addDelta(deltas, " berlin ", 1);
+        LocationFacetService.addDelta(deltas, "Remote", 1);
+        facetService.apply(deltas);
+
+        facetService.apply(Map.of("Remote", -1L, "Lagos", 1L));
+
+        assertEquals(3, facetRepository.findById("berlin").orElseThrow().getJobCount());
+        assertEquals(0, facetRepository.findById("remote").orElseThrow().getJobCount());
+        assertEquals(1, facetRepository.findById("lagos").orElseThrow().getJobCount());
+        assertEquals(List.of(new LocationFacetsChangedEvent(false), new LocationFacetsChangedEvent(false)), events);
+    }
+
+    @Test
+    void applyAddsToFacetCreatedByConcurrentWriter() {
+        LocationFacetRepository racing = mock(LocationFacetRepository.class);
+        // Missing on update, then created by another writer before our insert
+        when(racing.adjust("lagos", 2)).thenReturn(0, 1);
+        when(racing.createIfAbsent("lagos", "Lagos", 2)).thenReturn(0);
+
+        new LocationFacetService(racing, jobRepository, events::add, transactionManager).apply(Map.of("Lagos", 2L));
+
+        verify(racing, times(2)).adjust("lagos", 2);
+    }
+
+    @Test
+    void createIfAbsentSkipsExistingFacet() {
+        assertEquals(1, facetRepository.createIfAbsent("accra", "Accra", 2));
+        assertEquals(0, facetRepository.createIfAbsent("accra", "ACCRA", 5));
+
+        assertEquals(2, facetRepository.findById("accra").orElseThrow().getJobCount());
+    }
+
+    @Test
+    void applyWithoutNetChangePublishesNothing() {
+        facetService.apply(Map.of("Remote", 0L));
+
+        assertTrue(events.isEmpty());
+        assertEquals(0, facetRepository.count());
+    }
+
+    @Test
+    void searchMatchesSubstringMostCommonFirstAndHidesEmptyFacets() {
+        facetService.apply(Map.of("Berlin, Germany", 5L, "Berlin", 9L, "Bern", 1L, "Remote", 4L));
+        facetService.apply(Map.of("Bern", -1L));
+
+        Page<LocationOption> page = facetService.search("BER", PageRequest.of(0, 10));
+
+        assertEquals(2, page.getTotalElements());
+        assertEquals(List.of("Berlin", "Berlin, Germany"),
+                page.getContent().stream().map(LocationOption::getValue).toList());
+        assertEquals(9, page.getContent().get(0).getJobCount());
+        assertEquals(3, facetService.search(null, PageRequest.of(0, 10)).getTotalElements());
+    }
+
+    @Test
+    void rebuildCountsActiveJobsOnly() {
+        save("https://example.com/1", "Accra", true);
+        save("https://example.com/2", "accra ", true);
+        save("https://example.com/3", "Accra", false);
+        save("https://example.com/4", "Remote", true);
+        facetService.apply(Map.of("Stale", 3L));
+
+        facetService.rebuild();
+
+        assertEquals(2, facetRepository.findById("accra").orElseThrow().getJobCount());
+        assertEquals(1, facetRepository.findById("remote").orElseThrow().getJobCount());
+        assertTrue(facetRepository.findById("stale").isEmpty());
+        assertEquals(new LocationFacetsChangedEvent(true), events.get(events.size() - 1));
+    }
+
+    @Test
+    void rebuildGroupsLocationsLikeIncrementalUpdates() {
+        // Java trims tabs too; SQL TRIM only strips spaces
+        save("https://example.com/1", "Lagos", true);
+        save("https://example.com/2", "\tLAGOS\n", true);
+        Map<String, Long> deltas = new HashMap<>();
+        LocationFacetService.addDelta(deltas, "Lagos", 1);
+        LocationFacetService.addDelta(deltas, "\tLAGOS\n", 1);
+        facetService.apply(deltas);
+        long incremental = facetRepository.findById("lagos").orElseThrow().getJobCount();
+
+        facetService.rebuild();
+
+        assertEquals(incremental, facetRepository.findById("lagos").orElseThrow().getJobCount());
+        assertEquals(1, facetRepository.count());
+    }
+
+    private void save(String url, String location, boolean active) {
+        jobRepository.saveAndFlush(Job.builder()
+                .url(url)
+                .title("Junior Developer")
+                .company("ACME")
+                .location(location)
+                .source("Test")
+                .postedAt(LocalDateTime.now())
+                .active(active)
+                .build());
+    }
+}
@@ -0,0 +1,45 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.dto.PaginationDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PaginationServiceTest {
+    private final PaginationService paginationService = new PaginationService();
+
+    @Test
+    void sliceWithoutCountReportsOnlyNavigation() {
+        PaginationDTO pagination = paginationService.toPaginationDTO(
+                new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true), null);
+
+        assertNull(pagination.getTotalElements());
+        assertNull(pagination.getTotalPages());
+        assertTrue(pagination.isHasNextPage());
+        assertTrue(pagination.isHasPreviousPage());
+        assertEquals(2, pagination.getNumberOfElements());
+    }
+
+    @Test
+    void staleTotalIsCorrectedBySlice() {
+        PaginationDTO tooLow = paginationService.toPaginationDTO(
+                new SliceImpl<>(List.of("a", "b"), PageRequest.of(1, 2), true), 3L);
+        assertEquals(5L, tooLow.getTotalElements());
+        assertEquals(3, tooLow.getTotalPages());
+
+        PaginationDTO lastPage = paginationService.toPaginationDTO(
+                new SliceImpl<>(List.of("a"), PageRequest.of(1, 2), false), 9L);
+        assertEquals(3L, lastPage.getTotalElements());
+        assertEquals(2, lastPage.getTotalPages());
+        assertTrue(lastPage.isLastPage());
+
+        PaginationDTO accurate = paginationService.toPaginationDTO(
+                new SliceImpl<>(List.of("a", "b"), PageRequest.of(0, 2), true), 21L);
+        assertEquals(21L, accurate.getTotalElements());
+        assertEquals(11, accurate.getTotalPages());
+    }
+}
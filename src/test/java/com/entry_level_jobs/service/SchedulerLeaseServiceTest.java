@@ -0,0 +1,124 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.model.Job;
+import com.entry_level_jobs.repository.JobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
+import org.springframework.boot.autoconfigure.security.servlet.UserDetailsServiceAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs two application contexts against one shared H2 database to check that
+ * leases behave like they would across two application instances.
+ */
+public class SchedulerLeaseServiceTest {
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    private ConfigurableApplicationContext nodeA;
+    private ConfigurableApplicationContext nodeB;
+    private SchedulerLeaseService leasesA;
+    private SchedulerLeaseService leasesB;
+
+    @BeforeEach
+    public void startNodes() {
+        String url = "jdbc:h2:mem:leases-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1";
+        nodeA = startNode(url, "node-a");
+        nodeB = startNode(url, "node-b");
+        leasesA = nodeA.getBean(SchedulerLeaseService.class);
+        leasesB = nodeB.getBean(SchedulerLeaseService.class);
+    }
+
+    @AfterEach
+    public void stopNodes() {
+        nodeB.close();
+        nodeA.close();
+    }
+
+    @Test
+    public void testOnlyOneNodeHoldsALease() {
+        assertTrue(leasesA.tryAcquire("ingest:Arbeitnow", LEASE));
+        assertFalse(leasesB.tryAcquire("ingest:Arbeitnow", LEASE));
+        assertTrue(leasesA.tryAcquire("ingest:Arbeitnow", LEASE), "owner can renew");
+        assertTrue(leasesB.tryAcquire("ingest:Remotive", LEASE), "leases are per name");
+    }
+
+    @Test
+    public void testReleasedLeaseCanBeTakenOver() {
+        assertTrue(leasesA.tryAcquire("ingest:Arbeitnow", LEASE));
+        leasesA.release("ingest:Arbeitnow");
+
+        assertTrue(leasesB.tryAcquire("ingest:Arbeitnow", LEASE));
+        assertFalse(leasesA.extend("ingest:Arbeitnow", LEASE));
+    }
+
+    @Test
+    public void testExpiredLeaseOfCrashedNodeIsTakenOver() throws Exception {
+        assertTrue(leasesA.tryAcquire("ingest:Arbeitnow", Duration.ofMillis(50)));
+        assertFalse(leasesB.tryAcquire("ingest:Arbeitnow", LEASE));
+
+        Thread.sleep(100);
+
+        assertTrue(leasesB.tryAcquire("ingest:Arbeitnow", LEASE));
+        assertFalse(leasesA.tryAcquire("ingest:Arbeitnow", LEASE));
+    }
+
+    @Test
+    public void testConcurrentAcquireHasSingleWinner() {
+        for (int i = 0; i < 10; i++) {
+            String name = "ingest:race-" + i;
+            CountDownLatch start = new CountDownLatch(1);
+            CompletableFuture<Boolean> a = CompletableFuture.supplyAsync(() -> awaitThenAcquire(start, leasesA, name));
+            CompletableFuture<Boolean> b = CompletableFuture.supplyAsync(() -> awaitThenAcquire(start, leasesB, name));
+            start.countDown();
+            assertNotEquals(a.join(), b.join(), "exactly one node must win " + name);
+        }
+    }
+
+    private static boolean awaitThenAcquire(CountDownLatch start, SchedulerLeaseService leases, String name) {
+        try {
+            start.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return leases.tryAcquire(name, LEASE);
+    }
+
+    private static ConfigurableApplicationContext startNode(String url, String owner) {
+        return new SpringApplicationBuilder(LeaseNode.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + url,
+                        "spring.jpa.hibernate.ddl-auto=update",
+                        "spring.jpa.open-in-view=false",
+                        "jobs.fetch.lease.owner=" + owner)
+                .run();
+    }
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration(exclude = { SecurityAutoConfiguration.class,
+            UserDetailsServiceAutoConfiguration.class })
+    @EntityScan(basePackageClasses = Job.class)
+    @EnableJpaRepositories(basePackageClasses = JobRepository.class)
+    @Import(SchedulerLeaseService.class)
+    static class LeaseNode {
+    }
+}
@@ -0,0 +1,91 @@
+package com.entry_level_jobs.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+    private final ExecutorService pool = Executors.newFixedThreadPool(8);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final AtomicInteger runs = new AtomicInteger();
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        pool.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersShareOneComputation() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofSeconds(10));
+        Future<Integer> leader = pool.submit(() -> flight.run("page-0", this::slowAnswer));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<Future<Integer>> waiters = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            waiters.add(pool.submit(() -> flight.run("page-0", () -> runs.incrementAndGet() * -1)));
+        }
+        awaitJoined(flight, 7);
+        release.countDown();
+
+        assertEquals(42, leader.get(5, TimeUnit.SECONDS));
+        for (Future<Integer> waiter : waiters) {
+            assertEquals(42, waiter.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, runs.get());
+        assertEquals(0, flight.snapshot().get("in_flight"));
+    }
+
+    @Test
+    void waiterRunsTheWorkItselfAfterMaxWait() throws Exception {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofMillis(20));
+        pool.submit(() -> flight.run("page-0", this::slowAnswer));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertEquals(7, flight.run("page-0", () -> 7));
+        assertEquals(1L, flight.snapshot().get("gave_up"));
+        // Other keys never wait
+        assertEquals(8, flight.run("page-1", () -> 8));
+    }
+
+    @Test
+    void failureReachesTheLeaderAndIsNotRemembered() {
+        SingleFlight<String, Integer> flight = new SingleFlight<>(Duration.ofSeconds(1));
+
+        assertThrows(IllegalStateException.class, () -> flight.run("page-0", () -> {
+            throw new IllegalStateException("database down");
+        }));
+        assertEquals(3, flight.run("page-0", () -> 3));
+    }
+
+    private Integer slowAnswer() {
+        runs.incrementAndGet();
+        started.countDown();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return 42;
+    }
+
+    private static void awaitJoined(SingleFlight<String, Integer> flight, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while ((long) flight.snapshot().get("joined") < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(expected, flight.snapshot().get("joined"));
+    }
+}
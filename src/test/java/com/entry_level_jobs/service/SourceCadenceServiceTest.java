@@ -0,0 +1,62 @@
+package com.entry_level_jobs.service;
+
+import com.entry_level_jobs.fetch.JobSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+public class SourceCadenceServiceTest {
+    private SourceCadenceService cadenceService;
+    private JobSource<?> source;
+
+    @BeforeEach
+    public void setup() {
+        cadenceService = new SourceCadenceService(true, 600_000, 7_200_000, 0.2, 0.5, 2.0);
+        source = Mockito.mock(JobSource.class);
+        when(source.getName()).thenReturn("Test");
+        when(source.getPreferredInterval()).thenReturn(Duration.ofHours(1));
+    }
+
+    @Test
+    public void testStartsFromPreferredInterval() {
+        assertEquals(Duration.ofHours(1), cadenceService.currentInterval(source));
+    }
+
+    @Test
+    public void testSpeedsUpWhenRunsYieldNewJobs() {
+        cadenceService.recordRun(source, 50, 10, 5);
+        assertEquals(Duration.ofMinutes(30), cadenceService.currentInterval(source));
+
+        cadenceService.recordRun(source, 50, 10, 5);
+        cadenceService.recordRun(source, 50, 10, 5);
+        assertEquals(Duration.ofMinutes(10), cadenceService.currentInterval(source));
+    }
+
+    @Test
+    public void testBacksOffWhenNothingIsNew() {
+        cadenceService.recordRun(source, 50, 10, 0);
+        assertEquals(Duration.ofHours(2), cadenceService.currentInterval(source));
+
+        cadenceService.recordRun(source, 0, 0, 0);
+        assertEquals(Duration.ofHours(2), cadenceService.currentInterval(source));
+    }
+
+    @Test
+    public void testKeepsIntervalForLowButNonZeroYield() {
+        cadenceService.recordRun(source, 50, 20, 1);
+        assertEquals(Duration.ofHours(1), cadenceService.currentInterval(source));
+    }
+
+    @Test
+    public void testDisabledKeepsPreferredInterval() {
+        SourceCadenceService fixed = new SourceCadenceService(false, 600_000, 7_200_000, 0.2, 0.5, 2.0);
+        fixed.recordRun(source, 50, 10, 10);
+        fixed.recordRun(source, 50, 10, 0);
+        assertEquals(Duration.ofHours(1), fixed.currentInterval(source));
+    }
+}